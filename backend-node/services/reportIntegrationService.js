@@ -6,6 +6,11 @@ import axios from 'axios';
 // Java service base URL
 const JAVA_SERVICE_URL = process.env.JAVA_REPORT_SERVICE_URL || 'http://localhost:8085';
 
+// How long we wait for a report; sent along so the Java service stops rendering when we give up
+const REPORT_TIMEOUT_MS = 30000;
+// Bulk user summaries (one PDF per user) take longer than a single report
+const BULK_REPORT_TIMEOUT_MS = 300000;
+
 /**
  * Transforms MongoDB task documents to the format expected by Java service
  * @param {Array} tasks - Array of Mongoose task documents
@@ -91,9 +96,10 @@ async function generatePdfReport(reportData) {
       {
         responseType: 'arraybuffer', // Important: receive binary data
         headers: {
-          'Content-Type': 'application/json'
+          'Content-Type': 'application/json',
+          'X-Report-Timeout-Ms': String(REPORT_TIMEOUT_MS)
         },
-        timeout: 30000 // 30 second timeout
+        timeout: REPORT_TIMEOUT_MS
       }
     );
     
@@ -117,9 +123,10 @@ async function generateExcelReport(reportData) {
       {
         responseType: 'arraybuffer',
         headers: {
-          'Content-Type': 'application/json'
+          'Content-Type': 'application/json',
+          'X-Report-Timeout-Ms': String(REPORT_TIMEOUT_MS)
         },
-        timeout: 30000
+        timeout: REPORT_TIMEOUT_MS
       }
     );
     
@@ -143,9 +150,10 @@ async function generateUserSummaryPdf(summaryData) {
       {
         responseType: 'arraybuffer',
         headers: {
-          'Content-Type': 'application/json'
+          'Content-Type': 'application/json',
+          'X-Report-Timeout-Ms': String(REPORT_TIMEOUT_MS)
         },
-        timeout: 30000
+        timeout: REPORT_TIMEOUT_MS
       }
     );
     
@@ -156,6 +164,82 @@ async function generateUserSummaryPdf(summaryData) {
   }
 }
 
+/**
+ * Calls Java service to generate user summary PDFs for many users at once
+ * @param {Array<Object>} summaries - Formatted user summary requests, one per user
+ * @returns {Promise<Buffer>} - ZIP file (one PDF per user, in the given order) as buffer
+ */
+async function generateUserSummariesBulk(summaries) {
+  try {
+    const response = await axios.post(
+      `${JAVA_SERVICE_URL}/api/report/user-summary/bulk`,
+      { summaries },
+      {
+        responseType: 'arraybuffer',
+        headers: {
+          'Content-Type': 'application/json',
+          'X-Report-Timeout-Ms': String(BULK_REPORT_TIMEOUT_MS)
+        },
+        timeout: BULK_REPORT_TIMEOUT_MS
+      }
+    );
+    
+    return Buffer.from(response.data);
+  } catch (error) {
+    console.error('Error calling Java bulk user summary service:', error.message);
+    throw new Error('Failed to generate user summaries: ' + error.message);
+  }
+}
+
+/**
+ * Fetches a report that the Java service precomputed on its schedule
+ * @param {String} name - Scheduled report name (e.g. 'weekly-workspace')
+ * @returns {Promise<Buffer|null>} - File as buffer, or null if it has not been rendered yet
+ */
+async function getPrecomputedReport(name) {
+  try {
+    const response = await axios.get(
+      `${JAVA_SERVICE_URL}/api/report/schedules/${encodeURIComponent(name)}/output`,
+      {
+        responseType: 'arraybuffer',
+        timeout: 30000
+      }
+    );
+    
+    return Buffer.from(response.data);
+  } catch (error) {
+    if (error.response && error.response.status === 404) {
+      return null; // Not precomputed yet - caller generates it on demand
+    }
+    console.error('Error fetching precomputed report:', error.message);
+    throw new Error('Failed to fetch precomputed report: ' + error.message);
+  }
+}
+
+/**
+ * Asks the Java service how expensive a report would be, without rendering it
+ * @param {String} path - Report endpoint path: 'tasks/pdf', 'tasks/excel' or 'user-summary/pdf'
+ * @param {Object} reportData - Same payload as for the report itself
+ * @returns {Promise<Object>} - { pages, outputBytes, allocatedBytes, renderMillis, recommendedMode, ... }
+ */
+async function estimateReport(path, reportData) {
+  try {
+    const response = await axios.post(
+      `${JAVA_SERVICE_URL}/api/report/estimate/${path}`,
+      reportData,
+      {
+        headers: { 'Content-Type': 'application/json' },
+        timeout: 5000
+      }
+    );
+    
+    return response.data;
+  } catch (error) {
+    console.error('Error estimating report:', error.message);
+    throw new Error('Failed to estimate report: ' + error.message);
+  }
+}
+
 /**
  * Checks if Java service is available
  * @returns {Promise<Boolean>} - True if service is healthy
@@ -179,5 +263,8 @@ export {
   generatePdfReport,
   generateExcelReport,
   generateUserSummaryPdf,
+  generateUserSummariesBulk,
+  getPrecomputedReport,
+  estimateReport,
   checkJavaServiceHealth
 };
@@ -2,6 +2,7 @@ package com.taskflowpro.reportservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main entry point for the TaskFlowPro Report Service
@@ -10,8 +11,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *   - @Configuration: Tags the class as a source of bean definitions
  *   - @EnableAutoConfiguration: Tells Spring Boot to automatically configure based on dependencies
  *   - @ComponentScan: Tells Spring to scan for components, configurations, and services
+ * 
+ * @EnableScheduling runs the @Scheduled methods (report job queue polling)
  */
 @SpringBootApplication
+@EnableScheduling
 public class ReportServiceApplication {
     
     /**
@@ -0,0 +1,36 @@
+package com.taskflowpro.reportservice.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Server setup for the reactive deployment ("reactive" Spring profile)
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    /**
+     * Use Netty even though Tomcat is also on the classpath for the default deployment
+     * (server.port and other server.* settings are still applied by Spring Boot)
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Reactor scheduler backed by the bounded render pool, so rendering never runs on Netty event loops
+     */
+    @Bean
+    public Scheduler reportRenderScheduler(@Qualifier("reportRenderExecutor") ExecutorService renderExecutor) {
+        return Schedulers.fromExecutorService(renderExecutor, "report-render");
+    }
+}
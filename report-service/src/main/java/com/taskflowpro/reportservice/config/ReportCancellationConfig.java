@@ -0,0 +1,58 @@
+package com.taskflowpro.reportservice.config;
+
+import com.taskflowpro.reportservice.service.ReportCancellation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Gives every report request on the servlet stack a render deadline (see {@link ReportCancellation})
+ *
+ * Tomcat only notices a disconnected client when the response is written, so here renders stop at
+ * the deadline the caller sends in X-Report-Timeout-Ms. The reactive stack also stops on disconnect
+ * (see ReportCancellationWebFilter).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ReportCancellationConfig implements WebMvcConfigurer {
+
+    // Deadline for requests without the header (0 = render until done)
+    @Value("${report.deadline.default-timeout-ms:0}")
+    private long defaultTimeoutMs;
+
+    // Time kept back from the caller's timeout for sending the response
+    @Value("${report.deadline.margin-ms:500}")
+    private long marginMs;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                ReportCancellation.attach(ReportCancellation.forRequest(
+                    request.getHeader(ReportCancellation.TIMEOUT_HEADER), defaultTimeoutMs, marginMs));
+                return true;
+            }
+
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                       Object handler) {
+                // The response is streamed from another thread; this request thread goes back to the pool
+                ReportCancellation.detach();
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                ReportCancellation.detach();
+            }
+        })
+            .addPathPatterns("/api/report/**")
+            .excludePathPatterns("/api/report/health");
+    }
+}
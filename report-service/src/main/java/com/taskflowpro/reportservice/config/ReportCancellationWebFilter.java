@@ -0,0 +1,43 @@
+package com.taskflowpro.reportservice.config;
+
+import com.taskflowpro.reportservice.service.ReportCancellation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Deadline and disconnect detection for report requests on the reactive stack
+ *
+ * Puts a {@link ReportCancellation.Token} into the Reactor context (the controller attaches it to
+ * the render thread) and cancels it when Netty cancels the exchange because the client went away.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReportCancellationWebFilter implements WebFilter {
+
+    // Deadline for requests without the header (0 = render until done)
+    @Value("${report.deadline.default-timeout-ms:0}")
+    private long defaultTimeoutMs;
+
+    // Time kept back from the caller's timeout for sending the response
+    @Value("${report.deadline.margin-ms:500}")
+    private long marginMs;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (!path.startsWith("/api/report/") || path.equals("/api/report/health")) {
+            return chain.filter(exchange);
+        }
+
+        ReportCancellation.Token token = ReportCancellation.forRequest(
+            exchange.getRequest().getHeaders().getFirst(ReportCancellation.TIMEOUT_HEADER), defaultTimeoutMs, marginMs);
+        return chain.filter(exchange)
+            .doOnCancel(() -> token.cancel(ReportCancellation.DISCONNECT))
+            .contextWrite(context -> context.put(ReportCancellation.Token.class, token));
+    }
+}
@@ -0,0 +1,59 @@
+package com.taskflowpro.reportservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread pools used for rendering reports off the request thread
+ */
+@Configuration
+public class ReportExecutorConfig {
+
+    /**
+     * Bounded pool for CPU-heavy rendering (defaults to one thread per core)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService reportRenderExecutor(@Value("${report.render.threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "report-render-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Pool for the message loops of gRPC report streams, which mostly wait for the client
+     * (one thread per open stream; the rendering itself is handed to the render pool)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService reportStreamExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "report-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Pool for writing and compressing the sheets of multi-sheet Excel reports in parallel
+     * (separate from the render pool, so a render waiting for its sheets never blocks them)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService reportSheetExecutor(@Value("${report.excel.sheet-threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "report-sheet-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
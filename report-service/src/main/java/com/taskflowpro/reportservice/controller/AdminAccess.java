@@ -0,0 +1,32 @@
+package com.taskflowpro.reportservice.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the admin endpoints with a shared token (X-Admin-Token header)
+ *
+ * The admin endpoints are off until report.admin.token is set; a request is only let through
+ * when its header matches the configured token (compared in constant time).
+ */
+@Component
+class AdminAccess {
+
+    static final String HEADER = "X-Admin-Token";
+
+    @Value("${report.admin.token:}")
+    private String token;
+
+    /**
+     * Whether a request with the given X-Admin-Token header may call an admin endpoint
+     */
+    boolean allows(String presented) {
+        if (token == null || token.isBlank() || presented == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
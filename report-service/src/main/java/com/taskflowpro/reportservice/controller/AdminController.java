@@ -0,0 +1,69 @@
+package com.taskflowpro.reportservice.controller;
+
+import com.taskflowpro.reportservice.monitoring.ReportFlightRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for operational endpoints (diagnostics)
+ * Only meant to be called by administrators / operations tooling: every request needs the
+ * X-Admin-Token header (report.admin.token; the endpoints answer 403 while it is not set)
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)  // Reactive profile uses ReactiveAdminController
+@RequestMapping("/api/report/admin")
+public class AdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    @Autowired
+    private ReportFlightRecorder flightRecorder;
+
+    @Autowired
+    private AdminAccess adminAccess;
+
+    /**
+     * Dumps the last N minutes of the continuous flight recording to a .jfr file
+     * POST http://localhost:8085/api/report/admin/jfr/dump?minutes=5
+     *
+     * minutes: 1 to report.jfr.max-age-minutes (400 otherwise); one dump at a time (503 while one runs)
+     * Response: JSON with the path of the written file (open it in JDK Mission Control)
+     */
+    @PostMapping("/jfr/dump")
+    public ResponseEntity<Map<String, Object>> dumpFlightRecording(
+            @RequestHeader(value = AdminAccess.HEADER, required = false) String adminToken,
+            @RequestParam(defaultValue = "5") long minutes) {
+        if (!adminAccess.allows(adminToken)) {
+            logger.warn("Rejected flight recording dump request without a valid admin token");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            logger.info("Flight recording dump requested for the last {} minutes", minutes);
+            Path file = flightRecorder.dump(minutes);
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("file", file.toString());
+            body.put("minutes", minutes);
+            return ResponseEntity.ok(body);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid flight recording dump request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            logger.warn("Flight recording dump not possible: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            logger.error("Error dumping flight recording", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
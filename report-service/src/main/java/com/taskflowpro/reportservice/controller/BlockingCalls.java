@@ -0,0 +1,33 @@
+package com.taskflowpro.reportservice.controller;
+
+import org.slf4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs the blocking part of a reactive endpoint (file I/O of the job queue, schedules, JFR dumps)
+ * on boundedElastic instead of a Netty event loop, with the MVC controllers' error mapping:
+ * IllegalArgumentException is 400, anything else is 500
+ */
+final class BlockingCalls {
+
+    private BlockingCalls() {
+    }
+
+    static <T> Mono<ResponseEntity<T>> call(Logger logger, String description, Callable<ResponseEntity<T>> call) {
+        return Mono.fromCallable(call)
+            .subscribeOn(Schedulers.boundedElastic())
+            .onErrorResume(e -> {
+                if (e instanceof IllegalArgumentException) {
+                    logger.warn("Invalid request while {}: {}", description, e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                }
+                logger.error("Error {}", description, e);
+                return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+            });
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskflowpro.reportservice.controller;
+
+import com.taskflowpro.reportservice.monitoring.ReportFlightRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Non-blocking variant of {@link AdminController} for the "reactive" deployment
+ * (the recording is written to disk on boundedElastic; same X-Admin-Token check)
+ */
+@RestController
+@RequestMapping("/api/report/admin")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAdminController.class);
+
+    @Autowired
+    private ReportFlightRecorder flightRecorder;
+
+    @Autowired
+    private AdminAccess adminAccess;
+
+    /**
+     * POST http://localhost:8085/api/report/admin/jfr/dump?minutes=5
+     */
+    @PostMapping("/jfr/dump")
+    public Mono<ResponseEntity<Map<String, Object>>> dumpFlightRecording(
+            @RequestHeader(value = AdminAccess.HEADER, required = false) String adminToken,
+            @RequestParam(defaultValue = "5") long minutes) {
+        if (!adminAccess.allows(adminToken)) {
+            logger.warn("Rejected flight recording dump request without a valid admin token");
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        return BlockingCalls.call(logger, "dumping flight recording", () -> {
+            logger.info("Flight recording dump requested for the last {} minutes", minutes);
+            try {
+                Path file = flightRecorder.dump(minutes);
+
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("file", file.toString());
+                body.put("minutes", minutes);
+                return ResponseEntity.ok(body);
+            } catch (IllegalStateException e) {
+                logger.warn("Flight recording dump not possible: {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+        });
+    }
+}
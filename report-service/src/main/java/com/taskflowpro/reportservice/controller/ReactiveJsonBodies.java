@@ -0,0 +1,195 @@
+package com.taskflowpro.reportservice.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * JSON request bodies of the reactive controllers, parsed while they stream in
+ *
+ * A @RequestBody Mono&lt;T&gt; joins the whole body into one buffer before Jackson sees the first byte
+ * (and is capped by spring.codec.max-in-memory-size). Here every incoming buffer goes through
+ * Jackson's non-blocking parser right away and is released; only the parsed tokens are kept
+ * until the body is complete and bound to the request object.
+ * Invalid JSON and failed validation end in 400, like the @Validated request bodies.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveJsonBodies {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Binds the body to the given type with a report view and validates it with the same view as group
+     * (see ReportViews: the view decides which fields are read and which "required" checks run)
+     */
+    public <T> Mono<T> decode(Flux<DataBuffer> body, Class<T> type, Class<?> view) {
+        return tokens(body).map(tokens -> {
+            T value;
+            try (JsonParser parser = tokens.asParser(objectMapper)) {
+                value = objectMapper.readerWithView(view).forType(type).readValue(parser);
+            } catch (IOException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid JSON body: " + e.getMessage(), e);
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(value, view);
+            if (!violations.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining(", ")));
+            }
+            return value;
+        });
+    }
+
+    /**
+     * Binds the body to the given type with all fields and no bean validation (same as a plain @RequestBody)
+     */
+    public <T> Mono<T> read(Flux<DataBuffer> body, Class<T> type) {
+        return tokens(body).map(tokens -> {
+            try (JsonParser parser = tokens.asParser(objectMapper)) {
+                return objectMapper.readValue(parser, type);
+            } catch (IOException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid JSON body: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Parsed tokens of the whole body, for callers that walk the JSON themselves
+     */
+    public Mono<TokenBuffer> tokens(Flux<DataBuffer> body) {
+        return Mono.defer(() -> {
+            Tokenizer tokenizer = new Tokenizer(null, 0);
+            return body.doOnNext(tokenizer::feed).then(Mono.fromCallable(tokenizer::finish));
+        });
+    }
+
+    /**
+     * Parsed tokens of the body with only the first maxElements elements of a top-level array field
+     * kept; the other elements are counted and dropped as they stream by (e.g. the tasks of a preview)
+     */
+    public Mono<LimitedTokens> tokens(Flux<DataBuffer> body, String arrayField, int maxElements) {
+        return Mono.defer(() -> {
+            Tokenizer tokenizer = new Tokenizer(arrayField, maxElements);
+            return body.doOnNext(tokenizer::feed)
+                .then(Mono.fromCallable(() -> new LimitedTokens(tokenizer.finish(), tokenizer.elements)));
+        });
+    }
+
+    /**
+     * Tokens of a body whose array field was cut, and how many elements the array really had
+     */
+    public record LimitedTokens(TokenBuffer tokens, int elementCount) {
+    }
+
+    /**
+     * Feeds body buffers to a non-blocking parser and copies the tokens it completes
+     */
+    private final class Tokenizer {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final TokenBuffer tokens;
+
+        // Optional limit on one top-level array field (null = keep everything)
+        private final String arrayField;
+        private final int maxElements;
+        private int depth;
+        private String rootField;
+        private boolean inLimitedArray;
+        private int elements;
+
+        Tokenizer(String arrayField, int maxElements) {
+            this.arrayField = arrayField;
+            this.maxElements = maxElements;
+            try {
+                parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not create JSON parser", e);
+            }
+            feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            tokens = new TokenBuffer(parser);
+        }
+
+        void feed(DataBuffer buffer) {
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                feeder.feedInput(bytes, 0, bytes.length);
+                copyAvailableTokens();
+            } catch (IOException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid JSON body: " + e.getMessage(), e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        TokenBuffer finish() {
+            try {
+                feeder.endOfInput();
+                copyAvailableTokens();
+                parser.close();
+            } catch (IOException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid JSON body: " + e.getMessage(), e);
+            }
+            if (tokens.firstToken() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body is missing");
+            }
+            return tokens;
+        }
+
+        private void copyAvailableTokens() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (arrayField == null || keep(token)) {
+                    tokens.copyCurrentEvent(parser);
+                }
+            }
+        }
+
+        /**
+         * Whether a token is outside the limited array or part of one of its first maxElements elements
+         */
+        private boolean keep(JsonToken token) throws IOException {
+            int level = depth;  // Nesting before this token: 1 = root object, 2 = directly inside the array
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (level == 1 && token == JsonToken.FIELD_NAME) {
+                rootField = parser.currentName();
+            } else if (level == 1 && token == JsonToken.START_ARRAY && arrayField.equals(rootField)) {
+                inLimitedArray = true;
+            } else if (inLimitedArray && level == 2) {
+                if (token == JsonToken.END_ARRAY) {
+                    inLimitedArray = false;
+                    return true;
+                }
+                elements++;  // An element starts here (object, array or scalar)
+            }
+            return !inLimitedArray || elements <= maxElements;
+        }
+    }
+}
@@ -0,0 +1,507 @@
+package com.taskflowpro.reportservice.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflowpro.reportservice.dto.CompositeReportRequest;
+import com.taskflowpro.reportservice.dto.FilteredReportRequest;
+import com.taskflowpro.reportservice.dto.ReportLoadStatus;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.ReportViews;
+import com.taskflowpro.reportservice.dto.UserSummaryBulkRequest;
+import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+import com.taskflowpro.reportservice.monitoring.ReportLoadMonitor;
+import com.taskflowpro.reportservice.monitoring.ReportPhases;
+import com.taskflowpro.reportservice.service.CompositeReportService;
+import com.taskflowpro.reportservice.service.CompressionProfile;
+import com.taskflowpro.reportservice.service.FilteredReportService;
+import com.taskflowpro.reportservice.service.RenderMode;
+import com.taskflowpro.reportservice.service.ReportBuffer;
+import com.taskflowpro.reportservice.service.ReportCancellation;
+import com.taskflowpro.reportservice.service.ReportCancelledException;
+import com.taskflowpro.reportservice.service.ReportDegradationPolicy;
+import com.taskflowpro.reportservice.service.ReportScheduleService;
+import com.taskflowpro.reportservice.service.ReportSingleFlight;
+import com.taskflowpro.reportservice.service.TaskArrowService;
+import com.taskflowpro.reportservice.service.TaskExcelService;
+import com.taskflowpro.reportservice.service.TaskPdfService;
+import com.taskflowpro.reportservice.service.TaskPreviewReader;
+import com.taskflowpro.reportservice.service.TaskSheetGrouping;
+import com.taskflowpro.reportservice.service.UserSummaryBulkService;
+import com.taskflowpro.reportservice.service.UserSummaryPdfService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Non-blocking variant of {@link ReportController} for the "reactive" deployment (WebFlux on Netty)
+ *
+ * Serves the same /api/report/* contract, but:
+ *   - request bodies are parsed as they stream in (ReactiveJsonBodies), without holding a thread
+ *     or the raw body while the client uploads
+ *   - rendering runs on the bounded render pool, never on the Netty event loop
+ *   - responses are written in chunks on demand, so slow clients apply backpressure
+ *     instead of occupying a request thread for the whole download
+ */
+@RestController
+@RequestMapping("/api/report")
+@CrossOrigin(origins = "http://localhost:5000")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReportController.class);
+
+    private static final MediaType EXCEL = MediaType.parseMediaType(
+        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    private static final MediaType ZIP = MediaType.parseMediaType("application/zip");
+
+    @Autowired
+    private TaskPdfService taskPdfService;
+
+    @Autowired
+    private TaskExcelService taskExcelService;
+
+    @Autowired
+    private UserSummaryPdfService userSummaryPdfService;
+
+    @Autowired
+    private UserSummaryBulkService userSummaryBulkService;
+
+    @Autowired
+    private CompositeReportService compositeReportService;
+
+    @Autowired
+    private FilteredReportService filteredReportService;
+
+    @Autowired
+    private ReportSingleFlight singleFlight;
+
+    @Autowired
+    private ReportLoadMonitor loadMonitor;
+
+    @Autowired
+    private TaskArrowService taskArrowService;
+
+    @Autowired
+    private ReportDegradationPolicy degradationPolicy;
+
+    @Autowired
+    private ReportScheduleService scheduleService;
+
+    @Autowired
+    private ReactiveJsonBodies jsonBodies;
+
+    @Autowired
+    private TaskPreviewReader previewReader;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("reportRenderExecutor")
+    private ExecutorService renderExecutor;
+
+    @Autowired
+    @Qualifier("reportRenderScheduler")
+    private Scheduler renderScheduler;
+
+    @Value("${report.reactive.chunk-size:65536}")
+    private int chunkSize;
+
+    // Compression profile when the request does not pick one
+    @Value("${report.compression.default:standard}")
+    private String defaultCompression;
+
+    /**
+     * A blocking render step (runs on the render scheduler)
+     * Renderers that still produce byte[] wrap it with ReportBuffer.wrap
+     * Renderers without a degraded mode ignore the mode (it is only DEGRADED for degradable types)
+     */
+    @FunctionalInterface
+    private interface Renderer<T> {
+        ReportBuffer render(T request, RenderMode mode) throws Exception;
+    }
+
+    /**
+     * A rendered file and why it was degraded (null for a full render)
+     */
+    private record Rendered(ReportBuffer buffer, String degraded) {
+    }
+
+    /**
+     * Health and load endpoint (same JSON as the MVC controller), no logging
+     * GET http://localhost:8085/api/report/health
+     */
+    @GetMapping("/health")
+    public Mono<ReportLoadStatus> healthCheck() {
+        return Mono.fromSupplier(loadMonitor::getStatus);
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/tasks/pdf
+     */
+    @PostMapping("/tasks/pdf")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateTaskPdf(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestParam(value = "compression", required = false) String compression) {
+        CompressionProfile profile = compressionProfile(compression);
+        Mono<ReportRequest> request = jsonBodies.decode(body, ReportRequest.class, ReportViews.TaskPdf.class);
+        return render(request, "tasks-pdf", "tasks-pdf:" + profile, "task PDF report",
+            (report, mode) -> taskPdfService.renderTaskReportPdf(report, profile, mode), MediaType.APPLICATION_PDF,
+            "tasks-report-" + getCurrentTimestamp() + ".pdf");
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/tasks/pdf/preview
+     * Tasks after the first TaskPreviewReader.MAX_TASKS are counted and dropped while the body streams in
+     */
+    @PostMapping("/tasks/pdf/preview")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateTaskPdfPreview(
+            @RequestBody Flux<DataBuffer> body) {
+        String filename = "tasks-report-preview-" + getCurrentTimestamp() + ".pdf";
+        return jsonBodies.tokens(body, "tasks", TaskPreviewReader.MAX_TASKS)
+            .map(limited -> {
+                try (JsonParser parser = limited.tokens().asParser(objectMapper)) {
+                    TaskPreviewReader.Preview read = previewReader.read(parser);
+                    return new TaskPreviewReader.Preview(read.request(), limited.elementCount());
+                } catch (IllegalArgumentException | IOException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid preview request: " + e.getMessage(), e);
+                }
+            })
+            .publishOn(renderScheduler)
+            .map(request -> {
+                try {
+                    return singleFlight.execute("tasks-pdf-preview", request,
+                        () -> taskPdfService.generateTaskPreviewPdf(request.request(), request.totalTasks()));
+                } catch (Exception e) {
+                    throw new IllegalStateException("Preview rendering failed", e);
+                }
+            })
+            .map(preview -> {
+                HttpHeaders headers = fileHeaders(MediaType.APPLICATION_PDF, filename, preview.getPdf().length);
+                headers.setContentDisposition(ContentDisposition.inline().filename(filename).build());
+                headers.set("X-Total-Tasks", String.valueOf(preview.getTotalTasks()));
+                headers.set("X-Preview-Tasks", String.valueOf(preview.getPreviewTasks()));
+                headers.set("X-Estimated-Pages", String.valueOf(preview.getEstimatedPages()));
+                return new ResponseEntity<>(chunked(ReportBuffer.wrap(preview.getPdf())), headers, HttpStatus.OK);
+            })
+            .onErrorResume(e -> !(e instanceof ResponseStatusException), e -> {
+                logger.error("Error generating task PDF preview", e);
+                return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+            });
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/tasks/pdf/append (multipart: file + report)
+     */
+    @PostMapping(value = "/tasks/pdf/append", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> appendTaskPdf(
+            @RequestPart("file") Mono<FilePart> file,
+            @RequestPart("report") Mono<Part> report) {
+        Mono<ReportRequest> request = report.flatMap(
+            part -> jsonBodies.decode(part.content(), ReportRequest.class, ReportViews.TaskPdf.class));
+        return file.flatMap(part -> DataBufferUtils.join(part.content())
+            .map(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+                return bytes;
+            })
+            // Not coalesced (type null): the uploaded file is not part of the request body
+            .flatMap(existingPdf -> render(request, null, "PDF report append",
+                (newTasks, mode) -> ReportBuffer.wrap(taskPdfService.appendTasksToReport(existingPdf, newTasks)),
+                MediaType.APPLICATION_PDF, part.filename())));
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/tasks/excel
+     */
+    @PostMapping("/tasks/excel")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateTaskExcel(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestParam(value = "compression", required = false) String compression,
+            @RequestParam(value = "sheets", required = false) String sheets) {
+        CompressionProfile profile = compressionProfile(compression);
+        TaskSheetGrouping grouping = sheetGrouping(sheets);
+        String type = "tasks-excel:" + profile + (grouping != null ? ":" + grouping : "");
+        Mono<ReportRequest> request = jsonBodies.decode(body, ReportRequest.class, ReportViews.TaskExcel.class);
+        return render(request, grouping == null ? "tasks-excel" : null, type, "task Excel report",
+            (report, mode) -> taskExcelService.renderTaskReportExcel(report, profile, grouping, mode), EXCEL,
+            "tasks-report-" + getCurrentTimestamp() + ".xlsx");
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/tasks/arrow
+     * Record batches are written on the render pool and emitted as the client reads them
+     */
+    @PostMapping("/tasks/arrow")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateTaskArrow(
+            @RequestBody Flux<DataBuffer> body) {
+        String filename = "tasks-" + getCurrentTimestamp() + ".arrows";
+        return jsonBodies.decode(body, ReportRequest.class, ReportViews.Full.class).map(request -> {
+            logger.info("Received request to export {} tasks as Arrow", request.getTasks().size());
+            Flux<DataBuffer> batches = Flux.from(DataBufferUtils.outputStreamPublisher(outputStream -> {
+                try {
+                    taskArrowService.writeTasksArrow(request, outputStream);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Arrow export failed", e);
+                }
+            }, DefaultDataBufferFactory.sharedInstance, renderExecutor, chunkSize));
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType("application/vnd.apache.arrow.stream"));
+            headers.setContentDispositionFormData("attachment", filename);
+            return new ResponseEntity<>(batches, headers, HttpStatus.OK);
+        });
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/tasks/bundle
+     */
+    @PostMapping("/tasks/bundle")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateTaskBundle(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestParam(value = "compression", required = false) String compression) {
+        CompressionProfile profile = compressionProfile(compression);
+        String baseName = "tasks-report-" + getCurrentTimestamp();
+        Mono<CompositeReportRequest> request = jsonBodies.decode(body, CompositeReportRequest.class, ReportViews.Full.class);
+        return renderFanOut(request, "tasks-bundle:" + profile, "task report bundle",
+            (bundle, mode) -> compositeReportService.renderTaskReportBundle(
+                bundle.getReport(), bundle.getFormats(), baseName, profile, mode),
+            ZIP, baseName + ".zip");
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/tasks/variants
+     */
+    @PostMapping("/tasks/variants")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateTaskVariants(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestParam(value = "compression", required = false) String compression) {
+        CompressionProfile profile = compressionProfile(compression);
+        String baseName = "tasks-report-" + getCurrentTimestamp();
+        Mono<FilteredReportRequest> request = jsonBodies.decode(body, FilteredReportRequest.class, ReportViews.Full.class);
+        return renderFanOut(request, "tasks-variants:" + profile, "filtered task report variants",
+            (variants, mode) -> filteredReportService.renderFilteredVariants(variants.getReport(), variants.getVariants(),
+                variants.getFormat(), baseName, profile, mode),
+            ZIP, baseName + "-variants.zip");
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/user-summary/pdf
+     */
+    @PostMapping("/user-summary/pdf")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateUserSummaryPdf(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestParam(value = "compression", required = false) String compression) {
+        CompressionProfile profile = compressionProfile(compression);
+        String timestamp = getCurrentTimestamp();
+        return jsonBodies.decode(body, UserSummaryReportRequest.class, ReportViews.UserSummary.class).flatMap(request -> {
+            String sanitizedName = request.getUser().getName().replaceAll("[^a-zA-Z0-9]", "-");
+            return render(Mono.just(request), "user-summary-pdf", "user-summary-pdf:" + profile, "user summary PDF",
+                (summary, mode) -> userSummaryPdfService.renderUserSummaryPdf(summary, profile, mode), MediaType.APPLICATION_PDF,
+                "user-summary-" + sanitizedName + "-" + timestamp + ".pdf");
+        });
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/user-summary/bulk
+     */
+    @PostMapping("/user-summary/bulk")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateUserSummaryBulk(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestParam(value = "compression", required = false) String compression) {
+        CompressionProfile profile = compressionProfile(compression);
+        String baseName = "user-summary-" + getCurrentTimestamp();
+        Mono<UserSummaryBulkRequest> request = jsonBodies.decode(body, UserSummaryBulkRequest.class, ReportViews.UserSummary.class);
+        return renderFanOut(request, "user-summary-bulk:" + profile, "user summary bundle",
+            (bulk, mode) -> userSummaryBulkService.renderUserSummaryBundle(bulk.getSummaries(), profile, baseName),
+            ZIP, baseName + ".zip");
+    }
+
+    /**
+     * Renders the decoded request on the render pool and streams the file back in chunks
+     * Identical requests of the same type that arrive during a render share its result (type null = never shared)
+     * Validation errors keep WebFlux's 400 response; render failures become 500 like the MVC controller
+     * The render stops early (503) once the request's deadline passes or the client disconnects
+     * Degradable types render plainer when overloaded or short on time (X-Report-Degraded header)
+     * Parse, render and write phases are recorded for the flight recorder (see ReportPhaseWebFilter)
+     */
+    private <T> Mono<ResponseEntity<Flux<DataBuffer>>> render(Mono<T> request, String type, String description,
+                                                             Renderer<T> renderer, MediaType contentType,
+                                                             String filename) {
+        return render(request, null, type, description, renderer, contentType, filename, renderScheduler);
+    }
+
+    /**
+     * Same as render() for reports that can be scheduled: a request matching a scheduled report of
+     * scheduleType is served from its precomputed file (ReportScheduleService.findPrecomputed)
+     */
+    private <T> Mono<ResponseEntity<Flux<DataBuffer>>> render(Mono<T> request, String scheduleType, String type,
+                                                             String description, Renderer<T> renderer,
+                                                             MediaType contentType, String filename) {
+        return render(request, scheduleType, type, description, renderer, contentType, filename, renderScheduler);
+    }
+
+    /**
+     * Same as render() for renderers that submit their parts to the render pool and join them
+     * (bundle, variants, bulk summaries). The joining step runs on boundedElastic: holding a render pool thread
+     * while waiting would deadlock once every pool thread waits for parts queued behind it.
+     */
+    private <T> Mono<ResponseEntity<Flux<DataBuffer>>> renderFanOut(Mono<T> request, String type, String description,
+                                                                   Renderer<T> renderer, MediaType contentType,
+                                                                   String filename) {
+        return render(request, null, type, description, renderer, contentType, filename, Schedulers.boundedElastic());
+    }
+
+    private <T> Mono<ResponseEntity<Flux<DataBuffer>>> render(Mono<T> request, String scheduleType, String type,
+                                                             String description, Renderer<T> renderer,
+                                                             MediaType contentType, String filename,
+                                                             Scheduler scheduler) {
+        return Mono.deferContextual(context -> {
+            // Set by ReportCancellationWebFilter; attached to the render thread for the renderers' checks
+            ReportCancellation.Token token = context.getOrDefault(ReportCancellation.Token.class, null);
+            // Set by ReportPhaseWebFilter; gives the phase events of this request its endpoint and task count
+            ReportPhases.Request phases = context.<ReportPhases.Request>getOrEmpty(ReportPhases.Request.class)
+                .orElseGet(() -> new ReportPhases.Request("background"));
+            return request
+                .doOnSubscribe(subscription -> phases.beginParse())
+                .doOnNext(body -> {
+                    phases.endParse(body);
+                    logger.info("Received request to generate {}", description);
+                })
+                .publishOn(scheduler)
+                .map(body -> {
+                    try {
+                        return phases.call(() -> ReportCancellation.call(token, () -> {
+                            if (scheduleType != null) {
+                                ReportBuffer precomputed = scheduleService.findPrecomputed(scheduleType, body).orElse(null);
+                                if (precomputed != null) {
+                                    return new Rendered(precomputed, null);
+                                }
+                            }
+                            if (type == null) {
+                                return new Rendered(renderer.render(body, RenderMode.FULL), null);
+                            }
+                            String degraded = degradationPolicy.reasonToDegrade(type, body);
+                            RenderMode mode = degraded != null ? RenderMode.DEGRADED : RenderMode.FULL;
+                            return new Rendered(singleFlight.execute(type + mode.typeSuffix(), body,
+                                () -> renderer.render(body, mode)), degraded);
+                        }));
+                    } catch (ReportCancelledException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Rendering " + description + " failed", e);
+                    }
+                })
+                .map(rendered -> {
+                    logger.info("{} generated successfully: {}", description, filename);
+                    ReportBuffer buffer = rendered.buffer();
+                    HttpHeaders headers = fileHeaders(contentType, filename, buffer.size());
+                    if (rendered.degraded() != null) {
+                        headers.set(ReportDegradationPolicy.DEGRADED_HEADER, rendered.degraded());
+                    }
+                    long size = buffer.size();
+                    ReportPhases.DeferredWrite write = phases.deferWrite();
+                    Flux<DataBuffer> chunks = chunked(buffer)
+                        .doOnSubscribe(subscription -> write.begin())
+                        .doFinally(signal -> write.end(size));
+                    return new ResponseEntity<>(chunks, headers, HttpStatus.OK);
+                })
+                .onErrorResume(e -> !(e instanceof ResponseStatusException), e -> {
+                    if (e instanceof ReportCancelledException cancelled) {
+                        logger.info("Stopped generating {}: {}", description, cancelled.getReason());
+                        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+                    }
+                    if (e.getCause() instanceof IllegalArgumentException || e instanceof IllegalArgumentException) {
+                        logger.warn("Invalid {} request: {}", description, e.getMessage());
+                        return Mono.just(ResponseEntity.badRequest().build());
+                    }
+                    logger.error("Error generating {}", description, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+        });
+    }
+
+    /**
+     * Splits the rendered file into buffers that are only emitted when the client can take more
+     * (wraps slices of the buffer segments - no copying). The segments go back to the pool once
+     * the response is written, fails or is cancelled.
+     */
+    private Flux<DataBuffer> chunked(ReportBuffer buffer) {
+        return Flux.fromIterable(buffer.chunks())
+            .concatMapIterable(this::slices)
+            .<DataBuffer>map(DefaultDataBufferFactory.sharedInstance::wrap)
+            .doFinally(signal -> buffer.close());
+    }
+
+    private List<ByteBuffer> slices(ByteBuffer segment) {
+        List<ByteBuffer> slices = new ArrayList<>();
+        for (int offset = 0; offset < segment.remaining(); offset += chunkSize) {
+            slices.add(segment.slice(offset, Math.min(chunkSize, segment.remaining() - offset)));
+        }
+        return slices;
+    }
+
+    /**
+     * Compression profile of a download: ?compression=fast|standard|small, else report.compression.default
+     */
+    private CompressionProfile compressionProfile(String requested) {
+        try {
+            return CompressionProfile.parse(requested, CompressionProfile.parse(defaultCompression, CompressionProfile.STANDARD));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private TaskSheetGrouping sheetGrouping(String requested) {
+        try {
+            return TaskSheetGrouping.parse(requested);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private HttpHeaders fileHeaders(MediaType contentType, String filename, long length) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setContentDispositionFormData("attachment", filename);
+        headers.setContentLength(length);
+        return headers;
+    }
+
+    /**
+     * Helper method to generate timestamp for filenames
+     * Format: YYYYMMDD-HHMMSS
+     */
+    private String getCurrentTimestamp() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+        return LocalDateTime.now().format(formatter);
+    }
+}
@@ -0,0 +1,105 @@
+package com.taskflowpro.reportservice.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.taskflowpro.reportservice.dto.ReportEstimate;
+import com.taskflowpro.reportservice.monitoring.ReportCostModel;
+import com.taskflowpro.reportservice.monitoring.ReportPayloadStats;
+import com.taskflowpro.reportservice.service.CompressionProfile;
+import com.taskflowpro.reportservice.service.TaskSheetGrouping;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link ReportEstimateController} for the "reactive" deployment
+ * The body is tokenized as it streams in (ReactiveJsonBodies); the scan runs on boundedElastic
+ */
+@RestController
+@RequestMapping("/api/report/estimate")
+@CrossOrigin(origins = "http://localhost:5000")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReportEstimateController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReportEstimateController.class);
+
+    @Autowired
+    private ReportCostModel costModel;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReactiveJsonBodies jsonBodies;
+
+    // Compression profile when the request does not pick one (same default as the report endpoints)
+    @Value("${report.compression.default:standard}")
+    private String defaultCompression;
+
+    /**
+     * POST http://localhost:8085/api/report/estimate/tasks/pdf
+     */
+    @PostMapping("/tasks/pdf")
+    public Mono<ResponseEntity<ReportEstimate>> estimateTaskPdf(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestParam(value = "compression", required = false) String compression) {
+        return jsonBodies.tokens(body).flatMap(tokens -> BlockingCalls.call(logger, "estimating task PDF report", () -> {
+            String type = "tasks-pdf:" + compressionProfile(compression);
+            return ResponseEntity.ok(estimate(type, tokens, ReportPayloadStats.Shape.TASK_PDF));
+        }));
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/estimate/tasks/excel
+     */
+    @PostMapping("/tasks/excel")
+    public Mono<ResponseEntity<ReportEstimate>> estimateTaskExcel(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestParam(value = "compression", required = false) String compression,
+            @RequestParam(value = "sheets", required = false) String sheets) {
+        return jsonBodies.tokens(body).flatMap(tokens -> BlockingCalls.call(logger, "estimating task Excel report", () -> {
+            TaskSheetGrouping grouping = TaskSheetGrouping.parse(sheets);
+            String type = "tasks-excel:" + compressionProfile(compression) + (grouping != null ? ":" + grouping : "");
+            return ResponseEntity.ok(estimate(type, tokens, ReportPayloadStats.Shape.TASK_EXCEL));
+        }));
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/estimate/user-summary/pdf
+     */
+    @PostMapping("/user-summary/pdf")
+    public Mono<ResponseEntity<ReportEstimate>> estimateUserSummaryPdf(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestParam(value = "compression", required = false) String compression) {
+        return jsonBodies.tokens(body).flatMap(tokens -> BlockingCalls.call(logger, "estimating user summary report", () -> {
+            String type = "user-summary-pdf:" + compressionProfile(compression);
+            return ResponseEntity.ok(estimate(type, tokens, ReportPayloadStats.Shape.USER_SUMMARY));
+        }));
+    }
+
+    /**
+     * Scans the parsed body for task count and text length only (no request objects are built)
+     * Malformed JSON was already rejected with 400 while the body streamed in
+     */
+    private ReportEstimate estimate(String type, TokenBuffer tokens, ReportPayloadStats.Shape shape) throws Exception {
+        try (JsonParser parser = tokens.asParser(objectMapper)) {
+            return costModel.estimate(type, ReportPayloadStats.scan(parser, shape));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage(), e);
+        }
+    }
+
+    private CompressionProfile compressionProfile(String requested) {
+        return CompressionProfile.parse(requested, CompressionProfile.parse(defaultCompression, CompressionProfile.STANDARD));
+    }
+}
@@ -0,0 +1,124 @@
+package com.taskflowpro.reportservice.controller;
+
+import com.taskflowpro.reportservice.dto.ReportJobStatus;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.ReportViews;
+import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+import com.taskflowpro.reportservice.service.ReportJobQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Non-blocking variant of {@link ReportJobController} for the "reactive" deployment
+ * The queue lives on disk, so every queue access runs on boundedElastic, never on the Netty event loop
+ */
+@RestController
+@RequestMapping("/api/report/jobs")
+@CrossOrigin(origins = "http://localhost:5000")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReportJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReportJobController.class);
+
+    @Autowired
+    private ReportJobQueue jobQueue;
+
+    @Autowired
+    private ReactiveJsonBodies jsonBodies;
+
+    /**
+     * POST http://localhost:8085/api/report/jobs/tasks/pdf
+     */
+    @PostMapping("/tasks/pdf")
+    public Mono<ResponseEntity<ReportJobStatus>> enqueueTaskPdf(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return jsonBodies.decode(body, ReportRequest.class, ReportViews.Full.class)
+            .flatMap(request -> enqueue("tasks-pdf", request, idempotencyKey));
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/jobs/tasks/excel
+     */
+    @PostMapping("/tasks/excel")
+    public Mono<ResponseEntity<ReportJobStatus>> enqueueTaskExcel(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return jsonBodies.decode(body, ReportRequest.class, ReportViews.Full.class)
+            .flatMap(request -> enqueue("tasks-excel", request, idempotencyKey));
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/jobs/user-summary/pdf
+     */
+    @PostMapping("/user-summary/pdf")
+    public Mono<ResponseEntity<ReportJobStatus>> enqueueUserSummaryPdf(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return jsonBodies.decode(body, UserSummaryReportRequest.class, ReportViews.Full.class)
+            .flatMap(request -> enqueue("user-summary-pdf", request, idempotencyKey));
+    }
+
+    /**
+     * GET http://localhost:8085/api/report/jobs/{key}
+     */
+    @GetMapping("/{key}")
+    public Mono<ResponseEntity<ReportJobStatus>> getJobStatus(@PathVariable String key) {
+        return BlockingCalls.call(logger, "reading report job " + key, () -> {
+            ReportJobStatus status = jobQueue.getStatus(key);
+            return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+        });
+    }
+
+    /**
+     * GET http://localhost:8085/api/report/jobs/{key}/result
+     */
+    @GetMapping("/{key}/result")
+    public Mono<ResponseEntity<byte[]>> getJobResult(@PathVariable String key) {
+        return BlockingCalls.call(logger, "reading result of report job " + key, () -> {
+            ReportJobStatus status = jobQueue.getStatus(key);
+            if (status == null) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Optional<byte[]> result = jobQueue.getResult(key);
+            if (result.isEmpty()) {
+                HttpStatus httpStatus = ReportJobQueue.STATE_FAILED.equals(status.getState())
+                    ? HttpStatus.INTERNAL_SERVER_ERROR
+                    : HttpStatus.ACCEPTED;
+                return ResponseEntity.status(httpStatus).build();
+            }
+
+            boolean isExcel = "tasks-excel".equals(status.getType());
+            String filename = status.getType() + "-" + status.getKey() + (isExcel ? ".xlsx" : ".pdf");
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(isExcel
+                ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                : MediaType.APPLICATION_PDF);
+            headers.setContentDispositionFormData("attachment", filename);
+            headers.setContentLength(result.get().length);
+            return new ResponseEntity<>(result.get(), headers, HttpStatus.OK);
+        });
+    }
+
+    private Mono<ResponseEntity<ReportJobStatus>> enqueue(String type, Object request, String idempotencyKey) {
+        return BlockingCalls.call(logger, "queueing " + type + " report job", () -> {
+            logger.info("Received request to queue {} report job", type);
+            ReportJobStatus status = jobQueue.enqueue(type, request, idempotencyKey);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.taskflowpro.reportservice.controller;
+
+import com.taskflowpro.reportservice.dto.ScheduledReport;
+import com.taskflowpro.reportservice.dto.ScheduledReportStatus;
+import com.taskflowpro.reportservice.service.ReportScheduleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Non-blocking variant of {@link ReportScheduleController} for the "reactive" deployment
+ * Schedules and outputs are files, so they are read and written on boundedElastic; the stored
+ * output is then sent by WebFlux straight from the file
+ */
+@RestController
+@RequestMapping("/api/report/schedules")
+@CrossOrigin(origins = "http://localhost:5000")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReportScheduleController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReportScheduleController.class);
+
+    @Autowired
+    private ReportScheduleService scheduleService;
+
+    @Autowired
+    private ReactiveJsonBodies jsonBodies;
+
+    /**
+     * PUT http://localhost:8085/api/report/schedules/{name}
+     */
+    @PutMapping("/{name}")
+    public Mono<ResponseEntity<ScheduledReportStatus>> saveSchedule(@PathVariable String name,
+                                                                    @RequestBody Flux<DataBuffer> body) {
+        return jsonBodies.read(body, ScheduledReport.class)
+            .flatMap(report -> BlockingCalls.call(logger, "saving scheduled report " + name, () -> {
+                report.setName(name);
+                return ResponseEntity.ok(scheduleService.save(report));
+            }));
+    }
+
+    /**
+     * GET http://localhost:8085/api/report/schedules
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<ScheduledReportStatus>>> listSchedules() {
+        return BlockingCalls.call(logger, "listing scheduled reports", () -> ResponseEntity.ok(scheduleService.list()));
+    }
+
+    /**
+     * GET http://localhost:8085/api/report/schedules/{name}
+     */
+    @GetMapping("/{name}")
+    public Mono<ResponseEntity<ScheduledReportStatus>> getSchedule(@PathVariable String name) {
+        return BlockingCalls.call(logger, "reading scheduled report " + name,
+            () -> ResponseEntity.of(scheduleService.getStatus(name)));
+    }
+
+    /**
+     * DELETE http://localhost:8085/api/report/schedules/{name}
+     */
+    @DeleteMapping("/{name}")
+    public Mono<ResponseEntity<Void>> deleteSchedule(@PathVariable String name) {
+        return BlockingCalls.call(logger, "deleting scheduled report " + name,
+            () -> scheduleService.delete(name)
+                ? ResponseEntity.noContent().<Void>build()
+                : ResponseEntity.notFound().<Void>build());
+    }
+
+    /**
+     * POST http://localhost:8085/api/report/schedules/{name}/run
+     */
+    @PostMapping("/{name}/run")
+    public Mono<ResponseEntity<Void>> runSchedule(@PathVariable String name) {
+        return BlockingCalls.call(logger, "starting scheduled report " + name, () -> {
+            if (scheduleService.getStatus(name).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return scheduleService.runNow(name)
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+        });
+    }
+
+    /**
+     * GET http://localhost:8085/api/report/schedules/{name}/output
+     */
+    @GetMapping("/{name}/output")
+    public Mono<ResponseEntity<Resource>> getScheduleOutput(@PathVariable String name) {
+        return BlockingCalls.call(logger, "reading output of scheduled report " + name, () -> {
+            Optional<ScheduledReportStatus> status = scheduleService.getStatus(name);
+            Optional<Path> output = scheduleService.getOutput(name);
+            if (status.isEmpty() || output.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            boolean isExcel = "tasks-excel".equals(status.get().getType());
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(isExcel
+                ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                : MediaType.APPLICATION_PDF);
+            headers.setContentDispositionFormData("attachment", name + (isExcel ? ".xlsx" : ".pdf"));
+            if (status.get().getGeneratedAt() != null) {
+                headers.set("X-Report-Generated-At", status.get().getGeneratedAt());
+            }
+            return new ResponseEntity<>(new FileSystemResource(output.get()), headers, HttpStatus.OK);
+        });
+    }
+}
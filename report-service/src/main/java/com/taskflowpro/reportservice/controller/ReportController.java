@@ -1,20 +1,53 @@
 package com.taskflowpro.reportservice.controller;
 
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflowpro.reportservice.dto.CompositeReportRequest;
+import com.taskflowpro.reportservice.dto.FilteredReportRequest;
+import com.taskflowpro.reportservice.dto.ReportLoadStatus;
+import com.taskflowpro.reportservice.dto.ReportPreviewResult;
 import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.ReportViews;
+import com.taskflowpro.reportservice.dto.UserSummaryBulkRequest;
 import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+import com.taskflowpro.reportservice.monitoring.ReportLoadMonitor;
+import com.taskflowpro.reportservice.monitoring.ReportPhaseEvent;
+import com.taskflowpro.reportservice.monitoring.ReportPhases;
+import com.taskflowpro.reportservice.service.CompositeReportService;
+import com.taskflowpro.reportservice.service.CompressionProfile;
+import com.taskflowpro.reportservice.service.FilteredReportService;
+import com.taskflowpro.reportservice.service.RenderMode;
+import com.taskflowpro.reportservice.service.ReportBuffer;
+import com.taskflowpro.reportservice.service.ReportCancelledException;
+import com.taskflowpro.reportservice.service.ReportDegradationPolicy;
+import com.taskflowpro.reportservice.service.ReportScheduleService;
+import com.taskflowpro.reportservice.service.ReportSingleFlight;
+import com.taskflowpro.reportservice.service.TaskArrowService;
 import com.taskflowpro.reportservice.service.TaskExcelService;
 import com.taskflowpro.reportservice.service.TaskPdfService;
+import com.taskflowpro.reportservice.service.TaskPreviewReader;
+import com.taskflowpro.reportservice.service.TaskSheetGrouping;
+import com.taskflowpro.reportservice.service.UserSummaryBulkService;
 import com.taskflowpro.reportservice.service.UserSummaryPdfService;
-import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -23,6 +56,7 @@ import java.time.format.DateTimeFormatter;
  * Handles HTTP requests from Node backend and returns PDF/Excel files
  */
 @RestController  // Combines @Controller and @ResponseBody
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)  // Reactive profile uses ReactiveReportController
 @RequestMapping("/api/report")  // Base path for all endpoints in this controller
 @CrossOrigin(origins = "http://localhost:5000")  // Allow requests from Node backend
 public class ReportController {
@@ -33,20 +67,60 @@ public class ReportController {
     @Autowired
     private TaskPdfService taskPdfService;
     
+    @Autowired
+    private TaskPreviewReader previewReader;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @Autowired
     private TaskExcelService taskExcelService;
     
     @Autowired
     private UserSummaryPdfService userSummaryPdfService;
     
+    @Autowired
+    private UserSummaryBulkService userSummaryBulkService;
+    
+    @Autowired
+    private CompositeReportService compositeReportService;
+    
+    @Autowired
+    private FilteredReportService filteredReportService;
+    
+    @Autowired
+    private TaskArrowService taskArrowService;
+    
+    // Identical requests arriving while the same report renders share one render
+    @Autowired
+    private ReportSingleFlight singleFlight;
+    
+    // In-flight renders, latency and resource usage for the health endpoint
+    @Autowired
+    private ReportLoadMonitor loadMonitor;
+    
+    // Picks plainer output when overloaded or short on time
+    @Autowired
+    private ReportDegradationPolicy degradationPolicy;
+    
+    // Requests matching a scheduled report are served from its precomputed file
+    @Autowired
+    private ReportScheduleService scheduleService;
+    
+    // Compression profile when the request does not pick one
+    @Value("${report.compression.default:standard}")
+    private String defaultCompression;
+    
     /**
-     * Health check endpoint to verify service is running
+     * Health and load endpoint for the Node backend and load balancers
      * GET http://localhost:8085/api/report/health
+     * 
+     * Response: ReportLoadStatus JSON (in-flight renders, queue depth, p95 latency, heap, CPU, loadFactor)
+     * Cheap and silent - meant to be probed every few seconds
      */
     @GetMapping("/health")
-    public ResponseEntity<String> healthCheck() {
-        logger.info("Health check requested");
-        return ResponseEntity.ok("Report Service is running - " + LocalDateTime.now());
+    public ResponseEntity<ReportLoadStatus> healthCheck() {
+        return ResponseEntity.ok(loadMonitor.getStatus());
     }
     
     /**
@@ -57,12 +131,23 @@ public class ReportController {
      * Response: PDF file as binary stream
      */
     @PostMapping("/tasks/pdf")
-    public ResponseEntity<byte[]> generateTaskPdf(@Valid @RequestBody ReportRequest request) {
+    public ResponseEntity<StreamingResponseBody> generateTaskPdf(
+            @JsonView(ReportViews.TaskPdf.class) @Validated(ReportViews.TaskPdf.class)
+            @RequestBody ReportRequest request,
+            @RequestParam(value = "compression", required = false) String compression) {
         try {
             logger.info("Received request to generate task PDF report");
+            CompressionProfile profile = compressionProfile(compression);
             
-            // Call service to generate PDF
-            byte[] pdfBytes = taskPdfService.generateTaskReportPdf(request);
+            // Precomputed file of a matching scheduled report, else call service to generate PDF (into pooled buffer segments)
+            String degraded = null;
+            ReportBuffer pdf = scheduleService.findPrecomputed("tasks-pdf", request).orElse(null);
+            if (pdf == null) {
+                degraded = degradationPolicy.reasonToDegrade("tasks-pdf:" + profile, request);
+                RenderMode mode = degraded != null ? RenderMode.DEGRADED : RenderMode.FULL;
+                pdf = singleFlight.execute("tasks-pdf:" + profile + mode.typeSuffix(), request,
+                    () -> taskPdfService.renderTaskReportPdf(request, profile, mode));
+            }
             
             // Create filename with timestamp
             String filename = "tasks-report-" + getCurrentTimestamp() + ".pdf";
@@ -71,33 +156,151 @@ public class ReportController {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", filename);
-            headers.setContentLength(pdfBytes.length);
+            headers.setContentLength(pdf.size());
+            if (degraded != null) {
+                headers.set(ReportDegradationPolicy.DEGRADED_HEADER, degraded);
+            }
             
             logger.info("Task PDF report generated successfully: {}", filename);
             
             // Return PDF file with 200 OK status
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            return new ResponseEntity<>(bufferBody(pdf), headers, HttpStatus.OK);
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid task PDF request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (ReportCancelledException e) {
+            logger.info("Stopped generating task PDF report: {}", e.getReason());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             logger.error("Error generating task PDF report", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Generates a fast first-page preview of the task PDF report
+     * POST http://localhost:8085/api/report/tasks/pdf/preview
+     * 
+     * Request Body: ReportRequest JSON, streamed: only the first tasks are bound, the rest are counted
+     * Response: PDF file (first page only) with X-Total-Tasks and X-Estimated-Pages headers
+     */
+    @PostMapping("/tasks/pdf/preview")
+    public ResponseEntity<byte[]> generateTaskPdfPreview(InputStream body) {
+        try {
+            logger.info("Received request to generate task PDF preview");
+            
+            ReportPhaseEvent parse = ReportPhases.begin(ReportPhases.PARSE);
+            TaskPreviewReader.Preview request;
+            try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+                request = previewReader.read(parser);
+            }
+            ReportPhases.setTaskCount(request.totalTasks());
+            ReportPhases.end(parse, 0);
+            
+            // Call service to render only the first page
+            ReportPreviewResult preview = singleFlight.execute("tasks-pdf-preview", request,
+                () -> taskPdfService.generateTaskPreviewPdf(request.request(), request.totalTasks()));
+            byte[] pdfBytes = preview.getPdf();
+            
+            // Create filename with timestamp
+            String filename = "tasks-report-preview-" + getCurrentTimestamp() + ".pdf";
+            
+            // Inline disposition so the browser can display the preview directly
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_PDF);
+            headers.setContentDisposition(ContentDisposition.inline().filename(filename).build());
+            headers.setContentLength(pdfBytes.length);
+            headers.set("X-Total-Tasks", String.valueOf(preview.getTotalTasks()));
+            headers.set("X-Preview-Tasks", String.valueOf(preview.getPreviewTasks()));
+            headers.set("X-Estimated-Pages", String.valueOf(preview.getEstimatedPages()));
+            
+            logger.info("Task PDF preview generated successfully: {}", filename);
+            
+            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            logger.warn("Invalid task PDF preview request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error generating task PDF preview", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Appends new tasks to an existing (rolling) task PDF report
+     * POST http://localhost:8085/api/report/tasks/pdf/append
+     * 
+     * Request Body: multipart/form-data with
+     *   - file: the existing report PDF
+     *   - report: ReportRequest JSON with the new tasks (title becomes the section heading)
+     * Response: the updated PDF (original bytes plus an incremental update with the new pages)
+     */
+    @PostMapping(value = "/tasks/pdf/append", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<byte[]> appendTaskPdf(
+            @RequestPart("file") MultipartFile file,
+            @JsonView(ReportViews.TaskPdf.class) @Validated(ReportViews.TaskPdf.class)
+            @RequestPart("report") ReportRequest request) {
+        try {
+            logger.info("Received request to append {} tasks to PDF report {}",
+                request.getTasks().size(), file.getOriginalFilename());
+            
+            byte[] pdfBytes = taskPdfService.appendTasksToReport(file.getBytes(), request);
+            
+            // Keep the original file name - it is the same report, just longer
+            String filename = file.getOriginalFilename() != null && !file.getOriginalFilename().isBlank()
+                ? file.getOriginalFilename()
+                : "tasks-report-" + getCurrentTimestamp() + ".pdf";
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_PDF);
+            headers.setContentDispositionFormData("attachment", filename);
+            headers.setContentLength(pdfBytes.length);
+            
+            logger.info("Tasks appended to PDF report successfully: {}", filename);
+            
+            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid PDF append request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error appending tasks to PDF report", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Generates an Excel report of tasks
      * POST http://localhost:8085/api/report/tasks/excel
      * 
      * Request Body: ReportRequest JSON
+     * Optional: ?sheets=status|priority for a summary sheet plus one sheet per status or priority
      * Response: Excel file as binary stream
      */
     @PostMapping("/tasks/excel")
-    public ResponseEntity<byte[]> generateTaskExcel(@Valid @RequestBody ReportRequest request) {
+    public ResponseEntity<StreamingResponseBody> generateTaskExcel(
+            @JsonView(ReportViews.TaskExcel.class) @Validated(ReportViews.TaskExcel.class)
+            @RequestBody ReportRequest request,
+            @RequestParam(value = "compression", required = false) String compression,
+            @RequestParam(value = "sheets", required = false) String sheets) {
         try {
             logger.info("Received request to generate task Excel report");
+            CompressionProfile profile = compressionProfile(compression);
+            TaskSheetGrouping grouping = TaskSheetGrouping.parse(sheets);
             
-            // Call service to generate Excel
-            byte[] excelBytes = taskExcelService.generateTaskReportExcel(request);
+            // Precomputed file of a matching scheduled report (single sheet only),
+            // else call service to generate Excel (into pooled buffer segments)
+            String degraded = null;
+            ReportBuffer excel = grouping == null ? scheduleService.findPrecomputed("tasks-excel", request).orElse(null) : null;
+            if (excel == null) {
+                String type = "tasks-excel:" + profile + (grouping != null ? ":" + grouping : "");
+                degraded = degradationPolicy.reasonToDegrade(type, request);
+                RenderMode mode = degraded != null ? RenderMode.DEGRADED : RenderMode.FULL;
+                excel = singleFlight.execute(type + mode.typeSuffix(), request,
+                    () -> taskExcelService.renderTaskReportExcel(request, profile, grouping, mode));
+            }
             
             // Create filename with timestamp
             String filename = "tasks-report-" + getCurrentTimestamp() + ".xlsx";
@@ -106,19 +309,162 @@ public class ReportController {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
             headers.setContentDispositionFormData("attachment", filename);
-            headers.setContentLength(excelBytes.length);
+            headers.setContentLength(excel.size());
+            if (degraded != null) {
+                headers.set(ReportDegradationPolicy.DEGRADED_HEADER, degraded);
+            }
             
             logger.info("Task Excel report generated successfully: {}", filename);
             
             // Return Excel file with 200 OK status
-            return new ResponseEntity<>(excelBytes, headers, HttpStatus.OK);
+            return new ResponseEntity<>(bufferBody(excel), headers, HttpStatus.OK);
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid task Excel request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (ReportCancelledException e) {
+            logger.info("Stopped generating task Excel report: {}", e.getReason());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             logger.error("Error generating task Excel report", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Exports tasks as an Apache Arrow IPC stream (typed columns for pandas / Spark)
+     * POST http://localhost:8085/api/report/tasks/arrow
+     * 
+     * Request Body: ReportRequest JSON
+     * Response: application/vnd.apache.arrow.stream, written batch by batch
+     */
+    @PostMapping("/tasks/arrow")
+    public ResponseEntity<StreamingResponseBody> generateTaskArrow(
+            @Validated(ReportViews.Full.class) @RequestBody ReportRequest request) {
+        logger.info("Received request to export {} tasks as Arrow", request.getTasks().size());
+        
+        String filename = "tasks-" + getCurrentTimestamp() + ".arrows";
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/vnd.apache.arrow.stream"));
+        headers.setContentDispositionFormData("attachment", filename);
+        
+        // Batches go straight to the response; a failure mid-stream aborts the connection
+        StreamingResponseBody body = outputStream -> {
+            try {
+                taskArrowService.writeTasksArrow(request, outputStream);
+                logger.info("Arrow export sent successfully: {}", filename);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error("Error exporting tasks as Arrow", e);
+                throw new IOException("Arrow export failed", e);
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+    
+    /**
+     * Generates the same task report in several formats from a single request
+     * POST http://localhost:8085/api/report/tasks/bundle
+     * 
+     * Request Body: { "report": ReportRequest JSON, "formats": ["pdf", "excel"] }
+     * Optional: ?compression=fast|standard|small for every file in the bundle
+     * Response: ZIP file containing one report per format
+     */
+    @PostMapping("/tasks/bundle")
+    public ResponseEntity<StreamingResponseBody> generateTaskBundle(
+            @Validated(ReportViews.Full.class) @RequestBody CompositeReportRequest request,
+            @RequestParam(value = "compression", required = false) String compression) {
+        try {
+            logger.info("Received request to generate task report bundle {}", request.getFormats());
+            CompressionProfile profile = compressionProfile(compression);
+            
+            String degraded = degradationPolicy.reasonToDegrade("tasks-bundle:" + profile, request);
+            RenderMode mode = degraded != null ? RenderMode.DEGRADED : RenderMode.FULL;
+            
+            // Parsed and validated once - every format renders from the same data (into pooled buffer segments)
+            String baseName = "tasks-report-" + getCurrentTimestamp();
+            ReportBuffer zip = singleFlight.execute("tasks-bundle:" + profile + mode.typeSuffix(), request,
+                () -> compositeReportService.renderTaskReportBundle(request.getReport(), request.getFormats(),
+                    baseName, profile, mode));
+            
+            String filename = baseName + ".zip";
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType("application/zip"));
+            headers.setContentDispositionFormData("attachment", filename);
+            headers.setContentLength(zip.size());
+            if (degraded != null) {
+                headers.set(ReportDegradationPolicy.DEGRADED_HEADER, degraded);
+            }
+            
+            logger.info("Task report bundle generated successfully: {}", filename);
+            
+            return new ResponseEntity<>(bufferBody(zip), headers, HttpStatus.OK);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid task report bundle request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (ReportCancelledException e) {
+            logger.info("Stopped generating task report bundle: {}", e.getReason());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            logger.error("Error generating task report bundle", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Generates one task report per filter from a single unfiltered task list
+     * POST http://localhost:8085/api/report/tasks/variants
+     * 
+     * Request Body: { "report": ReportRequest JSON, "variants": [FilterDTO, ...], "format": "pdf" }
+     * Optional: ?compression=fast|standard|small for every file in the ZIP
+     * Response: ZIP file containing one report per filter
+     */
+    @PostMapping("/tasks/variants")
+    public ResponseEntity<StreamingResponseBody> generateTaskVariants(
+            @Validated(ReportViews.Full.class) @RequestBody FilteredReportRequest request,
+            @RequestParam(value = "compression", required = false) String compression) {
+        try {
+            logger.info("Received request to generate {} filtered task report variants", request.getVariants().size());
+            CompressionProfile profile = compressionProfile(compression);
+            
+            String degraded = degradationPolicy.reasonToDegrade("tasks-variants:" + profile, request);
+            RenderMode mode = degraded != null ? RenderMode.DEGRADED : RenderMode.FULL;
+            
+            String baseName = "tasks-report-" + getCurrentTimestamp();
+            ReportBuffer zip = singleFlight.execute("tasks-variants:" + profile + mode.typeSuffix(), request,
+                () -> filteredReportService.renderFilteredVariants(request.getReport(), request.getVariants(),
+                    request.getFormat(), baseName, profile, mode));
+            
+            String filename = baseName + "-variants.zip";
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType("application/zip"));
+            headers.setContentDispositionFormData("attachment", filename);
+            headers.setContentLength(zip.size());
+            if (degraded != null) {
+                headers.set(ReportDegradationPolicy.DEGRADED_HEADER, degraded);
+            }
+            
+            logger.info("Filtered task report variants generated successfully: {}", filename);
+            
+            return new ResponseEntity<>(bufferBody(zip), headers, HttpStatus.OK);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid filtered task report request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (ReportCancelledException e) {
+            logger.info("Stopped generating filtered task report variants: {}", e.getReason());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            logger.error("Error generating filtered task report variants", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Generates a user productivity summary PDF
      * POST http://localhost:8085/api/report/user-summary/pdf
@@ -127,12 +473,23 @@ public class ReportController {
      * Response: PDF file as binary stream
      */
     @PostMapping("/user-summary/pdf")
-    public ResponseEntity<byte[]> generateUserSummaryPdf(@Valid @RequestBody UserSummaryReportRequest request) {
+    public ResponseEntity<StreamingResponseBody> generateUserSummaryPdf(
+            @JsonView(ReportViews.UserSummary.class) @Validated(ReportViews.UserSummary.class)
+            @RequestBody UserSummaryReportRequest request,
+            @RequestParam(value = "compression", required = false) String compression) {
         try {
             logger.info("Received request to generate user summary PDF for {}", request.getUser().getName());
+            CompressionProfile profile = compressionProfile(compression);
             
-            // Call service to generate PDF
-            byte[] pdfBytes = userSummaryPdfService.generateUserSummaryPdf(request);
+            // Precomputed file of a matching scheduled report, else call service to generate PDF (into pooled buffer segments)
+            String degraded = null;
+            ReportBuffer pdf = scheduleService.findPrecomputed("user-summary-pdf", request).orElse(null);
+            if (pdf == null) {
+                degraded = degradationPolicy.reasonToDegrade("user-summary-pdf:" + profile, request);
+                RenderMode mode = degraded != null ? RenderMode.DEGRADED : RenderMode.FULL;
+                pdf = singleFlight.execute("user-summary-pdf:" + profile + mode.typeSuffix(), request,
+                    () -> userSummaryPdfService.renderUserSummaryPdf(request, profile, mode));
+            }
             
             // Create filename with user name and timestamp
             String sanitizedName = request.getUser().getName().replaceAll("[^a-zA-Z0-9]", "-");
@@ -142,19 +499,95 @@ public class ReportController {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", filename);
-            headers.setContentLength(pdfBytes.length);
+            headers.setContentLength(pdf.size());
+            if (degraded != null) {
+                headers.set(ReportDegradationPolicy.DEGRADED_HEADER, degraded);
+            }
             
             logger.info("User summary PDF generated successfully: {}", filename);
             
             // Return PDF file with 200 OK status
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            return new ResponseEntity<>(bufferBody(pdf), headers, HttpStatus.OK);
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid user summary request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (ReportCancelledException e) {
+            logger.info("Stopped generating user summary PDF: {}", e.getReason());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             logger.error("Error generating user summary PDF", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Generates user summary PDFs for many users (stamped onto a shared skeleton)
+     * POST http://localhost:8085/api/report/user-summary/bulk
+     * 
+     * Request Body: { "summaries": [UserSummaryReportRequest JSON, ...] }
+     * Response: ZIP file containing one PDF per user, in request order
+     */
+    @PostMapping("/user-summary/bulk")
+    public ResponseEntity<StreamingResponseBody> generateUserSummaryBulk(
+            @JsonView(ReportViews.UserSummary.class) @Validated(ReportViews.UserSummary.class)
+            @RequestBody UserSummaryBulkRequest request,
+            @RequestParam(value = "compression", required = false) String compression) {
+        try {
+            logger.info("Received request to generate {} user summary PDFs", request.getSummaries().size());
+            CompressionProfile profile = compressionProfile(compression);
+            
+            String baseName = "user-summary-" + getCurrentTimestamp();
+            ReportBuffer zip = singleFlight.execute("user-summary-bulk:" + profile, request,
+                () -> userSummaryBulkService.renderUserSummaryBundle(request.getSummaries(), profile, baseName));
+            
+            String filename = baseName + ".zip";
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType("application/zip"));
+            headers.setContentDispositionFormData("attachment", filename);
+            headers.setContentLength(zip.size());
+            
+            logger.info("User summary bundle generated successfully: {}", filename);
+            
+            return new ResponseEntity<>(bufferBody(zip), headers, HttpStatus.OK);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid user summary bulk request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (ReportCancelledException e) {
+            logger.info("Stopped generating user summary bundle: {}", e.getReason());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            logger.error("Error generating user summary bundle", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Response body written straight from the rendered buffer's segments, which go back to the pool afterwards
+     */
+    private StreamingResponseBody bufferBody(ReportBuffer buffer) {
+        // Flight recorder write phase, recorded on the async thread that writes the body
+        ReportPhases.DeferredWrite write = ReportPhases.deferWrite();
+        return outputStream -> {
+            write.begin();
+            try {
+                buffer.writeTo(outputStream);
+            } finally {
+                write.end(buffer.size());
+                buffer.close();
+            }
+        };
+    }
+    
+    /**
+     * Compression profile of a download: ?compression=fast|standard|small, else report.compression.default
+     */
+    private CompressionProfile compressionProfile(String requested) {
+        return CompressionProfile.parse(requested, CompressionProfile.parse(defaultCompression, CompressionProfile.STANDARD));
+    }
+    
     /**
      * Helper method to generate timestamp for filenames
      * Format: YYYYMMDD-HHMMSS
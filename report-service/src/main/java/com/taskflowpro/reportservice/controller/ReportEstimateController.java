@@ -0,0 +1,129 @@
+package com.taskflowpro.reportservice.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflowpro.reportservice.dto.ReportEstimate;
+import com.taskflowpro.reportservice.monitoring.ReportCostModel;
+import com.taskflowpro.reportservice.monitoring.ReportPayloadStats;
+import com.taskflowpro.reportservice.service.CompressionProfile;
+import com.taskflowpro.reportservice.service.TaskSheetGrouping;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for dry-run cost estimates
+ * Takes the same body as the matching report endpoint and returns how big and slow that report is
+ * likely to be, without rendering it. Estimates come from the renders this instance has recorded.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)  // Reactive profile uses ReactiveReportEstimateController
+@RequestMapping("/api/report/estimate")
+@CrossOrigin(origins = "http://localhost:5000")
+public class ReportEstimateController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportEstimateController.class);
+
+    @Autowired
+    private ReportCostModel costModel;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Compression profile when the request does not pick one (same default as the report endpoints)
+    @Value("${report.compression.default:standard}")
+    private String defaultCompression;
+
+    /**
+     * Estimates a task PDF report
+     * POST http://localhost:8085/api/report/estimate/tasks/pdf
+     *
+     * Request Body: ReportRequest JSON (as for /api/report/tasks/pdf)
+     * Response: ReportEstimate JSON, 400 for a body that is not a JSON object
+     */
+    @PostMapping("/tasks/pdf")
+    public ResponseEntity<ReportEstimate> estimateTaskPdf(
+            @RequestBody byte[] body,
+            @RequestParam(value = "compression", required = false) String compression) {
+        try {
+            String type = "tasks-pdf:" + compressionProfile(compression);
+            return ResponseEntity.ok(estimate(type, body, ReportPayloadStats.Shape.TASK_PDF));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            logger.warn("Invalid task PDF estimate request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error estimating task PDF report", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Estimates a task Excel report
+     * POST http://localhost:8085/api/report/estimate/tasks/excel
+     *
+     * Request Body: ReportRequest JSON (as for /api/report/tasks/excel, including ?sheets=)
+     * Response: ReportEstimate JSON (pages is null), 400 for an invalid body or parameter
+     */
+    @PostMapping("/tasks/excel")
+    public ResponseEntity<ReportEstimate> estimateTaskExcel(
+            @RequestBody byte[] body,
+            @RequestParam(value = "compression", required = false) String compression,
+            @RequestParam(value = "sheets", required = false) String sheets) {
+        try {
+            TaskSheetGrouping grouping = TaskSheetGrouping.parse(sheets);
+            String type = "tasks-excel:" + compressionProfile(compression) + (grouping != null ? ":" + grouping : "");
+            return ResponseEntity.ok(estimate(type, body, ReportPayloadStats.Shape.TASK_EXCEL));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            logger.warn("Invalid task Excel estimate request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error estimating task Excel report", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Estimates a user summary PDF report
+     * POST http://localhost:8085/api/report/estimate/user-summary/pdf
+     *
+     * Request Body: UserSummaryReportRequest JSON (as for /api/report/user-summary/pdf)
+     * Response: ReportEstimate JSON, 400 for a body that is not a JSON object
+     */
+    @PostMapping("/user-summary/pdf")
+    public ResponseEntity<ReportEstimate> estimateUserSummaryPdf(
+            @RequestBody byte[] body,
+            @RequestParam(value = "compression", required = false) String compression) {
+        try {
+            String type = "user-summary-pdf:" + compressionProfile(compression);
+            return ResponseEntity.ok(estimate(type, body, ReportPayloadStats.Shape.USER_SUMMARY));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            logger.warn("Invalid user summary estimate request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error estimating user summary report", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Scans the body for task count and text length only (no request objects are built)
+     * The body is taken as raw bytes so this works the same on the servlet and the reactive stack
+     */
+    private ReportEstimate estimate(String type, byte[] body, ReportPayloadStats.Shape shape) throws Exception {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            ReportEstimate estimate = costModel.estimate(type, ReportPayloadStats.scan(parser, shape));
+            logger.debug("Estimated {}: {} tasks, ~{} ms", type, estimate.getTaskCount(), estimate.getRenderMillis());
+            return estimate;
+        }
+    }
+
+    private CompressionProfile compressionProfile(String requested) {
+        return CompressionProfile.parse(requested, CompressionProfile.parse(defaultCompression, CompressionProfile.STANDARD));
+    }
+}
@@ -0,0 +1,150 @@
+package com.taskflowpro.reportservice.controller;
+
+import com.taskflowpro.reportservice.dto.ReportJobStatus;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.ReportViews;
+import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+import com.taskflowpro.reportservice.service.ReportJobQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+/**
+ * REST Controller for queued (asynchronous) report generation
+ * Jobs are written to the shared job queue and rendered by whichever instance claims them
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)  // Reactive profile uses ReactiveReportJobController
+@RequestMapping("/api/report/jobs")
+@CrossOrigin(origins = "http://localhost:5000")
+public class ReportJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobController.class);
+
+    @Autowired
+    private ReportJobQueue jobQueue;
+
+    /**
+     * Queues a task PDF report
+     * POST http://localhost:8085/api/report/jobs/tasks/pdf
+     *
+     * Optional header: Idempotency-Key (1-128 of A-Z a-z 0-9 _ -, otherwise derived from the payload)
+     * Response: 202 Accepted with the job status, 400 for an invalid key
+     */
+    @PostMapping("/tasks/pdf")
+    public ResponseEntity<ReportJobStatus> enqueueTaskPdf(
+            @Validated(ReportViews.Full.class) @RequestBody ReportRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return enqueue("tasks-pdf", request, idempotencyKey);
+    }
+
+    /**
+     * Queues a task Excel report
+     * POST http://localhost:8085/api/report/jobs/tasks/excel
+     */
+    @PostMapping("/tasks/excel")
+    public ResponseEntity<ReportJobStatus> enqueueTaskExcel(
+            @Validated(ReportViews.Full.class) @RequestBody ReportRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return enqueue("tasks-excel", request, idempotencyKey);
+    }
+
+    /**
+     * Queues a user summary PDF
+     * POST http://localhost:8085/api/report/jobs/user-summary/pdf
+     */
+    @PostMapping("/user-summary/pdf")
+    public ResponseEntity<ReportJobStatus> enqueueUserSummaryPdf(
+            @Validated(ReportViews.Full.class) @RequestBody UserSummaryReportRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return enqueue("user-summary-pdf", request, idempotencyKey);
+    }
+
+    /**
+     * Returns the current state of a job
+     * GET http://localhost:8085/api/report/jobs/{key}
+     */
+    @GetMapping("/{key}")
+    public ResponseEntity<ReportJobStatus> getJobStatus(@PathVariable String key) {
+        try {
+            ReportJobStatus status = jobQueue.getStatus(key);
+            if (status == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error reading report job {}", key, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Downloads the rendered file of a finished job
+     * GET http://localhost:8085/api/report/jobs/{key}/result
+     *
+     * Response: the file (200), 202 while the job is still pending/running, 404 for unknown keys
+     */
+    @GetMapping("/{key}/result")
+    public ResponseEntity<byte[]> getJobResult(@PathVariable String key) {
+        try {
+            ReportJobStatus status = jobQueue.getStatus(key);
+            if (status == null) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Optional<byte[]> result = jobQueue.getResult(key);
+            if (result.isEmpty()) {
+                HttpStatus httpStatus = ReportJobQueue.STATE_FAILED.equals(status.getState())
+                    ? HttpStatus.INTERNAL_SERVER_ERROR
+                    : HttpStatus.ACCEPTED;
+                return ResponseEntity.status(httpStatus).build();
+            }
+
+            boolean isExcel = "tasks-excel".equals(status.getType());
+            String filename = status.getType() + "-" + status.getKey() + (isExcel ? ".xlsx" : ".pdf");
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(isExcel
+                ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                : MediaType.APPLICATION_PDF);
+            headers.setContentDispositionFormData("attachment", filename);
+            headers.setContentLength(result.get().length);
+
+            return new ResponseEntity<>(result.get(), headers, HttpStatus.OK);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error reading result of report job {}", key, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Adds a job to the queue and returns 202 Accepted with its status
+     */
+    private ResponseEntity<ReportJobStatus> enqueue(String type, Object request, String idempotencyKey) {
+        try {
+            logger.info("Received request to queue {} report job", type);
+            ReportJobStatus status = jobQueue.enqueue(type, request, idempotencyKey);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected {} report job: {}", type, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error queueing {} report job", type, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
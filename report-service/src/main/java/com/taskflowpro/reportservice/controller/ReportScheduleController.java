@@ -0,0 +1,157 @@
+package com.taskflowpro.reportservice.controller;
+
+import com.taskflowpro.reportservice.dto.ScheduledReport;
+import com.taskflowpro.reportservice.dto.ScheduledReportStatus;
+import com.taskflowpro.reportservice.service.ReportScheduleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST Controller for scheduled (precomputed) reports
+ * Recurring reports are rendered off-peak on a cron schedule and downloaded from the stored file
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)  // Reactive profile uses ReactiveReportScheduleController
+@RequestMapping("/api/report/schedules")
+@CrossOrigin(origins = "http://localhost:5000")
+public class ReportScheduleController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportScheduleController.class);
+
+    @Autowired
+    private ReportScheduleService scheduleService;
+
+    /**
+     * Creates or replaces a scheduled report
+     * PUT http://localhost:8085/api/report/schedules/{name}
+     *
+     * Body: { type, cron, compression, payload } - the name is taken from the URL
+     * Response: 200 with the schedule status, 400 for an invalid type, cron or payload
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<ScheduledReportStatus> saveSchedule(@PathVariable String name,
+                                                              @RequestBody ScheduledReport report) {
+        try {
+            report.setName(name);
+            return ResponseEntity.ok(scheduleService.save(report));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected scheduled report {}: {}", name, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error saving scheduled report {}", name, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Lists all scheduled reports
+     * GET http://localhost:8085/api/report/schedules
+     */
+    @GetMapping
+    public ResponseEntity<List<ScheduledReportStatus>> listSchedules() {
+        try {
+            return ResponseEntity.ok(scheduleService.list());
+        } catch (Exception e) {
+            logger.error("Error listing scheduled reports", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Returns the schedule and last output of one report
+     * GET http://localhost:8085/api/report/schedules/{name}
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<ScheduledReportStatus> getSchedule(@PathVariable String name) {
+        try {
+            return ResponseEntity.of(scheduleService.getStatus(name));
+        } catch (Exception e) {
+            logger.error("Error reading scheduled report {}", name, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Removes a scheduled report and its stored output
+     * DELETE http://localhost:8085/api/report/schedules/{name}
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> deleteSchedule(@PathVariable String name) {
+        try {
+            return scheduleService.delete(name)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Error deleting scheduled report {}", name, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Renders a scheduled report now instead of waiting for its next run
+     * POST http://localhost:8085/api/report/schedules/{name}/run
+     *
+     * Response: 202 Accepted, 409 if it is already rendering, 404 for unknown names
+     */
+    @PostMapping("/{name}/run")
+    public ResponseEntity<Void> runSchedule(@PathVariable String name) {
+        try {
+            if (scheduleService.getStatus(name).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return scheduleService.runNow(name)
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            logger.error("Error starting scheduled report {}", name, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Downloads the precomputed file of a scheduled report
+     * GET http://localhost:8085/api/report/schedules/{name}/output
+     *
+     * Response: the file (200) with X-Report-Generated-At, 404 if it was not rendered yet
+     */
+    @GetMapping("/{name}/output")
+    public ResponseEntity<Resource> getScheduleOutput(@PathVariable String name) {
+        try {
+            Optional<ScheduledReportStatus> status = scheduleService.getStatus(name);
+            Optional<Path> output = scheduleService.getOutput(name);
+            if (status.isEmpty() || output.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            boolean isExcel = "tasks-excel".equals(status.get().getType());
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(isExcel
+                ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                : MediaType.APPLICATION_PDF);
+            headers.setContentDispositionFormData("attachment", name + (isExcel ? ".xlsx" : ".pdf"));
+            if (status.get().getGeneratedAt() != null) {
+                headers.set("X-Report-Generated-At", status.get().getGeneratedAt());
+            }
+
+            // Served straight from the file; a render finishing meanwhile replaces it with a rename
+            return new ResponseEntity<>(new FileSystemResource(output.get()), headers, HttpStatus.OK);
+
+        } catch (Exception e) {
+            logger.error("Error reading output of scheduled report {}", name, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.taskflowpro.reportservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -16,14 +17,18 @@ import jakarta.validation.constraints.NotNull;
 @AllArgsConstructor  // Lombok: generates constructor with all fields
 public class AssigneeDTO {
     
-    @NotNull(message = "Assignee name is required")
+    @JsonView(ReportViews.WithAssigneeDetails.class)
+    @NotNull(message = "Assignee name is required", groups = ReportViews.WithAssigneeDetails.class)
     private String name;
     
-    @Email(message = "Valid email is required")
-    @NotNull(message = "Assignee email is required")
+    // Not printed by any PDF/Excel report - only read for full exports
+    @JsonView(ReportViews.WithAssigneeContact.class)
+    @Email(message = "Valid email is required", groups = ReportViews.WithAssigneeContact.class)
+    @NotNull(message = "Assignee email is required", groups = ReportViews.WithAssigneeContact.class)
     private String email;
     
-    @NotNull(message = "Assignee status is required")
+    @JsonView(ReportViews.WithAssigneeDetails.class)
+    @NotNull(message = "Assignee status is required", groups = ReportViews.WithAssigneeDetails.class)
     private String status;  // "pending", "in-progress", "completed"
     
     private Integer progress;  // 0-100
@@ -0,0 +1,27 @@
+package com.taskflowpro.reportservice.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * Request for rendering one task report in several formats at once
+ * The report is parsed and validated once and every format is rendered from the same data
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompositeReportRequest {
+    
+    @Valid
+    @NotNull(message = "Report is required")
+    private ReportRequest report;  // Same structure as the /tasks/pdf and /tasks/excel body
+    
+    @NotEmpty(message = "At least one format is required")
+    private List<String> formats;  // e.g., ["pdf", "excel"]
+}
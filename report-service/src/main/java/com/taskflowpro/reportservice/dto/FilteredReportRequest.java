@@ -0,0 +1,29 @@
+package com.taskflowpro.reportservice.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * Request for several filtered variants of one task report
+ * The report-service applies each filter itself, so Node only sends the tasks once
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilteredReportRequest {
+    
+    @Valid
+    @NotNull(message = "Report is required")
+    private ReportRequest report;  // Unfiltered tasks plus title/metadata
+    
+    @NotEmpty(message = "At least one filter variant is required")
+    private List<FilterDTO> variants;  // One output report per filter
+    
+    private String format = "pdf";  // "pdf" or "excel"
+}
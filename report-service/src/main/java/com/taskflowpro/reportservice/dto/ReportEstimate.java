@@ -0,0 +1,35 @@
+package com.taskflowpro.reportservice.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Estimated cost of rendering a report, returned by the dry-run endpoints (/api/report/estimate/...)
+ * Lets the Node backend choose between a direct download and a queued job before sending the real request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportEstimate {
+
+    private String type;  // Report type as used by the render metrics, e.g. "tasks-pdf:STANDARD"
+
+    private int taskCount;
+
+    private long textLength;  // Characters of text the report prints
+
+    private Integer pages;  // null for Excel
+
+    private long outputBytes;
+
+    private long allocatedBytes;  // Heap allocated over the whole render, summed over all its threads (GC pressure, not peak heap in use)
+
+    private long renderMillis;  // On an idle instance
+
+    private int samples;  // Renders of this type the estimate is based on
+
+    private boolean calibrated;  // false: too few samples yet, the estimate is mostly built-in defaults
+
+    private String recommendedMode;  // "sync" (direct download) or "async" (queued job)
+}
@@ -0,0 +1,28 @@
+package com.taskflowpro.reportservice.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * A report job stored in the shared job queue directory
+ * The payload is kept as raw JSON so any instance can render it later
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJob {
+    
+    private String key;  // Idempotency key (also the file name in the queue)
+    
+    private String type;  // "tasks-pdf", "tasks-excel", "user-summary-pdf"
+    
+    private int attempts;  // How many times a worker has claimed this job
+    
+    private String createdAt;  // ISO timestamp when the job was enqueued
+    
+    private String error;  // Last failure message, if any
+    
+    private JsonNode payload;  // ReportRequest or UserSummaryReportRequest JSON
+}
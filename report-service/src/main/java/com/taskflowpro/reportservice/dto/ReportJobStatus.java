@@ -0,0 +1,24 @@
+package com.taskflowpro.reportservice.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Status of a queued report job as returned to the Node backend
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobStatus {
+    
+    private String key;
+    
+    private String type;
+    
+    private String state;  // "pending", "running", "done", "failed"
+    
+    private int attempts;
+    
+    private String error;
+}
@@ -0,0 +1,45 @@
+package com.taskflowpro.reportservice.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Health and current load of one report-service instance
+ * Returned by GET /api/report/health so load balancers can weight traffic away from busy instances
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportLoadStatus {
+
+    private String status;  // "UP" whenever the service answers
+
+    private Map<String, Integer> inFlight;  // Renders running right now, by report type
+
+    private int inFlightTotal;
+
+    private int renderQueueDepth;  // Work waiting for a render pool thread
+
+    private int renderThreads;  // Size of the render pool
+
+    private int jobsPending;  // Queued report jobs not claimed yet (sampled every few seconds)
+
+    private int jobsRunning;  // Queued report jobs rendering on this instance
+
+    private Double p95LatencyMs;  // Render time 95th percentile over about the last minute (null until the first render)
+
+    private long heapUsedAfterGcMb;  // Heap still in use after the last garbage collection
+
+    private long heapMaxMb;
+
+    private double heapHeadroomPercent;  // Free heap after the last GC, in percent of the maximum
+
+    private double processCpuLoad;  // 0.0 - 1.0 for this JVM (negative if the JVM cannot tell)
+
+    private double systemCpuLoad;  // 0.0 - 1.0 for the whole machine (negative if the JVM cannot tell)
+
+    private double loadFactor;  // 0.0 idle - 1.0 saturated: the highest of render, process CPU and heap pressure
+}
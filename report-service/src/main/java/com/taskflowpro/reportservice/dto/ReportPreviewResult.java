@@ -0,0 +1,23 @@
+package com.taskflowpro.reportservice.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Result of rendering a first-page preview of a task report
+ * Carries the preview PDF plus size information about the full report
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportPreviewResult {
+    
+    private byte[] pdf;  // Rendered preview (first page only)
+    
+    private int totalTasks;  // Number of tasks in the submitted request
+    
+    private int previewTasks;  // Number of tasks shown in the preview
+    
+    private int estimatedPages;  // Estimated page count of the full report
+}
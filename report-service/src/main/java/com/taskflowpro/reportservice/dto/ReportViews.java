@@ -0,0 +1,56 @@
+package com.taskflowpro.reportservice.dto;
+
+import jakarta.validation.groups.Default;
+
+/**
+ * Which request fields each output format needs
+ *
+ * Used in two ways:
+ *   - as Jackson views (@JsonView on the request body): fields the format does not print are
+ *     skipped by the parser without ever being turned into Java strings/objects
+ *   - as validation groups (@Validated(ReportViews.X.class) on the request body, validator.validate(x,
+ *     ReportViews.Full.class) elsewhere): "required" checks on optional-per-format fields only run for
+ *     the formats that read them. Every view extends Default, so the unconditional checks always run.
+ * Fields without @JsonView are always read. Endpoints that need everything use {@link Full}.
+ */
+public final class ReportViews {
+
+    private ReportViews() {
+    }
+
+    // Field groups that some outputs skip
+
+    /** TaskDTO.description */
+    public interface WithDescription {
+    }
+
+    /** TaskDTO.createdAt */
+    public interface WithCreatedAt {
+    }
+
+    /** AssigneeDTO.name and status */
+    public interface WithAssigneeDetails {
+    }
+
+    /** AssigneeDTO.email */
+    public interface WithAssigneeContact {
+    }
+
+    // Output formats
+
+    /** Task PDF: no description, no assignee emails */
+    public interface TaskPdf extends Default, WithCreatedAt, WithAssigneeDetails {
+    }
+
+    /** Task Excel: everything except assignee emails */
+    public interface TaskExcel extends Default, WithDescription, WithCreatedAt, WithAssigneeDetails {
+    }
+
+    /** User summary: recent tasks show title, priority, status, due date and first assignee's progress */
+    public interface UserSummary extends Default {
+    }
+
+    /** All fields (Arrow export, queued jobs, gRPC) */
+    public interface Full extends Default, WithDescription, WithCreatedAt, WithAssigneeDetails, WithAssigneeContact {
+    }
+}
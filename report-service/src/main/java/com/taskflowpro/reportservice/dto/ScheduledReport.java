@@ -0,0 +1,26 @@
+package com.taskflowpro.reportservice.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * A recurring report that is rendered ahead of time on a cron schedule
+ * The stored request is rendered as-is, so the Node backend refreshes it when the data changes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledReport {
+
+    private String name;  // Unique name, e.g. "weekly-workspace" (also the file name on disk)
+
+    private String type;  // "tasks-pdf", "tasks-excel", "user-summary-pdf"
+
+    private String cron;  // Spring cron expression, e.g. "0 0 3 * * MON" (03:00 every Monday)
+
+    private String compression;  // fast | standard | small (null = report.schedules.compression)
+
+    private JsonNode payload;  // ReportRequest or UserSummaryReportRequest JSON
+}
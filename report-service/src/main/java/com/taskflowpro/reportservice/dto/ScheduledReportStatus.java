@@ -0,0 +1,32 @@
+package com.taskflowpro.reportservice.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Schedule and last precomputed output of a scheduled report
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledReportStatus {
+
+    private String name;
+
+    private String type;
+
+    private String cron;
+
+    private String nextRunAt;  // ISO timestamp of the next scheduled render
+
+    private String generatedAt;  // ISO timestamp of the stored output (null until the first render)
+
+    private long sizeBytes;
+
+    private long renderMillis;
+
+    private String error;  // Message of the last failed render, cleared by the next success
+
+    private String requestHash;  // Hash of the request the stored output was rendered from (live requests with the same hash are served from it)
+}
@@ -1,9 +1,11 @@
 package com.taskflowpro.reportservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
 
@@ -19,6 +21,7 @@ public class TaskDTO {
     @NotNull(message = "Task title is required")
     private String title;
     
+    @JsonView(ReportViews.WithDescription.class)  // Skipped when parsing PDF / user summary requests
     private String description;
     
     @NotNull(message = "Priority is required")
@@ -27,8 +30,10 @@ public class TaskDTO {
     @NotNull(message = "Status is required")
     private String status;    // "pending", "in-progress", "completed"
     
+    @JsonView(ReportViews.WithCreatedAt.class)  // Skipped when parsing user summary requests
     private String createdAt;  // ISO date string
     private String dueDate;    // ISO date string
     
+    @Valid  // Assignee checks run for the views that read those fields (see ReportViews)
     private List<AssigneeDTO> assignees;  // List of people assigned to this task
 }
@@ -0,0 +1,25 @@
+package com.taskflowpro.reportservice.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request for user summary PDFs of many users at once (e.g. the monthly summaries of a workspace)
+ * Every summary is rendered from the same pre-rendered skeleton and returned in one ZIP
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryBulkRequest {
+    
+    @Valid
+    @NotEmpty(message = "At least one user summary is required")
+    @Size(max = 5000, message = "At most 5000 user summaries per request")
+    private List<UserSummaryReportRequest> summaries;  // Same structure as the /user-summary/pdf body
+}
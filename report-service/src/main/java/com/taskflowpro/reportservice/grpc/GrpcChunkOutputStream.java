@@ -0,0 +1,173 @@
+package com.taskflowpro.reportservice.grpc;
+
+import com.google.protobuf.ByteString;
+import io.grpc.stub.ServerCallStreamObserver;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OutputStream that sends rendered bytes to a gRPC client as FileChunk messages
+ *
+ * Bytes are collected into fixed-size chunks and handed to the call's stream thread, which waits
+ * until the call is ready (the client and transport have window space) before sending each one.
+ * At most sendBufferChunks chunks wait to be sent, so a slow client slows the renderer down
+ * instead of making us buffer the whole file.
+ * Must only be written from one render task at a time; sendWhile() runs on the stream thread and
+ * onReady()/cancel() come from gRPC callbacks.
+ */
+class GrpcChunkOutputStream extends OutputStream {
+
+    private final ServerCallStreamObserver<FileChunk> call;
+    private final byte[] buffer;
+    private int count = 0;
+
+    // Chunks rendered but not sent yet
+    private final BlockingQueue<FileChunk> outbox;
+
+    private final Object readyLock = new Object();
+    private volatile boolean cancelled = false;
+
+    GrpcChunkOutputStream(ServerCallStreamObserver<FileChunk> call, int chunkSize, int sendBufferChunks) {
+        this.call = call;
+        this.buffer = new byte[chunkSize];
+        this.outbox = new ArrayBlockingQueue<>(Math.max(1, sendBufferChunks));
+    }
+
+    /**
+     * Sends the file name and type (first message of every response)
+     */
+    void sendInfo(String filename, String contentType) throws IOException {
+        send(FileChunk.newBuilder()
+            .setInfo(FileInfo.newBuilder().setFilename(filename).setContentType(contentType))
+            .build());
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            sendBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (count == buffer.length) {
+                sendBuffer();
+            }
+            int copied = Math.min(length, buffer.length - count);
+            System.arraycopy(bytes, offset, buffer, count, copied);
+            count += copied;
+            offset += copied;
+            length -= copied;
+        }
+    }
+
+    /**
+     * Flush is ignored: renderers flush often and tiny messages would waste the transport;
+     * data is sent whenever a full chunk is ready and on close()
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Sends whatever is left in the buffer
+     */
+    @Override
+    public void close() throws IOException {
+        if (count > 0) {
+            sendBuffer();
+        }
+    }
+
+    /**
+     * Called by gRPC when the client can accept more messages
+     */
+    void onReady() {
+        synchronized (readyLock) {
+            readyLock.notifyAll();
+        }
+    }
+
+    /**
+     * Called by gRPC when the client cancelled the call; pending and future writes fail
+     */
+    void cancel() {
+        cancelled = true;
+        onReady();
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Sends the chunks of a render task as they are handed over, until the task is done and
+     * nothing is left to send (runs on the call's stream thread)
+     */
+    void sendWhile(Future<?> render) throws IOException {
+        try {
+            while (true) {
+                FileChunk chunk = outbox.poll(50, TimeUnit.MILLISECONDS);
+                if (chunk != null) {
+                    sendWhenReady(chunk);
+                } else if (render.isDone() && outbox.isEmpty()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while sending the report stream");
+        }
+    }
+
+    private void sendBuffer() throws IOException {
+        send(FileChunk.newBuilder().setData(ByteString.copyFrom(buffer, 0, count)).build());
+        count = 0;
+    }
+
+    /**
+     * Hands a chunk to the stream thread, waiting only while the send buffer is full
+     */
+    private void send(FileChunk chunk) throws IOException {
+        try {
+            while (!outbox.offer(chunk, 1000, TimeUnit.MILLISECONDS)) {
+                if (cancelled) {
+                    throw new IOException("Client cancelled the report stream");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the client");
+        }
+    }
+
+    private void sendWhenReady(FileChunk chunk) throws IOException {
+        synchronized (readyLock) {
+            while (!call.isReady()) {
+                if (cancelled) {
+                    throw new IOException("Client cancelled the report stream");
+                }
+                try {
+                    // Timed wait guards against a missed onReady notification
+                    readyLock.wait(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the client");
+                }
+            }
+        }
+        if (cancelled) {
+            throw new IOException("Client cancelled the report stream");
+        }
+        call.onNext(chunk);
+    }
+}
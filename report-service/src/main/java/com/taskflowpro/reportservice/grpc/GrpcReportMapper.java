@@ -0,0 +1,74 @@
+package com.taskflowpro.reportservice.grpc;
+
+import com.taskflowpro.reportservice.dto.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts gRPC messages to the DTOs used by the report services
+ * Proto3 uses "" for unset strings; optional fields are mapped back to null
+ */
+final class GrpcReportMapper {
+
+    private GrpcReportMapper() {
+    }
+
+    /**
+     * Report metadata without tasks (tasks arrive separately in batches)
+     */
+    static ReportRequest toReportRequest(ReportHeader header) {
+        FilterDTO filters = null;
+        if (header.hasFilters()) {
+            Filter filter = header.getFilters();
+            filters = new FilterDTO(
+                emptyToNull(filter.getDateFrom()),
+                emptyToNull(filter.getDateTo()),
+                filter.getPriorityCount() > 0 ? new ArrayList<>(filter.getPriorityList()) : null,
+                filter.getStatusCount() > 0 ? new ArrayList<>(filter.getStatusList()) : null);
+        }
+        return new ReportRequest(
+            emptyToNull(header.getTitle()),
+            emptyToNull(header.getGeneratedAt()),
+            emptyToNull(header.getGeneratedBy()),
+            filters,
+            new ArrayList<>());
+    }
+
+    /**
+     * User summary metadata without recent tasks
+     */
+    static UserSummaryReportRequest toUserSummaryRequest(UserSummaryHeader header) {
+        UserDTO user = header.hasUser()
+            ? new UserDTO(emptyToNull(header.getUser().getName()), emptyToNull(header.getUser().getEmail()))
+            : null;
+        UserStatsDTO stats = header.hasStats()
+            ? new UserStatsDTO(header.getStats().getAssigned(), header.getStats().getCompleted(),
+                header.getStats().getPending(), header.getStats().getInProgress())
+            : null;
+        return new UserSummaryReportRequest(emptyToNull(header.getGeneratedAt()), user, stats, new ArrayList<>());
+    }
+
+    static TaskDTO toTask(Task task) {
+        List<AssigneeDTO> assignees = new ArrayList<>(task.getAssigneesCount());
+        for (Assignee assignee : task.getAssigneesList()) {
+            assignees.add(new AssigneeDTO(
+                emptyToNull(assignee.getName()),
+                emptyToNull(assignee.getEmail()),
+                emptyToNull(assignee.getStatus()),
+                assignee.hasProgress() ? assignee.getProgress() : null));
+        }
+        return new TaskDTO(
+            emptyToNull(task.getTitle()),
+            emptyToNull(task.getDescription()),
+            emptyToNull(task.getPriority()),
+            emptyToNull(task.getStatus()),
+            emptyToNull(task.getCreatedAt()),
+            emptyToNull(task.getDueDate()),
+            assignees);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,80 @@
+package com.taskflowpro.reportservice.grpc;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the gRPC server next to the HTTP server and stops it on shutdown
+ * (plaintext, like the HTTP API - only the Node backend on the internal network calls it)
+ */
+@Component
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+    @Autowired
+    private ReportStreamGrpcService reportStreamGrpcService;
+
+    @Value("${report.grpc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.grpc.port:9085}")
+    private int port;
+
+    @Value("${report.grpc.shutdown-grace-seconds:30}")
+    private long shutdownGraceSeconds;
+
+    private Server server;
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("gRPC report server disabled");
+            return;
+        }
+        try {
+            server = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                .addService(reportStreamGrpcService)
+                .build()
+                .start();
+            logger.info("gRPC report server listening on port {}", port);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        // Let streams in progress finish, then cut off whatever is left
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        logger.info("gRPC report server stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
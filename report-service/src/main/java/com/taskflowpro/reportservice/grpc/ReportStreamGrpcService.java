@@ -0,0 +1,346 @@
+package com.taskflowpro.reportservice.grpc;
+
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.ReportViews;
+import com.taskflowpro.reportservice.dto.TaskDTO;
+import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+import com.taskflowpro.reportservice.service.StreamingTaskReport;
+import com.taskflowpro.reportservice.service.TaskExcelService;
+import com.taskflowpro.reportservice.service.TaskPdfService;
+import com.taskflowpro.reportservice.service.UserSummaryPdfService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC implementation of the report endpoints with streaming in both directions
+ *
+ * Threads: each call has a message loop on the stream pool, which waits for client messages and
+ * for the client to be ready for the next chunk. Only rendering a message (CPU work) is handed to
+ * the render pool, so slow or idle clients never hold render threads.
+ *
+ * Flow control:
+ *   - inbound: automatic requests are disabled; the next client message is only requested
+ *     after the previous one has been rendered
+ *   - outbound: the stream thread waits for the call to be ready before each file chunk, and the
+ *     renderer waits once report.grpc.send-buffer-chunks chunks are waiting to be sent
+ * Task reports are rendered incrementally, so memory use stays flat no matter how many tasks stream through.
+ */
+@Component
+public class ReportStreamGrpcService extends ReportStreamServiceGrpc.ReportStreamServiceImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportStreamGrpcService.class);
+
+    // Client messages requested ahead of the renderer
+    private static final int PREFETCH_MESSAGES = 2;
+
+    // Markers placed in the inbound queue by gRPC callbacks
+    private static final Object END_OF_STREAM = new Object();
+    private static final Object ABORTED = new Object();
+
+    @Autowired
+    private TaskPdfService taskPdfService;
+
+    @Autowired
+    private TaskExcelService taskExcelService;
+
+    @Autowired
+    private UserSummaryPdfService userSummaryPdfService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    @Qualifier("reportRenderExecutor")
+    private ExecutorService renderExecutor;
+
+    @Autowired
+    @Qualifier("reportStreamExecutor")
+    private ExecutorService streamExecutor;
+
+    @Value("${report.grpc.chunk-size:65536}")
+    private int chunkSize;
+
+    @Value("${report.grpc.send-buffer-chunks:4}")
+    private int sendBufferChunks;
+
+    /**
+     * Consumes the messages of one call; onMessage and onEnd run on the render pool, one at a time
+     */
+    private interface CallHandler<C> {
+        void onMessage(C message, GrpcChunkOutputStream output) throws Exception;
+
+        void onEnd(GrpcChunkOutputStream output) throws Exception;
+
+        void onAbort();
+    }
+
+    @Override
+    public StreamObserver<TaskReportChunk> generateTaskPdf(StreamObserver<FileChunk> responseObserver) {
+        return startCall(responseObserver, new TaskReportHandler("pdf", "application/pdf"));
+    }
+
+    @Override
+    public StreamObserver<TaskReportChunk> generateTaskExcel(StreamObserver<FileChunk> responseObserver) {
+        return startCall(responseObserver, new TaskReportHandler("xlsx",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+    }
+
+    @Override
+    public StreamObserver<UserSummaryChunk> generateUserSummaryPdf(StreamObserver<FileChunk> responseObserver) {
+        return startCall(responseObserver, new UserSummaryHandler());
+    }
+
+    /**
+     * Step of a call that runs on the render pool
+     */
+    private interface RenderStep {
+        void run() throws Exception;
+    }
+
+    /**
+     * Sets up flow control for a call and starts its message loop on the stream pool
+     */
+    @SuppressWarnings("unchecked")
+    private <C> StreamObserver<C> startCall(StreamObserver<FileChunk> responseObserver, CallHandler<C> handler) {
+        ServerCallStreamObserver<FileChunk> call = (ServerCallStreamObserver<FileChunk>) responseObserver;
+        call.disableAutoRequest();
+
+        GrpcChunkOutputStream output = new GrpcChunkOutputStream(call, chunkSize, sendBufferChunks);
+        // Never holds more than PREFETCH_MESSAGES messages plus one marker, because of manual requests
+        BlockingQueue<Object> inbox = new LinkedBlockingQueue<>();
+
+        call.setOnReadyHandler(output::onReady);
+        call.setOnCancelHandler(() -> {
+            output.cancel();
+            inbox.add(ABORTED);
+        });
+
+        streamExecutor.execute(() -> {
+            try {
+                while (true) {
+                    Object item = inbox.take();
+                    if (item == ABORTED) {
+                        logger.warn("Report stream aborted by the client");
+                        handler.onAbort();
+                        return;
+                    }
+                    if (item == END_OF_STREAM) {
+                        render(output, () -> {
+                            handler.onEnd(output);
+                            output.close();
+                        });
+                        call.onCompleted();
+                        return;
+                    }
+                    C message = (C) item;
+                    render(output, () -> handler.onMessage(message, output));
+                    call.request(1);
+                }
+            } catch (IllegalArgumentException e) {
+                handler.onAbort();
+                logger.warn("Invalid report stream: {}", e.getMessage());
+                call.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            } catch (Exception e) {
+                handler.onAbort();
+                if (!output.isCancelled()) {
+                    logger.error("Error generating streamed report", e);
+                    call.onError(Status.INTERNAL.withDescription("Report generation failed").withCause(e).asRuntimeException());
+                }
+            }
+        });
+
+        call.request(PREFETCH_MESSAGES);
+
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(C message) {
+                inbox.add(message);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                inbox.add(ABORTED);
+            }
+
+            @Override
+            public void onCompleted() {
+                inbox.add(END_OF_STREAM);
+            }
+        };
+    }
+
+    /**
+     * Runs one step on the render pool while this (stream) thread sends what it writes.
+     * Returns only once the step has stopped, so the handler is never used by two threads at once.
+     */
+    private void render(GrpcChunkOutputStream output, RenderStep step) throws Exception {
+        Future<?> render = renderExecutor.submit(() -> {
+            step.run();
+            return null;
+        });
+        try {
+            output.sendWhile(render);
+        } catch (Exception e) {
+            // The client is gone: fail the renderer's pending writes and wait for it to stop
+            output.cancel();
+            try {
+                render.get();
+            } catch (ExecutionException ignored) {
+                // The send failure is the one reported
+            }
+            throw e;
+        }
+        try {
+            render.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Task PDF/Excel: header first, then task batches rendered straight into the output
+     */
+    private class TaskReportHandler implements CallHandler<TaskReportChunk> {
+
+        private final String extension;
+        private final String contentType;
+        private StreamingTaskReport report;
+        private long taskCount = 0;
+
+        TaskReportHandler(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public void onMessage(TaskReportChunk message, GrpcChunkOutputStream output) throws Exception {
+            if (message.hasHeader()) {
+                if (report != null) {
+                    throw new IllegalArgumentException("Report header sent twice");
+                }
+                ReportRequest header = GrpcReportMapper.toReportRequest(message.getHeader());
+                validate(header);
+                logger.info("Received gRPC request to generate streamed task {} report", extension);
+
+                output.sendInfo("tasks-report-" + getCurrentTimestamp() + "." + extension, contentType);
+                report = "pdf".equals(extension)
+                    ? taskPdfService.openTaskReportStream(header, output)
+                    : taskExcelService.openTaskReportStream(header, output);
+                return;
+            }
+            if (report == null) {
+                throw new IllegalArgumentException("First message must be the report header");
+            }
+            for (Task task : message.getTasks().getTasksList()) {
+                TaskDTO dto = GrpcReportMapper.toTask(task);
+                validate(dto);
+                report.addTask(dto);
+                taskCount++;
+            }
+        }
+
+        @Override
+        public void onEnd(GrpcChunkOutputStream output) throws Exception {
+            if (report == null) {
+                throw new IllegalArgumentException("Stream ended without a report header");
+            }
+            try {
+                report.finish();
+            } finally {
+                report.close();
+            }
+            logger.info("Streamed task {} report generated successfully ({} tasks)", extension, taskCount);
+        }
+
+        @Override
+        public void onAbort() {
+            if (report != null) {
+                report.close();
+            }
+        }
+    }
+
+    /**
+     * User summary: recent tasks are a short list, so they are collected and rendered at the end
+     */
+    private class UserSummaryHandler implements CallHandler<UserSummaryChunk> {
+
+        private UserSummaryReportRequest request;
+
+        @Override
+        public void onMessage(UserSummaryChunk message, GrpcChunkOutputStream output) {
+            if (message.hasHeader()) {
+                if (request != null) {
+                    throw new IllegalArgumentException("User summary header sent twice");
+                }
+                request = GrpcReportMapper.toUserSummaryRequest(message.getHeader());
+                validate(request);
+                return;
+            }
+            if (request == null) {
+                throw new IllegalArgumentException("First message must be the user summary header");
+            }
+            for (Task task : message.getRecentTasks().getTasksList()) {
+                TaskDTO dto = GrpcReportMapper.toTask(task);
+                validate(dto);
+                request.getRecentTasks().add(dto);
+            }
+        }
+
+        @Override
+        public void onEnd(GrpcChunkOutputStream output) throws Exception {
+            if (request == null) {
+                throw new IllegalArgumentException("Stream ended without a user summary header");
+            }
+            logger.info("Received gRPC request to generate user summary PDF for {}", request.getUser().getName());
+            byte[] pdfBytes = userSummaryPdfService.generateUserSummaryPdf(request);
+
+            String sanitizedName = request.getUser().getName().replaceAll("[^a-zA-Z0-9]", "-");
+            output.sendInfo("user-summary-" + sanitizedName + "-" + getCurrentTimestamp() + ".pdf", "application/pdf");
+            output.write(pdfBytes);
+        }
+
+        @Override
+        public void onAbort() {
+            request = null;
+        }
+    }
+
+    /**
+     * Runs the same bean validation as the full-payload REST endpoints (all fields, including assignee details)
+     */
+    private void validate(Object dto) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(dto, ReportViews.Full.class);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private String getCurrentTimestamp() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+}
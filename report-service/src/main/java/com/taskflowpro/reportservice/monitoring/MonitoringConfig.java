@@ -0,0 +1,24 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the monitoring interceptors for the report endpoints
+ */
+@Configuration
+public class MonitoringConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ReportPhaseInterceptor reportPhaseInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Health probes are not reports (and come every few seconds)
+        registry.addInterceptor(reportPhaseInterceptor)
+            .addPathPatterns("/api/report/**")
+            .excludePathPatterns("/api/report/health");
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Adds up the heap a render allocates on every thread it uses (the memory figure of the cost model)
+ *
+ * ReportLoadMonitor.track() opens a counter on the rendering thread. Work the render hands to another
+ * pool (bundle formats, filter variants, bulk user summaries, Excel sheets) is wrapped with
+ * propagate(), which adds what that thread allocated while running it. The total is allocation, not
+ * memory in use: it tells how much garbage a render makes, and a streaming render allocates far
+ * more over its run than it holds at any moment.
+ */
+public final class RenderAllocations {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Allocation total of the render running on this thread (null outside a tracked render)
+    private static final ThreadLocal<AtomicLong> CURRENT = new ThreadLocal<>();
+
+    private RenderAllocations() {
+    }
+
+    /**
+     * Runs a render on this thread and returns what it allocated here and in propagated work
+     *
+     * @param allocated receives the total in bytes (-1 if the JVM does not count allocations)
+     */
+    static <T> T measure(Callable<T> render, long[] allocated) throws Exception {
+        AtomicLong previous = CURRENT.get();
+        AtomicLong total = new AtomicLong();
+        CURRENT.set(total);
+        long before = threadAllocatedBytes();
+        try {
+            T result = render.call();
+            allocated[0] = before >= 0 ? total.addAndGet(threadAllocatedBytes() - before) : -1;
+            return result;
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Wraps work handed to another thread so its allocations count towards this thread's render
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        AtomicLong total = CURRENT.get();
+        if (total == null) {
+            return work;
+        }
+        return () -> {
+            long before = threadAllocatedBytes();
+            try {
+                return work.get();
+            } finally {
+                if (before >= 0) {
+                    total.addAndGet(threadAllocatedBytes() - before);
+                }
+            }
+        };
+    }
+
+    /**
+     * Same as propagate(Supplier) for work submitted as a Callable
+     */
+    public static <T> Callable<T> propagateCallable(Callable<T> work) {
+        AtomicLong total = CURRENT.get();
+        if (total == null) {
+            return work;
+        }
+        return () -> {
+            long before = threadAllocatedBytes();
+            try {
+                return work.call();
+            } finally {
+                if (before >= 0) {
+                    total.addAndGet(threadAllocatedBytes() - before);
+                }
+            }
+        };
+    }
+
+    /**
+     * Bytes allocated by the current thread so far (-1 if the JVM does not count them)
+     */
+    private static long threadAllocatedBytes() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled()
+            ? THREADS.getCurrentThreadAllocatedBytes()
+            : -1;
+    }
+}
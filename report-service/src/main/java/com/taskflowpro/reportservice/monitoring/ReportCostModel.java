@@ -0,0 +1,198 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import com.taskflowpro.reportservice.dto.ReportEstimate;
+import com.taskflowpro.reportservice.service.RenderMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Predicts pages, output size, allocated bytes and render time of a report from its task count and text length
+ *
+ * Every render that goes through {@link ReportLoadMonitor#track} is recorded here. Per report type
+ * (with and without the compression/sheet qualifier) a small linear model is fitted to those samples
+ * (degraded renders only go into the model of their exact type, never into the base type's):
+ *
+ *   value = a + b * (tasks / 100) + c * (text length / 10,000)
+ *
+ * Old samples fade out (decay), so the model follows changes in hardware, load and code. The fit is
+ * pulled towards built-in defaults with the weight of about one sample, which keeps it sensible
+ * before the first renders and when all samples have nearly the same size.
+ */
+@Component
+public class ReportCostModel {
+
+    // Targets
+    private static final int PAGES = 0;
+    private static final int OUTPUT_BYTES = 1;
+    private static final int ALLOCATED_BYTES = 2;
+    private static final int MILLIS = 3;
+    private static final int TARGETS = 4;
+
+    // Features: constant, hundreds of tasks, ten thousands of characters
+    private static final int FEATURES = 3;
+    private static final double TASK_SCALE = 100.0;
+    private static final double TEXT_SCALE = 10_000.0;
+
+    private static final double PRIOR_WEIGHT = 1.0;
+
+    // Rough defaults per base type until renders are recorded: {constant, per 100 tasks, per 10,000 characters}
+    private static final Map<String, double[][]> DEFAULTS = Map.of(
+        "tasks-pdf", new double[][] {
+            {1, 5, 2}, {4_000, 60_000, 8_000}, {4e6, 8e6, 2e6}, {60, 150, 40}},
+        "tasks-excel", new double[][] {
+            {0, 0, 0}, {7_000, 15_000, 6_000}, {12e6, 10e6, 3e6}, {150, 120, 30}},
+        "user-summary-pdf", new double[][] {
+            {2, 3, 1}, {30_000, 40_000, 6_000}, {6e6, 6e6, 2e6}, {100, 100, 30}});
+    private static final double[][] GENERIC_DEFAULTS = {
+        {1, 5, 2}, {10_000, 60_000, 8_000}, {8e6, 10e6, 3e6}, {150, 200, 50}};
+
+    @Value("${report.estimate.min-samples:10}")
+    private int minSamples;
+
+    // Weight kept by the older samples on each new one (0.98: roughly the last 50 renders count)
+    @Value("${report.estimate.decay:0.98}")
+    private double decay;
+
+    // Renders expected to take longer than this are better sent as queued jobs
+    @Value("${report.estimate.async-threshold-ms:10000}")
+    private long asyncThresholdMs;
+
+    private final Map<String, Fit> fits = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a finished render to the model of its type
+     *
+     * @param pages page count, 0 for formats without pages
+     */
+    public void record(String type, ReportPayloadStats payload, int pages, long outputBytes,
+                       long allocatedBytes, long millis) {
+        double[] x = features(payload);
+        double[] y = {pages, outputBytes, allocatedBytes, millis};
+        fit(type).add(x, y, decay);
+        String baseType = baseType(type);
+        // Degraded renders are plainer and faster than the full report, so they only train their own
+        // model; otherwise a period of overload would drag the base estimates (and thus the deadline
+        // check that decides to degrade) down
+        if (!baseType.equals(type) && !type.endsWith(RenderMode.DEGRADED.typeSuffix())) {
+            fit(baseType).add(x, y, decay);
+        }
+    }
+
+    /**
+     * Estimates a render of the given type
+     *
+     * Uses the model of the exact type once it has enough samples, otherwise the one of the base type
+     * (e.g. "tasks-pdf" for "tasks-pdf:SMALL").
+     */
+    public ReportEstimate estimate(String type, ReportPayloadStats payload) {
+        Fit chosen = fits.get(type);
+        if (chosen == null || chosen.samples < minSamples) {
+            chosen = fits.get(baseType(type));
+        }
+        double[][] defaults = DEFAULTS.getOrDefault(baseType(type), GENERIC_DEFAULTS);
+        double[][] coefficients = chosen != null ? chosen.solve(defaults) : defaults;
+        int samples = chosen != null ? chosen.samples : 0;
+
+        double[] x = features(payload);
+        boolean paged = defaults[PAGES][0] > 0;
+        long millis = Math.max(1, Math.round(predict(coefficients[MILLIS], x)));
+        return new ReportEstimate(
+            type,
+            payload.getTaskCount(),
+            payload.getTextLength(),
+            paged ? (int) Math.max(1, Math.round(predict(coefficients[PAGES], x))) : null,
+            Math.max(0, Math.round(predict(coefficients[OUTPUT_BYTES], x))),
+            Math.max(0, Math.round(predict(coefficients[ALLOCATED_BYTES], x))),
+            millis,
+            samples,
+            samples >= minSamples,
+            millis > asyncThresholdMs ? "async" : "sync");
+    }
+
+    private Fit fit(String type) {
+        return fits.computeIfAbsent(type, key -> new Fit());
+    }
+
+    private static double[] features(ReportPayloadStats payload) {
+        return new double[] {1.0, payload.getTaskCount() / TASK_SCALE, payload.getTextLength() / TEXT_SCALE};
+    }
+
+    private static double predict(double[] coefficients, double[] x) {
+        double value = 0;
+        for (int i = 0; i < FEATURES; i++) {
+            value += coefficients[i] * x[i];
+        }
+        return value;
+    }
+
+    private static String baseType(String type) {
+        int qualifier = type.indexOf(':');
+        return qualifier >= 0 ? type.substring(0, qualifier) : type;
+    }
+
+    /**
+     * Decayed sums of one report type's samples (enough to solve the least squares fit at any time)
+     */
+    private static final class Fit {
+
+        private final double[][] xtx = new double[FEATURES][FEATURES];
+        private final double[][] xty = new double[TARGETS][FEATURES];
+        private int samples;
+
+        synchronized void add(double[] x, double[] y, double decay) {
+            for (int i = 0; i < FEATURES; i++) {
+                for (int j = 0; j < FEATURES; j++) {
+                    xtx[i][j] = xtx[i][j] * decay + x[i] * x[j];
+                }
+                for (int t = 0; t < TARGETS; t++) {
+                    xty[t][i] = xty[t][i] * decay + x[i] * y[t];
+                }
+            }
+            samples++;
+        }
+
+        /**
+         * Least squares coefficients per target, pulled towards the defaults (ridge regression)
+         */
+        synchronized double[][] solve(double[][] defaults) {
+            double[][] coefficients = new double[TARGETS][];
+            for (int t = 0; t < TARGETS; t++) {
+                double[][] a = new double[FEATURES][FEATURES + 1];
+                for (int i = 0; i < FEATURES; i++) {
+                    System.arraycopy(xtx[i], 0, a[i], 0, FEATURES);
+                    a[i][i] += PRIOR_WEIGHT;
+                    a[i][FEATURES] = xty[t][i] + PRIOR_WEIGHT * defaults[t][i];
+                }
+                coefficients[t] = gaussianElimination(a);
+            }
+            return coefficients;
+        }
+
+        /**
+         * Solves the augmented system in place (symmetric positive definite, so no pivoting needed)
+         */
+        private static double[] gaussianElimination(double[][] a) {
+            int n = a.length;
+            for (int col = 0; col < n; col++) {
+                for (int row = col + 1; row < n; row++) {
+                    double factor = a[row][col] / a[col][col];
+                    for (int k = col; k <= n; k++) {
+                        a[row][k] -= factor * a[col][k];
+                    }
+                }
+            }
+            double[] solution = new double[n];
+            for (int row = n - 1; row >= 0; row--) {
+                double sum = a[row][n];
+                for (int k = row + 1; k < n; k++) {
+                    sum -= a[row][k] * solution[k];
+                }
+                solution[row] = sum / a[row][row];
+            }
+            return solution;
+        }
+    }
+}
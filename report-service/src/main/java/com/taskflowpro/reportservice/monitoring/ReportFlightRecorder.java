@@ -0,0 +1,168 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps a continuous low-overhead flight recording and dumps recent history to disk
+ *
+ * The recording uses the JDK "default" settings (designed for always-on production use, ~1% overhead)
+ * plus our {@link ReportPhaseEvent}s. When a report takes longer than the configured threshold,
+ * the last few minutes are dumped automatically so slow reports can be correlated with GC,
+ * lock contention and I/O without attaching a profiler.
+ */
+@Component
+public class ReportFlightRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportFlightRecorder.class);
+
+    @Value("${report.jfr.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.jfr.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    @Value("${report.jfr.dump-dir:./jfr-dumps}")
+    private String dumpDir;
+
+    @Value("${report.jfr.slow-report-threshold-ms:20000}")
+    private long slowReportThresholdMs;
+
+    @Value("${report.jfr.auto-dump-minutes:5}")
+    private long autoDumpMinutes;
+
+    @Value("${report.jfr.auto-dump-cooldown-minutes:10}")
+    private long autoDumpCooldownMinutes;
+
+    private Recording recording;
+
+    // Time of the last automatic dump, so a burst of slow reports produces one file
+    private final AtomicLong lastAutoDumpMillis = new AtomicLong();
+
+    // One dump at a time: each one copies the whole recording to disk first
+    private final ReentrantLock dumpLock = new ReentrantLock();
+
+    /**
+     * Starts the continuous recording
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled || !FlightRecorder.isAvailable()) {
+            logger.info("Flight recorder disabled or not available");
+            return;
+        }
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("taskflowpro-report-service");
+            recording.enable(ReportPhaseEvent.class);
+            recording.setToDisk(true);
+            recording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+            recording.start();
+            logger.info("Continuous flight recording started (keeping last {} minutes)", maxAgeMinutes);
+        } catch (Exception e) {
+            logger.error("Could not start flight recording", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Called when a report request finishes; dumps recent history if it was too slow
+     */
+    public void onReportCompleted(String endpoint, long elapsedMillis) {
+        if (recording == null || elapsedMillis < slowReportThresholdMs) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long last = lastAutoDumpMillis.get();
+        if (now - last < Duration.ofMinutes(autoDumpCooldownMinutes).toMillis()
+                || !lastAutoDumpMillis.compareAndSet(last, now)) {
+            return;
+        }
+        logger.warn("Report {} took {} ms (threshold {} ms) - dumping flight recording",
+            endpoint, elapsedMillis, slowReportThresholdMs);
+
+        // Dump on a separate thread so the slow request is not made even slower
+        Thread dumper = new Thread(() -> {
+            try {
+                dump(autoDumpMinutes);
+            } catch (Exception e) {
+                logger.error("Automatic flight recording dump failed", e);
+            }
+        }, "jfr-dump");
+        dumper.setDaemon(true);
+        dumper.start();
+    }
+
+    /**
+     * Writes the last N minutes of the continuous recording to a file in the dump directory
+     *
+     * @param minutes how much history to keep in the dump (1 to report.jfr.max-age-minutes)
+     * @return path of the written .jfr file
+     * @throws IllegalArgumentException if minutes is out of range
+     * @throws IllegalStateException if the recording is not running or another dump is in progress
+     */
+    public Path dump(long minutes) throws IOException {
+        if (minutes < 1 || minutes > maxAgeMinutes) {
+            throw new IllegalArgumentException("minutes must be between 1 and " + maxAgeMinutes);
+        }
+        if (recording == null) {
+            throw new IllegalStateException("Flight recording is not running");
+        }
+        if (!dumpLock.tryLock()) {
+            throw new IllegalStateException("Another flight recording dump is in progress");
+        }
+        try {
+            return writeDump(minutes);
+        } finally {
+            dumpLock.unlock();
+        }
+    }
+
+    private Path writeDump(long minutes) throws IOException {
+        Path directory = Files.createDirectories(Paths.get(dumpDir).toAbsolutePath());
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path target = directory.resolve("report-service-" + timestamp + ".jfr");
+        Path snapshotFile = Files.createTempFile(directory, "snapshot-", ".jfr");
+
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(minutes));
+        try {
+            try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+                snapshot.dump(snapshotFile);
+            }
+            // Keep only events from the requested window
+            try (RecordingFile recordingFile = new RecordingFile(snapshotFile)) {
+                recordingFile.write(target, event -> !event.getEndTime().isBefore(cutoff));
+            }
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+        }
+
+        logger.info("Flight recording of the last {} minutes written to {}", minutes, target);
+        return target;
+    }
+}
@@ -0,0 +1,241 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import com.taskflowpro.reportservice.dto.ReportLoadStatus;
+import com.taskflowpro.reportservice.service.ReportBuffer;
+import com.taskflowpro.reportservice.service.ReportCancelledException;
+import com.taskflowpro.reportservice.service.ReportJobQueue;
+import com.taskflowpro.reportservice.service.ReportJobWorker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of how busy this instance is, for the load-reporting health endpoint
+ *
+ * Renders are counted while they run (by report type) and timed into a Micrometer timer whose
+ * percentiles only cover about the last minute. Everything else is read from counters the JVM
+ * already keeps, so building a status is cheap enough for a load balancer probing every second.
+ * The one expensive number - pending jobs, which needs a directory listing - is sampled on a schedule.
+ * Finished renders are also handed to the {@link ReportCostModel} that answers the dry-run estimates.
+ *
+ * Renders stopped because their caller gave up (see ReportCancellation) are counted as wasted work:
+ *   - report.render.cancelled  renders stopped, tagged by type and reason (deadline | disconnect)
+ *   - report.render.wasted     time those renders ran before stopping
+ */
+@Component
+public class ReportLoadMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportLoadMonitor.class);
+
+    private static final double PERCENTILE = 0.95;
+    private static final long MB = 1024 * 1024;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("reportRenderExecutor")
+    private ExecutorService renderExecutor;
+
+    @Autowired
+    private ReportJobQueue jobQueue;
+
+    @Autowired
+    private ReportJobWorker jobWorker;
+
+    @Autowired
+    private ReportCostModel costModel;
+
+    // Renders running right now, by report type
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .toList();
+
+    private final com.sun.management.OperatingSystemMXBean os =
+        (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private Timer renderTimer;
+    private volatile int jobsPending;
+
+    @PostConstruct
+    public void init() {
+        // Percentiles over a sliding window of ~1 minute (3 rotating buffers of 20 s)
+        renderTimer = Timer.builder("report.render.duration")
+            .description("Time spent rendering reports for direct requests")
+            .publishPercentiles(PERCENTILE)
+            .distributionStatisticExpiry(Duration.ofMinutes(1))
+            .distributionStatisticBufferLength(3)
+            .register(meterRegistry);
+        meterRegistry.gauge("report.render.in.flight", inFlight, this::total);
+    }
+
+    /**
+     * Runs a render, counting it as in flight and timing it
+     *
+     * Successful renders of task and user summary reports are also recorded in the cost model
+     * (task count, text length, pages, output size, bytes allocated on all threads of the render
+     * - see RenderAllocations, time).
+     *
+     * @param type report type; anything after ':' (e.g. the compression profile) is ignored here
+     * @param request the request being rendered (only measured, never changed)
+     */
+    public <T> T track(String type, Object request, Callable<T> render) throws Exception {
+        int qualifier = type.indexOf(':');
+        String baseType = qualifier >= 0 ? type.substring(0, qualifier) : type;
+        AtomicInteger running = inFlight.computeIfAbsent(baseType, key -> new AtomicInteger());
+
+        running.incrementAndGet();
+        ReportPhases.setPageCount(0);
+        long started = System.nanoTime();
+        try {
+            long[] allocated = new long[1];
+            T result = RenderAllocations.measure(render, allocated);
+            recordCost(type, request, result, System.nanoTime() - started, allocated[0]);
+            return result;
+        } catch (ReportCancelledException e) {
+            long wasted = System.nanoTime() - started;
+            meterRegistry.counter("report.render.cancelled", "type", baseType, "reason", e.getReason()).increment();
+            meterRegistry.timer("report.render.wasted", "type", baseType, "reason", e.getReason())
+                .record(wasted, TimeUnit.NANOSECONDS);
+            logger.info("Stopped {} render after {} ms ({})", type, TimeUnit.NANOSECONDS.toMillis(wasted), e.getReason());
+            throw e;
+        } finally {
+            running.decrementAndGet();
+            renderTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Current load of this instance (no logging - called on every load balancer probe)
+     */
+    public ReportLoadStatus getStatus() {
+        Map<String, Integer> running = new TreeMap<>();
+        inFlight.forEach((type, count) -> {
+            if (count.get() > 0) {
+                running.put(type, count.get());
+            }
+        });
+        int inFlightTotal = running.values().stream().mapToInt(Integer::intValue).sum();
+
+        int queueDepth = 0;
+        int renderThreads = Runtime.getRuntime().availableProcessors();
+        if (renderExecutor instanceof ThreadPoolExecutor pool) {
+            queueDepth = pool.getQueue().size();
+            renderThreads = pool.getMaximumPoolSize();
+        }
+
+        long heapMax = Runtime.getRuntime().maxMemory();
+        long heapAfterGc = heapUsedAfterGc();
+        double headroomPercent = heapMax > 0 ? 100.0 * (heapMax - heapAfterGc) / heapMax : 100.0;
+
+        double processCpu = os.getProcessCpuLoad();
+        double systemCpu = os.getCpuLoad();
+
+        // The busiest resource decides: render slots, CPU or heap
+        // Only this process's CPU counts: other tenants on the host must not make it degrade or shed load
+        double renderPressure = Math.min(1.0, (double) (inFlightTotal + queueDepth) / Math.max(1, renderThreads));
+        double cpuPressure = Math.max(0.0, processCpu);
+        double heapPressure = 1.0 - headroomPercent / 100.0;
+        double loadFactor = Math.max(renderPressure, Math.max(cpuPressure, heapPressure));
+
+        return new ReportLoadStatus(
+            "UP",
+            running,
+            inFlightTotal,
+            queueDepth,
+            renderThreads,
+            jobsPending,
+            jobWorker.getActiveJobCount(),
+            p95LatencyMs(),
+            heapAfterGc / MB,
+            heapMax / MB,
+            round(headroomPercent),
+            round(processCpu),
+            round(systemCpu),
+            round(Math.min(1.0, loadFactor)));
+    }
+
+    /**
+     * Refreshes the pending job count (a directory listing, so not done per probe)
+     */
+    @Scheduled(fixedDelayString = "${report.load.sample-interval-ms:5000}")
+    public void sampleJobQueue() {
+        try {
+            jobsPending = jobQueue.countPending();
+        } catch (Exception e) {
+            logger.debug("Could not count pending report jobs", e);
+        }
+    }
+
+    private Double p95LatencyMs() {
+        for (ValueAtPercentile value : renderTimer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == PERCENTILE) {
+                double millis = value.value(TimeUnit.MILLISECONDS);
+                return Double.isNaN(millis) || renderTimer.count() == 0 ? null : round(millis);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Heap in use right after the most recent collection of each heap pool
+     */
+    private long heapUsedAfterGc() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            if (afterGc != null) {
+                used += afterGc.getUsed();
+            }
+        }
+        return used;
+    }
+
+    private void recordCost(String type, Object request, Object result, long nanos, long allocated) {
+        long outputBytes;
+        if (result instanceof ReportBuffer buffer) {
+            outputBytes = buffer.size();
+        } else if (result instanceof byte[] bytes) {
+            outputBytes = bytes.length;
+        } else {
+            return;
+        }
+        ReportPayloadStats payload = ReportPayloadStats.of(request);
+        if (payload != null && allocated >= 0) {
+            costModel.record(type, payload, ReportPhases.context().pageCount, outputBytes, allocated,
+                TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    private double total(Map<String, AtomicInteger> counts) {
+        return counts.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
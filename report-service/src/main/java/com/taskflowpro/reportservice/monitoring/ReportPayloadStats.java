@@ -0,0 +1,185 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.taskflowpro.reportservice.dto.AssigneeDTO;
+import com.taskflowpro.reportservice.dto.FilterDTO;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.TaskDTO;
+import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The two numbers the report cost model works from: how many tasks a request has and how much text
+ *
+ * Text length is the number of characters in the string fields the report prints. Fields an output
+ * format skips (see ReportViews) are not counted, so a sample recorded from a parsed request and an
+ * estimate scanned from raw JSON measure the same thing.
+ */
+public final class ReportPayloadStats {
+
+    /**
+     * Which fields a report format reads (mirrors the ReportViews used by the report endpoints)
+     */
+    public enum Shape {
+        /** Task PDF: no description, no assignee emails */
+        TASK_PDF("tasks", Set.of("description"), Set.of("email")),
+        /** Task Excel: everything except assignee emails */
+        TASK_EXCEL("tasks", Set.of(), Set.of("email")),
+        /** User summary: recent tasks without description, created date or assignee details */
+        USER_SUMMARY("recentTasks", Set.of("description", "createdAt"), Set.of("name", "status", "email"));
+
+        private final String tasksField;
+        private final Set<String> skippedTaskFields;
+        private final Set<String> skippedAssigneeFields;
+
+        Shape(String tasksField, Set<String> skippedTaskFields, Set<String> skippedAssigneeFields) {
+            this.tasksField = tasksField;
+            this.skippedTaskFields = skippedTaskFields;
+            this.skippedAssigneeFields = skippedAssigneeFields;
+        }
+    }
+
+    // Where the scanner is in the request while reading JSON
+    private enum Level { ROOT, TASK, ASSIGNEE, OTHER }
+
+    private final int taskCount;
+    private final long textLength;
+
+    private ReportPayloadStats(int taskCount, long textLength) {
+        this.taskCount = taskCount;
+        this.textLength = textLength;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public long getTextLength() {
+        return textLength;
+    }
+
+    /**
+     * Measures a parsed request (null for request types the cost model does not know)
+     */
+    public static ReportPayloadStats of(Object request) {
+        if (request instanceof ReportRequest report) {
+            long length = length(report.getTitle()) + length(report.getGeneratedAt()) + length(report.getGeneratedBy())
+                + filtersLength(report.getFilters()) + tasksLength(report.getTasks());
+            return new ReportPayloadStats(size(report.getTasks()), length);
+        }
+        if (request instanceof UserSummaryReportRequest summary) {
+            long length = length(summary.getGeneratedAt()) + tasksLength(summary.getRecentTasks());
+            if (summary.getUser() != null) {
+                length += length(summary.getUser().getName()) + length(summary.getUser().getEmail());
+            }
+            return new ReportPayloadStats(size(summary.getRecentTasks()), length);
+        }
+        return null;
+    }
+
+    /**
+     * Measures a request straight from its JSON without building the request objects
+     *
+     * Only token lengths are read: string values are never turned into Java strings, and fields
+     * the format skips are passed over whole.
+     */
+    public static ReportPayloadStats scan(JsonParser parser, Shape shape) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Report request must be a JSON object");
+        }
+        long[] counts = new long[2];  // tasks, text length
+        scanObject(parser, shape, Level.ROOT, counts);
+        return new ReportPayloadStats((int) counts[0], counts[1]);
+    }
+
+    private static void scanObject(JsonParser parser, Shape shape, Level level, long[] counts) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (level == Level.TASK && shape.skippedTaskFields.contains(field)
+                    || level == Level.ASSIGNEE && shape.skippedAssigneeFields.contains(field)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            if (value == JsonToken.START_ARRAY) {
+                Level element = Level.OTHER;
+                if (level == Level.ROOT && field.equals(shape.tasksField)) {
+                    element = Level.TASK;
+                } else if (level == Level.TASK && field.equals("assignees")) {
+                    element = Level.ASSIGNEE;
+                }
+                scanArray(parser, shape, element, counts);
+            } else if (value == JsonToken.START_OBJECT) {
+                scanObject(parser, shape, Level.OTHER, counts);
+            } else if (value == JsonToken.VALUE_STRING) {
+                counts[1] += parser.getTextLength();
+            }
+        }
+    }
+
+    private static void scanArray(JsonParser parser, Shape shape, Level element, long[] counts) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IllegalArgumentException("Unexpected end of report request");
+            }
+            if (token == JsonToken.START_OBJECT) {
+                if (element == Level.TASK) {
+                    counts[0]++;
+                }
+                scanObject(parser, shape, element, counts);
+            } else if (token == JsonToken.VALUE_STRING) {
+                counts[1] += parser.getTextLength();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static long tasksLength(List<TaskDTO> tasks) {
+        long length = 0;
+        if (tasks == null) {
+            return length;
+        }
+        for (TaskDTO task : tasks) {
+            length += length(task.getTitle()) + length(task.getDescription()) + length(task.getPriority())
+                + length(task.getStatus()) + length(task.getCreatedAt()) + length(task.getDueDate());
+            if (task.getAssignees() != null) {
+                for (AssigneeDTO assignee : task.getAssignees()) {
+                    length += length(assignee.getName()) + length(assignee.getEmail()) + length(assignee.getStatus());
+                }
+            }
+        }
+        return length;
+    }
+
+    private static long filtersLength(FilterDTO filters) {
+        if (filters == null) {
+            return 0;
+        }
+        long length = length(filters.getDateFrom()) + length(filters.getDateTo());
+        for (List<String> values : List.of(nonNull(filters.getPriority()), nonNull(filters.getStatus()))) {
+            for (String value : values) {
+                length += length(value);
+            }
+        }
+        return length;
+    }
+
+    private static List<String> nonNull(List<String> values) {
+        return values != null ? values : List.of();
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    private static int size(List<?> list) {
+        return list != null ? list.size() : 0;
+    }
+}
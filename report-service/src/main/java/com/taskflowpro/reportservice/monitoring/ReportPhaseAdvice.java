@@ -0,0 +1,67 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+
+/**
+ * Marks the parse, validate and write phases of report requests for the flight recorder
+ *
+ * parse:    from reading the request body until the DTO is built
+ * validate: from the DTO being built until the report service starts (bean validation runs here)
+ * write:    from the response body being handed to Spring until the request completes
+ *           (streamed downloads record it themselves, see ReportPhases.deferWrite)
+ */
+@ControllerAdvice
+public class ReportPhaseAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        ReportPhases.context().pendingParse = ReportPhases.begin(ReportPhases.PARSE);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        ReportPhases.setTaskCount(ReportPhases.taskCount(body));
+
+        ReportPhases.Context context = ReportPhases.context();
+        if (context.pendingParse != null) {
+            ReportPhases.end(context.pendingParse, 0);
+            context.pendingParse = null;
+        }
+        context.pendingValidate = ReportPhases.begin(ReportPhases.VALIDATE);
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        ReportPhases.Context context = ReportPhases.context();
+        context.outputSize = body instanceof byte[] bytes ? bytes.length : 0;
+        context.pendingWrite = ReportPhases.begin(ReportPhases.WRITE);
+        return body;
+    }
+}
@@ -0,0 +1,36 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for one phase of a report request
+ * Phases: parse, validate, layout, serialize, write
+ *
+ * Shows up in JDK Mission Control under "TaskFlowPro / Reports" next to GC, lock and I/O events
+ */
+@Name("com.taskflowpro.report.Phase")
+@Label("Report Phase")
+@Category({"TaskFlowPro", "Reports"})
+@Description("Duration of one phase of generating a report")
+@StackTrace(false)
+public class ReportPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Task Count")
+    int taskCount;
+
+    @Label("Output Size")
+    @DataAmount
+    long outputSize;
+}
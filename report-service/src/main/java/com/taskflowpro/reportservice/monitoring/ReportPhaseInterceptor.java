@@ -0,0 +1,53 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Tracks report requests from start to finish for the flight recorder
+ * Closes any open phase events and triggers a recording dump for slow reports
+ *
+ * Downloads written as a StreamingResponseBody are async requests: the handler returns on the
+ * request thread, the body is written by the async executor, and the request is dispatched again
+ * to complete. The start time of the first dispatch is kept, so the elapsed time covers the write.
+ */
+@Component
+public class ReportPhaseInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ReportPhaseInterceptor.class.getName() + ".start";
+
+    @Autowired
+    private ReportFlightRecorder flightRecorder;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReportPhases.context().endpoint = request.getRequestURI();
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    /**
+     * The handler returned and the body is written on another thread: release this thread's phases
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReportPhases.finish();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReportPhases.finish();
+
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start instanceof Long startNanos) {
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            flightRecorder.onReportCompleted(request.getRequestURI(), elapsedMillis);
+        }
+    }
+}
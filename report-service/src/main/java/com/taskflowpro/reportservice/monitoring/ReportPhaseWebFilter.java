@@ -0,0 +1,40 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of ReportPhaseInterceptor: tracks report requests for the flight recorder
+ *
+ * Puts a {@link ReportPhases.Request} into the Reactor context; the controller marks the parse and
+ * write phases on it and renders as that request, so the phase events carry the endpoint and task
+ * count. The exchange completes once the response is written, so the elapsed time passed to the
+ * slow-report dump covers the write, like the servlet stack.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReportPhaseWebFilter implements WebFilter {
+
+    @Autowired
+    private ReportFlightRecorder flightRecorder;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        // Health probes are not reports (and come every few seconds)
+        if (!path.startsWith("/api/report/") || path.equals("/api/report/health")) {
+            return chain.filter(exchange);
+        }
+
+        long startNanos = System.nanoTime();
+        ReportPhases.Request phases = new ReportPhases.Request(path);
+        return chain.filter(exchange)
+            .doFinally(signal -> flightRecorder.onReportCompleted(path, (System.nanoTime() - startNanos) / 1_000_000))
+            .contextWrite(context -> context.put(ReportPhases.Request.class, phases));
+    }
+}
@@ -0,0 +1,222 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Starts and commits {@link ReportPhaseEvent}s for the report being handled on the current thread
+ *
+ * The web layer records which endpoint is being served and how many tasks the request has;
+ * the report services only mark where their layout and serialize phases start and end.
+ * When JFR is not recording these calls cost almost nothing (events are never committed).
+ *
+ * On the reactive stack a request moves between Netty and render threads, so its endpoint and
+ * task count travel in the Reactor context instead (see {@link Request} and ReportPhaseWebFilter).
+ */
+public final class ReportPhases {
+
+    public static final String PARSE = "parse";
+    public static final String VALIDATE = "validate";
+    public static final String LAYOUT = "layout";
+    public static final String SERIALIZE = "serialize";
+    public static final String WRITE = "write";
+
+    // Endpoint and task count of the request served by this thread
+    private static final ThreadLocal<Context> CURRENT = ThreadLocal.withInitial(Context::new);
+
+    private ReportPhases() {
+    }
+
+    /**
+     * Per-thread request information plus phases started by one component and ended by another
+     */
+    static final class Context {
+        String endpoint = "background";
+        int taskCount;
+        int pageCount;
+        long outputSize;
+        ReportPhaseEvent pendingParse;
+        ReportPhaseEvent pendingValidate;
+        ReportPhaseEvent pendingWrite;
+    }
+
+    /**
+     * Starts a phase event
+     */
+    public static ReportPhaseEvent begin(String phase) {
+        Context context = CURRENT.get();
+        if (context.pendingValidate != null) {
+            // Validation ends when the service starts working on the request
+            end(context.pendingValidate, 0);
+            context.pendingValidate = null;
+        }
+        ReportPhaseEvent event = new ReportPhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends a phase event and commits it with the current request's endpoint and task count
+     */
+    public static void end(ReportPhaseEvent event, long outputSize) {
+        event.end();
+        if (event.shouldCommit()) {
+            Context context = CURRENT.get();
+            event.endpoint = context.endpoint;
+            event.taskCount = context.taskCount;
+            event.outputSize = outputSize;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records the task count of the report being rendered on this thread
+     * (background renders call this themselves; web requests get it from the request body)
+     */
+    public static void setTaskCount(int taskCount) {
+        CURRENT.get().taskCount = taskCount;
+    }
+
+    /**
+     * Records how many pages the PDF rendered on this thread has (read by the cost model)
+     */
+    public static void setPageCount(int pageCount) {
+        CURRENT.get().pageCount = pageCount;
+    }
+
+    /**
+     * Prepares the write phase of a response body that another thread writes (StreamingResponseBody)
+     * Call on the request thread; the endpoint and task count are taken from here.
+     */
+    public static DeferredWrite deferWrite() {
+        Context context = CURRENT.get();
+        return new DeferredWrite(context.endpoint, context.taskCount);
+    }
+
+    /**
+     * Write phase of one response, begun and ended on the thread that writes the body
+     */
+    public static final class DeferredWrite {
+
+        private final String endpoint;
+        private final int taskCount;
+        private ReportPhaseEvent event;
+
+        private DeferredWrite(String endpoint, int taskCount) {
+            this.endpoint = endpoint;
+            this.taskCount = taskCount;
+        }
+
+        public void begin() {
+            event = new ReportPhaseEvent();
+            event.phase = WRITE;
+            event.begin();
+        }
+
+        public void end(long outputSize) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint;
+                event.taskCount = taskCount;
+                event.outputSize = outputSize;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * A report request on the reactive stack, put into the Reactor context by ReportPhaseWebFilter
+     * Validation runs while the body is decoded, so its time is part of the parse phase there.
+     */
+    public static final class Request {
+
+        private final String endpoint;
+        private volatile int taskCount;
+        private volatile ReportPhaseEvent parse;
+
+        public Request(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * The request body starts streaming in
+         */
+        public void beginParse() {
+            parse = new ReportPhaseEvent();
+            parse.phase = PARSE;
+            parse.begin();
+        }
+
+        /**
+         * The body was decoded and validated
+         */
+        public void endParse(Object body) {
+            taskCount = taskCount(body);
+            ReportPhaseEvent event = parse;
+            parse = null;
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.endpoint = endpoint;
+                    event.taskCount = taskCount;
+                    event.commit();
+                }
+            }
+        }
+
+        /**
+         * Renders on the current thread as this request (the services' layout and serialize phases)
+         */
+        public <T> T call(Callable<T> render) throws Exception {
+            Context context = CURRENT.get();
+            context.endpoint = endpoint;
+            context.taskCount = taskCount;
+            try {
+                return render.call();
+            } finally {
+                finish();
+            }
+        }
+
+        /**
+         * Write phase of the response body, begun and ended by the thread that writes it
+         */
+        public DeferredWrite deferWrite() {
+            return new DeferredWrite(endpoint, taskCount);
+        }
+    }
+
+    /**
+     * Number of tasks in a report request body (0 for other bodies)
+     */
+    static int taskCount(Object body) {
+        if (body instanceof ReportRequest request && request.getTasks() != null) {
+            return request.getTasks().size();
+        }
+        if (body instanceof UserSummaryReportRequest request && request.getRecentTasks() != null) {
+            return request.getRecentTasks().size();
+        }
+        return 0;
+    }
+
+    static Context context() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Commits any phase still open and forgets the request (called when the request completes)
+     */
+    static void finish() {
+        Context context = CURRENT.get();
+        if (context.pendingValidate != null) {
+            end(context.pendingValidate, 0);
+        }
+        if (context.pendingWrite != null) {
+            end(context.pendingWrite, context.outputSize);
+        }
+        CURRENT.remove();
+    }
+}
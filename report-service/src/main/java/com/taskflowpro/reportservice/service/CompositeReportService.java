@@ -0,0 +1,112 @@
+package com.taskflowpro.reportservice.service;
+
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service for rendering one task report in several formats from a single parsed request
+ * Formats are rendered concurrently (see ReportParts) into pooled buffers and stored - not
+ * compressed a second time - in a ZIP archive
+ */
+@Service
+public class CompositeReportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CompositeReportService.class);
+    
+    @Autowired
+    private TaskPdfService taskPdfService;
+    
+    @Autowired
+    private TaskExcelService taskExcelService;
+    
+    @Autowired
+    private ReportBufferPool bufferPool;
+    
+    @Autowired
+    @Qualifier("reportRenderExecutor")
+    private ExecutorService renderExecutor;
+    
+    /**
+     * Renders every requested format and packs the files into a ZIP
+     * 
+     * @param request The parsed and validated report request (shared read-only by all renders)
+     * @param formats Wanted formats: "pdf", "excel" (or "xlsx")
+     * @param baseName File name (without extension) used for the entries in the ZIP
+     * @param compression Deflate level / object streams used by every format
+     * @param mode FULL, or DEGRADED for plainer files when the instance is overloaded
+     * @return the ZIP in pooled buffer segments; the caller must close() it
+     * @throws IllegalArgumentException if a format is not supported
+     * @throws Exception if any render fails (the other formats stop early)
+     */
+    public ReportBuffer renderTaskReportBundle(ReportRequest request, List<String> formats, String baseName,
+                                               CompressionProfile compression, RenderMode mode) throws Exception {
+        logger.info("Generating task report bundle {} with {} tasks ({} compression, {} mode)",
+            formats, request.getTasks().size(), compression, mode);
+        
+        // One render per distinct format; every format is checked before any render starts
+        Set<String> extensions = new LinkedHashSet<>();
+        for (String format : formats) {
+            extensions.add(toExtension(format));
+        }
+        
+        ReportBuffer output = bufferPool.acquire();
+        try (ReportParts parts = new ReportParts(renderExecutor)) {
+            // They all read the same in-memory request
+            for (String extension : extensions) {
+                parts.submit(() -> render(extension, request, compression, mode));
+            }
+            try (ZipOutputStream zip = new ZipOutputStream(output.outputStream())) {
+                for (String extension : extensions) {
+                    try (ReportBuffer content = parts.next()) {
+                        UserSummaryBulkService.addStoredEntry(zip, baseName + "." + extension, content);
+                    }
+                }
+            }
+        } catch (Exception | Error e) {
+            output.close();
+            throw e;
+        }
+        
+        logger.info("Task report bundle generated successfully ({} bytes)", output.size());
+        return output;
+    }
+    
+    /**
+     * Renders a single format (runs on the render executor)
+     */
+    private ReportBuffer render(String extension, ReportRequest request, CompressionProfile compression, RenderMode mode) {
+        try {
+            return switch (extension) {
+                case "pdf" -> taskPdfService.renderTaskReportPdf(request, compression, mode);
+                case "xlsx" -> taskExcelService.renderTaskReportExcel(request, compression, null, mode);
+                default -> throw new IllegalArgumentException("Unsupported format: " + extension);
+            };
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+    
+    /**
+     * Maps a requested format name to the file extension
+     */
+    private String toExtension(String format) {
+        return switch (format == null ? "" : format.toLowerCase()) {
+            case "pdf" -> "pdf";
+            case "excel", "xlsx" -> "xlsx";
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        };
+    }
+}
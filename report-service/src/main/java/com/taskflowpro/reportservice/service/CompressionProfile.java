@@ -0,0 +1,85 @@
+package com.taskflowpro.reportservice.service;
+
+import com.lowagie.text.pdf.PdfWriter;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * How hard generated files are compressed (CPU time vs. file size)
+ *
+ *   FAST      deflate level 1 - interactive downloads, least CPU per request
+ *   STANDARD  library defaults (deflate level 6) - what every report used before profiles existed
+ *   SMALL     deflate level 9, PDF object streams + compressed xref (PDF 1.5),
+ *             compressed temporary files for streaming workbooks - archived exports
+ *
+ * Chosen per request with ?compression=fast|standard|small, otherwise the endpoint default
+ * (report.compression.default for direct downloads, report.compression.jobs for queued jobs).
+ */
+public enum CompressionProfile {
+
+    FAST(Deflater.BEST_SPEED, false, false),
+    STANDARD(Deflater.DEFAULT_COMPRESSION, false, false),
+    SMALL(Deflater.BEST_COMPRESSION, true, true);
+
+    private final int deflateLevel;
+    private final boolean pdfFullCompression;
+    private final boolean compressTempFiles;
+
+    CompressionProfile(int deflateLevel, boolean pdfFullCompression, boolean compressTempFiles) {
+        this.deflateLevel = deflateLevel;
+        this.pdfFullCompression = pdfFullCompression;
+        this.compressTempFiles = compressTempFiles;
+    }
+
+    public int getDeflateLevel() {
+        return deflateLevel;
+    }
+
+    /**
+     * Whether streaming workbooks (SXSSF) gzip the rows they flush to temporary files
+     */
+    public boolean isCompressTempFiles() {
+        return compressTempFiles;
+    }
+
+    /**
+     * Applies the profile to a PDF writer (call before the document is opened)
+     */
+    public void apply(PdfWriter writer) {
+        writer.setCompressionLevel(deflateLevel);
+        if (pdfFullCompression) {
+            // Packs objects into compressed object streams and writes the xref table as a stream
+            writer.setFullCompression();
+        }
+    }
+
+    /**
+     * Zip stream for .xlsx output using this profile's deflate level
+     * POI writes into a ZipArchiveOutputStream it is given instead of creating its own
+     */
+    public ZipArchiveOutputStream zipStream(OutputStream outputStream) {
+        ZipArchiveOutputStream zip = new ZipArchiveOutputStream(outputStream);
+        zip.setLevel(deflateLevel);
+        return zip;
+    }
+
+    /**
+     * Parses a profile name (case-insensitive); null or blank means the given default
+     *
+     * @throws IllegalArgumentException for unknown names
+     */
+    public static CompressionProfile parse(String name, CompressionProfile defaultProfile) {
+        if (name == null || name.isBlank()) {
+            return defaultProfile;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown compression profile: " + name
+                + " (expected fast, standard or small)");
+        }
+    }
+}
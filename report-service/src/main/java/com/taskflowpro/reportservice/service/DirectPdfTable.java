@@ -0,0 +1,373 @@
+package com.taskflowpro.reportservice.service;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.ExceptionConverter;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfContentByte;
+import com.lowagie.text.pdf.PdfTemplate;
+import com.lowagie.text.pdf.PdfWriter;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-column table drawn straight onto the page content stream (the fast path for task reports)
+ *
+ * PdfPTable creates a PdfPCell and a Phrase per cell and runs general-purpose layout for each of
+ * them. Task rows only need fixed columns, word wrapping and page breaks, so this class computes
+ * the column positions once, measures text with per-character width tables built once per font,
+ * and writes rectangles and text operators directly. It draws the same style as the task table
+ * in TaskPdfService (steel blue header, padded cells, thin borders).
+ *
+ * Only for text that built-in Helvetica can draw (see ReportFontRegistry.isWinAnsi); reports with
+ * other scripts keep using PdfPTable with the Unicode font fallback.
+ *
+ * Also used for pages stamped from a pre-rendered skeleton (UserSummaryPdfService): the skeleton
+ * already has the header row, so the table starts at a fixed position and continues onto pages
+ * that get the skeleton's continuation page as background.
+ */
+final class DirectPdfTable {
+
+    private static final float HEADER_FONT_SIZE = 12f;
+    private static final float CELL_FONT_SIZE = 9f;
+    // Same leading as a Phrase (1.5 x font size)
+    private static final float HEADER_LEADING = HEADER_FONT_SIZE * 1.5f;
+    private static final float CELL_LEADING = CELL_FONT_SIZE * 1.5f;
+    private static final float HEADER_PADDING = 8f;
+    private static final float CELL_PADDING = 6f;
+    private static final float BORDER_WIDTH = 0.5f;
+
+    private static final Color HEADER_BACKGROUND = new Color(70, 130, 180); // Steel blue
+    private static final Color CELL_TEXT = Color.DARK_GRAY;
+
+    private static final BaseFont HELVETICA = createFont(BaseFont.HELVETICA);
+    private static final BaseFont HELVETICA_BOLD = createFont(BaseFont.HELVETICA_BOLD);
+
+    // Advance width of every WinAnsi character, measured once
+    private static final float[] CELL_WIDTHS = widthTable(HELVETICA, CELL_FONT_SIZE);
+    private static final float[] HEADER_WIDTHS = widthTable(HELVETICA_BOLD, HEADER_FONT_SIZE);
+
+    private final PdfWriter writer;
+    private final Document document;
+    private final float[] columnX;      // Left edge of each column
+    private final float[] columnWidth;
+
+    private float y;  // Top of the next row
+
+    // Background for the pages the table continues onto (see continueOn), or null
+    private PdfTemplate continuationPage;
+    private float continuationTop;
+
+    /**
+     * Starts the table below whatever the document has laid out so far
+     *
+     * @param relativeWidths column proportions (like PdfPTable.setWidths), spread over the full body width
+     * @param spacingBefore gap between the previous content and the table
+     */
+    DirectPdfTable(PdfWriter writer, Document document, float[] relativeWidths, float spacingBefore) {
+        this.writer = writer;
+        this.document = document;
+
+        float total = 0;
+        for (float width : relativeWidths) {
+            total += width;
+        }
+        columnX = new float[relativeWidths.length];
+        columnWidth = new float[relativeWidths.length];
+        float bodyWidth = document.right() - document.left();
+        float x = document.left();
+        for (int i = 0; i < relativeWidths.length; i++) {
+            columnX[i] = x;
+            columnWidth[i] = bodyWidth * relativeWidths[i] / total;
+            x += columnWidth[i];
+        }
+
+        y = writer.getVerticalPosition(true) - spacingBefore;
+    }
+
+    /**
+     * Places the next row at a fixed height on the current page (below content drawn at fixed positions)
+     */
+    void moveTo(float top) {
+        y = top;
+    }
+
+    /**
+     * Top of the next row
+     */
+    float position() {
+        return y;
+    }
+
+    /**
+     * Draws the given page (e.g. a skeleton page with the header row) as the background of every
+     * page the table continues onto, and starts the rows there at the given height
+     */
+    void continueOn(PdfTemplate page, float top) {
+        continuationPage = page;
+        continuationTop = top;
+    }
+
+    /**
+     * Header row: bold, centred, white borders on the steel blue background
+     */
+    void addHeader(String[] titles) {
+        List<List<String>> lines = new ArrayList<>(titles.length);
+        int maxLines = 1;
+        for (int i = 0; i < titles.length; i++) {
+            List<String> cellLines = wrap(titles[i], columnWidth[i] - 2 * HEADER_PADDING, HEADER_WIDTHS);
+            lines.add(cellLines);
+            maxLines = Math.max(maxLines, cellLines.size());
+        }
+        float height = maxLines * HEADER_LEADING + 2 * HEADER_PADDING;
+        ensureSpace(height);
+
+        PdfContentByte canvas = writer.getDirectContent();
+        float bottom = y - height;
+        canvas.setColorFill(HEADER_BACKGROUND);
+        canvas.rectangle(columnX[0], bottom, document.right() - document.left(), height);
+        canvas.fill();
+        strokeCells(canvas, bottom, height, Color.WHITE);
+
+        canvas.beginText();
+        canvas.setFontAndSize(HELVETICA_BOLD, HEADER_FONT_SIZE);
+        canvas.setColorFill(Color.BLACK);
+        for (int i = 0; i < titles.length; i++) {
+            List<String> cellLines = lines.get(i);
+            float top = middleTop(bottom, height, cellLines.size(), HEADER_LEADING);
+            for (int line = 0; line < cellLines.size(); line++) {
+                float lineWidth = measure(cellLines.get(line), HEADER_WIDTHS);
+                float x = columnX[i] + (columnWidth[i] - lineWidth) / 2;
+                canvas.setTextMatrix(x, baseline(top, line, HEADER_LEADING, HEADER_FONT_SIZE));
+                canvas.showText(cellLines.get(line));
+            }
+        }
+        canvas.endText();
+        y = bottom;
+    }
+
+    /**
+     * Data row: wrapped text, first column top-aligned and the others vertically centred
+     *
+     * A row that does not fit on the current page moves to the next one. A row taller than a whole
+     * page is split across pages instead (like PdfPTable): each part takes as many lines as fit, its
+     * cells are top-aligned and the next part continues on a new page.
+     *
+     * @param texts one text per column ('\n' starts a new line)
+     * @param backgrounds one fill colour per column
+     */
+    void addRow(String[] texts, Color[] backgrounds) {
+        List<List<String>> lines = new ArrayList<>(texts.length);
+        int maxLines = 1;
+        for (int i = 0; i < texts.length; i++) {
+            List<String> cellLines = wrap(texts[i], columnWidth[i] - 2 * CELL_PADDING, CELL_WIDTHS);
+            lines.add(cellLines);
+            maxLines = Math.max(maxLines, cellLines.size());
+        }
+
+        if (maxLines <= fittingLines(pageTop())) {
+            ensureSpace(maxLines * CELL_LEADING + 2 * CELL_PADDING);
+            drawRow(lines, backgrounds, 0, maxLines, false);
+            return;
+        }
+
+        int from = 0;
+        while (from < maxLines) {
+            int count = Math.min(maxLines - from, fittingLines(y));
+            if (count < 1) {
+                newPage();
+                continue;
+            }
+            drawRow(lines, backgrounds, from, count, true);
+            from += count;
+            if (from < maxLines) {
+                newPage();
+            }
+        }
+    }
+
+    /**
+     * Draws lines [from, from + count) of every cell as one row part at the current position
+     */
+    private void drawRow(List<List<String>> lines, Color[] backgrounds, int from, int count, boolean split) {
+        float height = count * CELL_LEADING + 2 * CELL_PADDING;
+        PdfContentByte canvas = writer.getDirectContent();
+        float bottom = y - height;
+        for (int i = 0; i < lines.size(); i++) {
+            canvas.setColorFill(backgrounds[i]);
+            canvas.rectangle(columnX[i], bottom, columnWidth[i], height);
+            canvas.fill();
+        }
+        strokeCells(canvas, bottom, height, Color.BLACK);
+
+        canvas.beginText();
+        canvas.setFontAndSize(HELVETICA, CELL_FONT_SIZE);
+        canvas.setColorFill(CELL_TEXT);
+        for (int i = 0; i < lines.size(); i++) {
+            List<String> cellLines = lines.get(i);
+            int end = Math.min(cellLines.size(), from + count);
+            float top = i == 0 || split ? y - CELL_PADDING : middleTop(bottom, height, end - from, CELL_LEADING);
+            for (int line = from; line < end; line++) {
+                canvas.setTextMatrix(columnX[i] + CELL_PADDING, baseline(top, line - from, CELL_LEADING, CELL_FONT_SIZE));
+                canvas.showText(cellLines.get(line));
+            }
+        }
+        canvas.endText();
+        y = bottom;
+    }
+
+    /**
+     * Number of cell lines a row starting at the given height can hold on its page
+     */
+    private int fittingLines(float top) {
+        return (int) ((top - document.bottom() - 2 * CELL_PADDING) / CELL_LEADING);
+    }
+
+    /**
+     * A bold line below the table after one empty line (like Paragraph("\n" + text))
+     */
+    void addLine(String text) {
+        float height = 2 * HEADER_LEADING;
+        ensureSpace(height);
+        PdfContentByte canvas = writer.getDirectContent();
+        canvas.beginText();
+        canvas.setFontAndSize(HELVETICA_BOLD, HEADER_FONT_SIZE);
+        canvas.setColorFill(Color.BLACK);
+        canvas.setTextMatrix(document.left(), baseline(y - HEADER_LEADING, 0, HEADER_LEADING, HEADER_FONT_SIZE));
+        canvas.showText(text);
+        canvas.endText();
+        y -= height;
+    }
+
+    /**
+     * Starts a new page when the next block does not fit on this one
+     */
+    private void ensureSpace(float height) {
+        if (y - height < document.bottom()) {
+            newPage();
+        }
+    }
+
+    private void newPage() {
+        document.newPage();
+        y = pageTop();
+        if (continuationPage != null) {
+            writer.getDirectContent().addTemplate(continuationPage, 0, 0);
+        }
+    }
+
+    /**
+     * Where rows start on a new page
+     */
+    private float pageTop() {
+        return continuationPage != null ? continuationTop : document.top();
+    }
+
+    private void strokeCells(PdfContentByte canvas, float bottom, float height, Color color) {
+        canvas.setLineWidth(BORDER_WIDTH);
+        canvas.setColorStroke(color);
+        for (int i = 0; i < columnX.length; i++) {
+            canvas.rectangle(columnX[i], bottom, columnWidth[i], height);
+        }
+        canvas.stroke();
+    }
+
+    /**
+     * Top of a block of text lines centred vertically in a cell
+     */
+    private static float middleTop(float bottom, float height, int lines, float leading) {
+        return bottom + (height + lines * leading) / 2;
+    }
+
+    /**
+     * Baseline of a line, with the glyphs centred in their line box
+     */
+    private static float baseline(float top, int line, float leading, float fontSize) {
+        return top - (line + 1) * leading + (leading - fontSize) / 2;
+    }
+
+    /**
+     * Breaks text into lines no wider than maxWidth: at '\n', between words, and inside words
+     * that are wider than a whole line
+     */
+    static List<String> wrap(String text, float maxWidth, float[] widths) {
+        List<String> lines = new ArrayList<>(2);
+        if (text == null || text.isEmpty()) {
+            lines.add("");
+            return lines;
+        }
+
+        int lineStart = 0;
+        int lastSpace = -1;
+        float lineWidth = 0;
+        float widthAtSpace = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                lines.add(text.substring(lineStart, i));
+                lineStart = i + 1;
+                lastSpace = -1;
+                lineWidth = 0;
+                continue;
+            }
+            float charWidth = width(c, widths);
+            if (c == ' ') {
+                lastSpace = i;
+                widthAtSpace = lineWidth + charWidth;
+            }
+            if (lineWidth + charWidth > maxWidth && i > lineStart && c != ' ') {
+                if (lastSpace >= lineStart) {
+                    // Break at the last space; the rest of the word moves to the next line
+                    lines.add(text.substring(lineStart, lastSpace));
+                    lineStart = lastSpace + 1;
+                    lineWidth -= widthAtSpace;
+                } else {
+                    lines.add(text.substring(lineStart, i));
+                    lineStart = i;
+                    lineWidth = 0;
+                }
+                lastSpace = -1;
+            }
+            lineWidth += charWidth;
+        }
+        lines.add(text.substring(lineStart));
+        return lines;
+    }
+
+    private static float measure(String text, float[] widths) {
+        float width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += width(text.charAt(i), widths);
+        }
+        return width;
+    }
+
+    private static float width(char c, float[] widths) {
+        int code = ReportFontRegistry.winAnsiCode(c);
+        return widths[code >= 0 ? code : '?'];
+    }
+
+    /**
+     * Glyph widths indexed by WinAnsi code (the byte Helvetica draws), not by char
+     */
+    private static float[] widthTable(BaseFont font, float size) {
+        float[] widths = new float[256];
+        for (char c = 0x20; c <= 0x2122; c++) {
+            int code = ReportFontRegistry.winAnsiCode(c);
+            if (code >= 0) {
+                widths[code] = font.getWidthPoint(c, size);
+            }
+        }
+        return widths;
+    }
+
+    private static BaseFont createFont(String name) {
+        try {
+            // Built-in fonts are cached by OpenPDF, so this is the same instance Font(HELVETICA) uses
+            return BaseFont.createFont(name, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+        } catch (Exception e) {
+            throw new ExceptionConverter(e);
+        }
+    }
+}
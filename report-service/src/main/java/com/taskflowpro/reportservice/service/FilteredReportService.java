@@ -0,0 +1,140 @@
+package com.taskflowpro.reportservice.service;
+
+import com.taskflowpro.reportservice.dto.FilterDTO;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.TaskDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service for rendering several filtered variants of one task report
+ * Filters are evaluated against a {@link TaskFilterIndex} built once per request; the variants are
+ * rendered concurrently (see ReportParts) into pooled buffers and stored in a ZIP archive
+ */
+@Service
+public class FilteredReportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FilteredReportService.class);
+    
+    @Autowired
+    private TaskPdfService taskPdfService;
+    
+    @Autowired
+    private TaskExcelService taskExcelService;
+    
+    @Autowired
+    private ReportBufferPool bufferPool;
+    
+    @Autowired
+    @Qualifier("reportRenderExecutor")
+    private ExecutorService renderExecutor;
+    
+    /**
+     * Renders one report per filter and packs them into a ZIP
+     * 
+     * @param request Report with the unfiltered tasks
+     * @param variants Filters to apply; each produces one report
+     * @param format "pdf" or "excel"
+     * @param baseName File name prefix for the entries in the ZIP
+     * @param compression Deflate level / object streams used by every variant
+     * @param mode FULL, or DEGRADED for plainer files when the instance is overloaded
+     * @return the ZIP in pooled buffer segments; the caller must close() it
+     * @throws IllegalArgumentException if the format is not supported or a filter date cannot be read
+     * @throws Exception if any render fails (the other variants stop early)
+     */
+    public ReportBuffer renderFilteredVariants(ReportRequest request, List<FilterDTO> variants, String format,
+                                               String baseName, CompressionProfile compression,
+                                               RenderMode mode) throws Exception {
+        String extension = toExtension(format);
+        logger.info("Generating {} filtered {} variants from {} tasks ({} compression, {} mode)",
+            variants.size(), extension, request.getTasks().size(), compression, mode);
+        
+        // One pass over the tasks; every variant is sliced from these bitmaps
+        TaskFilterIndex index = new TaskFilterIndex(request.getTasks());
+        
+        // Select every variant first, so an invalid filter fails the request before any render starts
+        List<ReportRequest> selected = new ArrayList<>(variants.size());
+        for (FilterDTO filter : variants) {
+            selected.add(new ReportRequest(
+                request.getTitle(), request.getGeneratedAt(), request.getGeneratedBy(),
+                filter, index.select(filter)));
+        }
+        
+        ReportBuffer output = bufferPool.acquire();
+        try (ReportParts parts = new ReportParts(renderExecutor)) {
+            for (ReportRequest variant : selected) {
+                parts.submit(() -> render(extension, variant, compression, mode));
+            }
+            try (ZipOutputStream zip = new ZipOutputStream(output.outputStream())) {
+                for (int i = 0; i < selected.size(); i++) {
+                    try (ReportBuffer content = parts.next()) {
+                        String entryName = baseName + "-" + (i + 1) + "-" + describe(variants.get(i)) + "." + extension;
+                        UserSummaryBulkService.addStoredEntry(zip, entryName, content);
+                    }
+                }
+            }
+        } catch (Exception | Error e) {
+            output.close();
+            throw e;
+        }
+        
+        logger.info("Filtered report variants generated successfully ({} bytes)", output.size());
+        return output;
+    }
+    
+    /**
+     * Renders one variant (runs on the render executor)
+     */
+    private ReportBuffer render(String extension, ReportRequest variant, CompressionProfile compression, RenderMode mode) {
+        try {
+            return "pdf".equals(extension)
+                ? taskPdfService.renderTaskReportPdf(variant, compression, mode)
+                : taskExcelService.renderTaskReportExcel(variant, compression, null, mode);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+    
+    private String toExtension(String format) {
+        return switch (format == null ? "pdf" : format.toLowerCase()) {
+            case "pdf" -> "pdf";
+            case "excel", "xlsx" -> "xlsx";
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        };
+    }
+    
+    /**
+     * Short file-name friendly description of a filter, e.g. "high-pending"
+     */
+    private String describe(FilterDTO filter) {
+        if (filter == null) {
+            return "all";
+        }
+        List<String> parts = new ArrayList<>();
+        if (filter.getPriority() != null) {
+            parts.addAll(filter.getPriority());
+        }
+        if (filter.getStatus() != null) {
+            parts.addAll(filter.getStatus());
+        }
+        if (filter.getDateFrom() != null) {
+            parts.add("from-" + filter.getDateFrom());
+        }
+        if (filter.getDateTo() != null) {
+            parts.add("to-" + filter.getDateTo());
+        }
+        String name = parts.isEmpty() ? "all" : String.join("-", parts).replaceAll("[^a-zA-Z0-9-]", "-");
+        return name.length() > 60 ? name.substring(0, 60) : name;
+    }
+}
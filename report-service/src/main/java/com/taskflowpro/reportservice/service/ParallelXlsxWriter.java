@@ -0,0 +1,231 @@
+package com.taskflowpro.reportservice.service;
+
+import com.taskflowpro.reportservice.monitoring.RenderAllocations;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.ss.util.CellReference;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Writes a multi-sheet .xlsx with every data sheet generated and compressed on its own thread
+ *
+ * POI writes the whole workbook on one thread, and deflating the sheet XML is most of that time.
+ * Here POI only writes a small skeleton (styles, summary sheet, empty data sheets). Each data
+ * sheet's rows are then written as SpreadsheetML straight into a raw deflate stream on the sheet
+ * executor, and the finished parts are copied into the .xlsx zip as-is (no second compression).
+ */
+final class ParallelXlsxWriter {
+
+    /**
+     * Writes the &lt;row&gt; elements of one sheet (see stringCell)
+     */
+    interface SheetData {
+        void write(Writer out) throws IOException;
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String EMPTY_SHEET_DATA = "<sheetData/>";
+
+    private final ExecutorService executor;
+    private final ReportBufferPool bufferPool;
+    private final CompressionProfile compression;
+
+    ParallelXlsxWriter(ExecutorService executor, ReportBufferPool bufferPool, CompressionProfile compression) {
+        this.executor = executor;
+        this.bufferPool = bufferPool;
+        this.compression = compression;
+    }
+
+    /**
+     * Fills the empty sheets of the skeleton and writes the finished .xlsx
+     *
+     * @param skeleton the workbook as written by POI, with empty data sheets
+     * @param sheetData rows per worksheet part (e.g. "xl/worksheets/sheet2.xml")
+     * @param outputStream where the .xlsx is written
+     */
+    void write(InputStream skeleton, Map<String, SheetData> sheetData, OutputStream outputStream) throws Exception {
+        Map<String, byte[]> entries = readEntries(skeleton);
+        Map<String, Future<CompressedPart>> parts = new HashMap<>();
+        // Sheet threads stop together with the request that started them
+        ReportCancellation.Token token = ReportCancellation.current();
+        try {
+            for (Map.Entry<String, SheetData> sheet : sheetData.entrySet()) {
+                byte[] template = entries.get(sheet.getKey());
+                if (template == null) {
+                    throw new IllegalStateException("Workbook has no part " + sheet.getKey());
+                }
+                parts.put(sheet.getKey(), executor.submit(RenderAllocations.propagateCallable(
+                    () -> ReportCancellation.call(token, () -> compress(template, sheet.getValue())))));
+            }
+
+            // Entries keep the skeleton's order; sheets are taken as soon as their thread is done
+            try (ZipArchiveOutputStream zip = compression.zipStream(outputStream)) {
+                for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                    Future<CompressedPart> pending = parts.remove(entry.getKey());
+                    if (pending != null) {
+                        try (CompressedPart part = await(pending)) {
+                            zip.addRawArchiveEntry(part.entry(entry.getKey()), part.buffer.inputStream());
+                        }
+                    } else {
+                        zip.putArchiveEntry(new ZipArchiveEntry(entry.getKey()));
+                        zip.write(entry.getValue());
+                        zip.closeArchiveEntry();
+                    }
+                }
+            }
+        } finally {
+            // After a failure, sheets that were not written still hold pooled segments
+            for (Future<CompressedPart> pending : parts.values()) {
+                try {
+                    await(pending).close();
+                } catch (Exception ignored) {
+                    // The sheet failed too; it already released its buffer
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes one sheet (template start, rows, template end) through a raw deflate stream
+     */
+    private CompressedPart compress(byte[] template, SheetData data) throws IOException {
+        String xml = new String(template, StandardCharsets.UTF_8);
+        int split = xml.indexOf(EMPTY_SHEET_DATA);
+        if (split < 0) {
+            throw new IllegalStateException("Sheet template has no empty <sheetData/>");
+        }
+        byte[] prefix = (xml.substring(0, split) + "<sheetData>").getBytes(StandardCharsets.UTF_8);
+        byte[] suffix = ("</sheetData>" + xml.substring(split + EMPTY_SHEET_DATA.length()))
+            .getBytes(StandardCharsets.UTF_8);
+
+        ReportBuffer buffer = bufferPool.acquire();
+        // nowrap: plain deflate data as stored in zip entries (no zlib header)
+        Deflater deflater = new Deflater(compression.getDeflateLevel(), true);
+        try {
+            CRC32 crc = new CRC32();
+            CheckedOutputStream checked = new CheckedOutputStream(
+                new DeflaterOutputStream(buffer.outputStream(), deflater, BUFFER_SIZE), crc);
+            checked.write(prefix);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(checked, StandardCharsets.UTF_8), BUFFER_SIZE);
+            data.write(writer);
+            writer.flush();
+            checked.write(suffix);
+            checked.close();
+            return new CompressedPart(buffer, crc.getValue(), deflater.getBytesRead());
+        } catch (IOException | RuntimeException | Error e) {
+            buffer.close();
+            throw e;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static Map<String, byte[]> readEntries(InputStream skeleton) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipArchiveInputStream zip = new ZipArchiveInputStream(skeleton)) {
+            ZipArchiveEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private static CompressedPart await(Future<CompressedPart> pending) throws Exception {
+        try {
+            return pending.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * Writes a cell with inline text (no shared strings table, so sheets need no coordination)
+     *
+     * @param column 0-based column index
+     * @param row 1-based row number
+     * @param style index of a cell style created in the skeleton workbook (CellStyle.getIndex())
+     */
+    static void stringCell(Writer out, int column, int row, int style, String text) throws IOException {
+        out.write("<c r=\"");
+        out.write(CellReference.convertNumToColString(column));
+        out.write(Integer.toString(row));
+        out.write("\" s=\"");
+        out.write(Integer.toString(style));
+        out.write("\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        escape(out, text);
+        out.write("</t></is></c>");
+    }
+
+    /**
+     * Escapes XML text and drops characters XML cannot contain (control characters)
+     */
+    private static void escape(Writer out, String text) throws IOException {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> out.write("&amp;");
+                case '<' -> out.write("&lt;");
+                case '>' -> out.write("&gt;");
+                default -> {
+                    if (c >= 0x20 && c != 0xFFFE && c != 0xFFFF || c == '\t' || c == '\n' || c == '\r') {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * One compressed sheet: raw deflate data plus what the zip entry header needs
+     */
+    private static final class CompressedPart implements AutoCloseable {
+
+        private final ReportBuffer buffer;
+        private final long crc;
+        private final long size;
+
+        CompressedPart(ReportBuffer buffer, long crc, long size) {
+            this.buffer = buffer;
+            this.crc = crc;
+            this.size = size;
+        }
+
+        ZipArchiveEntry entry(String name) {
+            ZipArchiveEntry entry = new ZipArchiveEntry(name);
+            entry.setMethod(ZipEntry.DEFLATED);
+            entry.setCrc(crc);
+            entry.setSize(size);
+            entry.setCompressedSize(buffer.size());
+            return entry;
+        }
+
+        @Override
+        public void close() {
+            buffer.close();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskflowpro.reportservice.service;
+
+/**
+ * How much styling a report gets
+ * DEGRADED is chosen automatically when the instance is overloaded or the caller's deadline is
+ * tight (see ReportDegradationPolicy): same data, plainer output that renders faster.
+ */
+public enum RenderMode {
+
+    /** All styling */
+    FULL,
+
+    /**
+     * No per-cell priority/status colours, fixed column widths instead of auto-sizing,
+     * plain KPI line instead of styled boxes, assignees on one line
+     */
+    DEGRADED;
+
+    /**
+     * Suffix for report types (singleflight key, metrics): degraded output is a different file
+     */
+    public String typeSuffix() {
+        return this == DEGRADED ? ":degraded" : "";
+    }
+}
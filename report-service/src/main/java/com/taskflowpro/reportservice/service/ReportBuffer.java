@@ -0,0 +1,190 @@
+package com.taskflowpro.reportservice.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A rendered report held in fixed-size segments (see {@link ReportBufferPool})
+ *
+ * Renderers write into outputStream(); the response is then written from the segments with
+ * writeTo() or chunks(), without ever building one contiguous array.
+ * The buffer is reference counted: it starts with one reference, requests that share it
+ * (coalesced renders) take another with tryRetain(), and every holder calls close() once.
+ * The last close() returns the pooled segments.
+ */
+public final class ReportBuffer implements AutoCloseable {
+
+    private final ReportBufferPool pool;
+    private final List<byte[]> segments = new ArrayList<>();
+    // Which segments came from the pool (the others are plain arrays and left to the GC)
+    private final BitSet pooled = new BitSet();
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private byte[] current;
+    private int position;
+    private long size;
+
+    ReportBuffer(ReportBufferPool pool) {
+        this.pool = pool;
+    }
+
+    private ReportBuffer(byte[] bytes) {
+        this.pool = null;
+        segments.add(bytes);
+        current = bytes;
+        position = bytes.length;
+        size = bytes.length;
+    }
+
+    /**
+     * Unpooled buffer around an existing array (for renderers that still return byte[])
+     */
+    public static ReportBuffer wrap(byte[] bytes) {
+        return new ReportBuffer(bytes);
+    }
+
+    /**
+     * Stream the renderer writes into; closing it (PdfWriter does) does not release the buffer
+     */
+    public OutputStream outputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (current == null || position == current.length) {
+                    nextSegment();
+                }
+                current[position++] = (byte) b;
+                size++;
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                while (length > 0) {
+                    if (current == null || position == current.length) {
+                        nextSegment();
+                    }
+                    int count = Math.min(length, current.length - position);
+                    System.arraycopy(bytes, offset, current, position, count);
+                    position += count;
+                    offset += count;
+                    length -= count;
+                    size += count;
+                }
+            }
+        };
+    }
+
+    private void nextSegment() {
+        if (pool == null) {
+            throw new IllegalStateException("Wrapped report buffers are read-only");
+        }
+        byte[] segment = pool.tryAcquireSegment();
+        if (segment != null) {
+            pooled.set(segments.size());
+        } else {
+            segment = new byte[pool.getSegmentSize()];
+        }
+        segments.add(segment);
+        current = segment;
+        position = 0;
+    }
+
+    /**
+     * Number of bytes written
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes the content to the response (or any other stream)
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        for (int i = 0; i < segments.size(); i++) {
+            outputStream.write(segments.get(i), 0, length(i));
+        }
+    }
+
+    /**
+     * The content as one ByteBuffer per segment (views, no copying)
+     * Only valid until the buffer is released
+     */
+    public List<ByteBuffer> chunks() {
+        List<ByteBuffer> chunks = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            chunks.add(ByteBuffer.wrap(segments.get(i), 0, length(i)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Reads the content back segment by segment (no copying)
+     * Only valid until the buffer is released
+     */
+    public InputStream inputStream() {
+        List<InputStream> streams = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            streams.add(new ByteArrayInputStream(segments.get(i), 0, length(i)));
+        }
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    /**
+     * Copies the content into one array (for callers that need byte[], e.g. zip bundles and jobs)
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[Math.toIntExact(size)];
+        int offset = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            int length = length(i);
+            System.arraycopy(segments.get(i), 0, bytes, offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+
+    private int length(int segment) {
+        return segment == segments.size() - 1 ? position : segments.get(segment).length;
+    }
+
+    /**
+     * Takes another reference unless the buffer was already released
+     *
+     * @return false if the last holder already closed it (the content is gone)
+     */
+    public boolean tryRetain() {
+        int count;
+        do {
+            count = references.get();
+            if (count <= 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Drops one reference; the last one returns the pooled segments
+     */
+    @Override
+    public void close() {
+        if (references.decrementAndGet() != 0) {
+            return;
+        }
+        for (int i = pooled.nextSetBit(0); i >= 0; i = pooled.nextSetBit(i + 1)) {
+            pool.releaseSegment(segments.get(i));
+        }
+        segments.clear();
+        pooled.clear();
+        current = null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.taskflowpro.reportservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of fixed-size byte segments that rendered reports are written into
+ *
+ * A ByteArrayOutputStream doubles and copies its array as a report grows and copies it once more in
+ * toByteArray(); under steady load those large short-lived arrays end up in the old generation.
+ * Reports written into a {@link ReportBuffer} instead borrow segments from this pool, the response
+ * is written straight from the segments, and the segments come back here for the next report.
+ *
+ * At most report.buffers.max-segments segments are handed out at once. When they are all in use,
+ * buffers fall back to ordinary (unpooled) segments, so a burst is slower on GC but never fails.
+ *
+ * Metrics (Micrometer):
+ *   - report.buffers.segments.max      pool size
+ *   - report.buffers.segments.in.use   pooled segments currently held by buffers
+ *   - report.buffers.segments.free     pooled segments ready for reuse
+ *   - report.buffers.acquired          segments handed out, tagged source=pool|fallback
+ */
+@Component
+public class ReportBufferPool {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${report.buffers.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.buffers.segment-size:65536}")
+    private int segmentSize;
+
+    @Value("${report.buffers.max-segments:512}")
+    private int maxSegments;
+
+    // Returned segments, reused before new ones are allocated
+    private final ConcurrentLinkedQueue<byte[]> free = new ConcurrentLinkedQueue<>();
+
+    // Pooled segments currently handed out (never above maxSegments)
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    private Counter pooledAcquires;
+    private Counter fallbackAcquires;
+
+    @PostConstruct
+    public void init() {
+        pooledAcquires = meterRegistry.counter("report.buffers.acquired", "source", "pool");
+        fallbackAcquires = meterRegistry.counter("report.buffers.acquired", "source", "fallback");
+        meterRegistry.gauge("report.buffers.segments.max", this, pool -> pool.enabled ? pool.maxSegments : 0);
+        meterRegistry.gauge("report.buffers.segments.in.use", inUse, AtomicInteger::get);
+        meterRegistry.gauge("report.buffers.segments.free", free, ConcurrentLinkedQueue::size);
+    }
+
+    /**
+     * Starts an empty buffer; the caller must close() it when the bytes are no longer needed
+     */
+    public ReportBuffer acquire() {
+        return new ReportBuffer(this);
+    }
+
+    /**
+     * A pooled segment, or null when all pooled segments are in use (the buffer then uses a plain array)
+     */
+    byte[] tryAcquireSegment() {
+        if (enabled && inUse.incrementAndGet() <= maxSegments) {
+            pooledAcquires.increment();
+            byte[] segment = free.poll();
+            return segment != null ? segment : new byte[segmentSize];
+        }
+        if (enabled) {
+            inUse.decrementAndGet();
+        }
+        fallbackAcquires.increment();
+        return null;
+    }
+
+    int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Takes back a pooled segment (contents are overwritten by the next user, not cleared)
+     */
+    void releaseSegment(byte[] segment) {
+        free.offer(segment);
+        inUse.decrementAndGet();
+    }
+}
@@ -0,0 +1,201 @@
+package com.taskflowpro.reportservice.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Deadline and cancellation of the report being rendered on the current thread
+ *
+ * The web layer attaches a {@link Token} when a request arrives: with a deadline taken from the
+ * X-Report-Timeout-Ms header (how long the caller will wait), and - on the reactive stack - cancelled
+ * when the client disconnects. Renderers call {@link #check()} between chunks of rows; once the
+ * caller is gone it throws {@link ReportCancelledException}, the render stops and its buffers are
+ * released. Threads without a token (queued jobs, scheduled reports) are never cancelled.
+ */
+public final class ReportCancellation {
+
+    public static final String TIMEOUT_HEADER = "X-Report-Timeout-Ms";
+
+    // Cancellation reasons (also the "reason" tag of the report.render.cancelled metric)
+    public static final String DEADLINE = "deadline";
+    public static final String DISCONNECT = "disconnect";
+    // Another part of the same report failed (see forParts)
+    public static final String ABANDONED = "abandoned";
+
+    // Rows rendered between two checks
+    public static final int CHECK_INTERVAL_ROWS = 100;
+
+    private static final long WAIT_SLICE_MS = 100;
+
+    private static final ThreadLocal<Token> CURRENT = new ThreadLocal<>();
+
+    private ReportCancellation() {
+    }
+
+    /**
+     * Deadline and cancel flag of one request (shared by every thread that renders for it)
+     */
+    public static final class Token {
+
+        private final long deadlineNanos;
+        private final boolean hasDeadline;
+        private final Token parent;
+        private volatile String cancelReason;
+
+        private Token(long deadlineNanos, boolean hasDeadline, Token parent) {
+            this.deadlineNanos = deadlineNanos;
+            this.hasDeadline = hasDeadline;
+            this.parent = parent;
+        }
+
+        /**
+         * Marks the request as abandoned (e.g. the client disconnected)
+         */
+        public void cancel(String reason) {
+            cancelReason = reason;
+        }
+
+        public boolean hasDeadline() {
+            return hasDeadline;
+        }
+
+        /**
+         * Milliseconds left before the deadline (Long.MAX_VALUE without one, negative once passed)
+         */
+        public long remainingMillis() {
+            return hasDeadline ? TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()) : Long.MAX_VALUE;
+        }
+
+        /**
+         * Throws if the request was cancelled or its deadline has passed
+         */
+        public void check() {
+            if (parent != null) {
+                parent.check();
+            }
+            String reason = cancelReason;
+            if (reason != null) {
+                throw new ReportCancelledException(reason);
+            }
+            if (hasDeadline && System.nanoTime() - deadlineNanos > 0) {
+                throw new ReportCancelledException(DEADLINE);
+            }
+        }
+    }
+
+    /**
+     * Token for a new request
+     *
+     * @param timeoutHeader X-Report-Timeout-Ms value (null or invalid = the default timeout)
+     * @param defaultTimeoutMs timeout for requests without the header (0 = none)
+     * @param marginMs subtracted from the timeout, for sending the response
+     */
+    public static Token forRequest(String timeoutHeader, long defaultTimeoutMs, long marginMs) {
+        long timeoutMs = defaultTimeoutMs;
+        if (timeoutHeader != null && !timeoutHeader.isBlank()) {
+            try {
+                timeoutMs = Long.parseLong(timeoutHeader.trim());
+            } catch (NumberFormatException e) {
+                // Ignored: the render still gets the default timeout
+            }
+        }
+        if (timeoutMs <= 0) {
+            return new Token(0, false, null);
+        }
+        long budgetMs = Math.max(0, timeoutMs - marginMs);
+        return new Token(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs), true, null);
+    }
+
+    /**
+     * Token for the parts of one report rendered on other threads (bundle formats, filter variants)
+     * Cancelled with this thread's request, and on its own so the other parts stop once one fails.
+     */
+    public static Token forParts() {
+        Token request = CURRENT.get();
+        return request != null
+            ? new Token(request.deadlineNanos, request.hasDeadline, request)
+            : new Token(0, false, null);
+    }
+
+    /**
+     * Token of the request handled on this thread (null if none)
+     */
+    public static Token current() {
+        return CURRENT.get();
+    }
+
+    public static void attach(Token token) {
+        CURRENT.set(token);
+    }
+
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Called by renderers between chunks of work: throws if the caller is gone
+     */
+    public static void check() {
+        Token token = CURRENT.get();
+        if (token != null) {
+            token.check();
+        }
+    }
+
+    /**
+     * Runs work with the given token attached to this thread (null = none)
+     */
+    public static <T> T call(Token token, Callable<T> work) throws Exception {
+        Token previous = CURRENT.get();
+        CURRENT.set(token);
+        try {
+            return work.call();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Wraps work handed to another thread so it is cancelled together with this thread's request
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        return propagate(CURRENT.get(), work);
+    }
+
+    /**
+     * Wraps work handed to another thread so it runs with the given token (null = none)
+     */
+    public static <T> Supplier<T> propagate(Token token, Supplier<T> work) {
+        return () -> {
+            Token previous = CURRENT.get();
+            CURRENT.set(token);
+            try {
+                return work.get();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Waits for a result, giving up when this thread's request is cancelled
+     */
+    public static <T> T await(Future<T> future) throws InterruptedException, ExecutionException {
+        Token token = CURRENT.get();
+        if (token == null) {
+            return future.get();
+        }
+        while (true) {
+            token.check();
+            try {
+                return future.get(WAIT_SLICE_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Still running - check the deadline again
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.taskflowpro.reportservice.service;
+
+/**
+ * Thrown inside a render when nobody is waiting for the result any more (see {@link ReportCancellation})
+ * Unchecked, so it passes through PDF/Excel library code and the render's own cleanup unchanged.
+ */
+public class ReportCancelledException extends RuntimeException {
+
+    private final String reason;
+
+    public ReportCancelledException(String reason) {
+        super("Report render cancelled (" + reason + ")", null, false, false);
+        this.reason = reason;
+    }
+
+    /**
+     * {@link ReportCancellation#DEADLINE}, {@link ReportCancellation#DISCONNECT} or {@link ReportCancellation#ABANDONED}
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,92 @@
+package com.taskflowpro.reportservice.service;
+
+import com.taskflowpro.reportservice.dto.ReportEstimate;
+import com.taskflowpro.reportservice.monitoring.ReportCostModel;
+import com.taskflowpro.reportservice.monitoring.ReportLoadMonitor;
+import com.taskflowpro.reportservice.monitoring.ReportPayloadStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Decides when a report is rendered in {@link RenderMode#DEGRADED} mode: a plainer file on time
+ * rather than a rich one late
+ *
+ * A task PDF, task Excel or user summary request (or a bundle or filtered variants of task reports) is degraded when
+ *   - the instance's load factor (see the health endpoint) is at or above report.degraded.load-factor, or
+ *   - the cost model, once calibrated, expects the full render to take longer than the time left
+ *     before the request's deadline (X-Report-Timeout-Ms, see ReportCancellation)
+ * Degraded responses carry an X-Report-Degraded header with the reason; each one is counted in
+ * report.render.degraded (tagged by type and reason).
+ */
+@Service
+public class ReportDegradationPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportDegradationPolicy.class);
+
+    public static final String DEGRADED_HEADER = "X-Report-Degraded";
+
+    // Reasons (header value and metric tag)
+    public static final String LOAD = "load";
+    public static final String DEADLINE = "deadline";
+
+    // Report types that have a degraded mode
+    // (bundles and variants have no render time estimate, so they are only degraded under load)
+    private static final Set<String> DEGRADABLE_TYPES = Set.of("tasks-pdf", "tasks-excel", "user-summary-pdf",
+        "tasks-bundle", "tasks-variants");
+
+    @Autowired
+    private ReportLoadMonitor loadMonitor;
+
+    @Autowired
+    private ReportCostModel costModel;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${report.degraded.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.degraded.load-factor:0.85}")
+    private double loadFactorThreshold;
+
+    /**
+     * Why this request should be rendered degraded, or null for a full render
+     *
+     * @param type report type as used for coalescing (e.g. "tasks-pdf:STANDARD")
+     * @param request the parsed request (measured for the render time estimate)
+     */
+    public String reasonToDegrade(String type, Object request) {
+        int qualifier = type.indexOf(':');
+        String baseType = qualifier >= 0 ? type.substring(0, qualifier) : type;
+        if (!enabled || !DEGRADABLE_TYPES.contains(baseType)) {
+            return null;
+        }
+
+        String reason = null;
+        if (loadMonitor.getStatus().getLoadFactor() >= loadFactorThreshold) {
+            reason = LOAD;
+        } else {
+            ReportCancellation.Token token = ReportCancellation.current();
+            ReportPayloadStats payload = ReportPayloadStats.of(request);
+            if (token != null && token.hasDeadline() && payload != null) {
+                ReportEstimate estimate = costModel.estimate(type, payload);
+                // Uncalibrated estimates are mostly defaults - not reason enough to drop styling
+                if (estimate.isCalibrated() && estimate.getRenderMillis() > token.remainingMillis()) {
+                    reason = DEADLINE;
+                }
+            }
+        }
+
+        if (reason != null) {
+            meterRegistry.counter("report.render.degraded", "type", baseType, "reason", reason).increment();
+            logger.info("Rendering {} in degraded mode ({})", type, reason);
+        }
+        return reason;
+    }
+}
@@ -0,0 +1,210 @@
+package com.taskflowpro.reportservice.service;
+
+import com.lowagie.text.Chunk;
+import com.lowagie.text.Font;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.BaseFont;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of Unicode fonts used by the PDF services
+ *
+ * Built-in Helvetica only covers WinAnsi (cp1252), so names in CJK, Cyrillic or Arabic would be blank.
+ * Configured TTF/OTF fonts are parsed once at startup and the resulting BaseFont objects are
+ * shared by all render threads (they are read-only after creation; glyph usage is tracked per
+ * PdfWriter, so each document embeds only the subset of glyphs it actually uses).
+ *
+ * Text is split into runs: characters Helvetica can draw stay in the original font, everything
+ * else uses the first configured font that has a glyph for it.
+ */
+@Component
+public class ReportFontRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportFontRegistry.class);
+
+    // WinAnsi code of every printable character Helvetica can draw, indexed by char (-1 = not encodable).
+    // Latin-1 plus the cp1252 extras in 0x80-0x9F (euro sign, curly quotes, dashes); ends at U+2122.
+    private static final short[] WIN_ANSI_CODES = winAnsiCodes();
+
+    // Comma separated font files, e.g. /usr/share/fonts/noto/NotoSans-Regular.ttf,/fonts/NotoSansCJK.ttc,0
+    @Value("${report.fonts.unicode:}")
+    private String unicodeFontPaths;
+
+    // Parsed once at startup, in fallback order
+    private final List<BaseFont> unicodeFonts = new ArrayList<>();
+
+    // Derived Font objects per (base style, fallback font) so render paths do not allocate them
+    private final Map<String, Font[]> fallbackFontCache = new ConcurrentHashMap<>();
+
+    /**
+     * Loads and parses the configured font files
+     */
+    @PostConstruct
+    public void loadFonts() {
+        if (unicodeFontPaths == null || unicodeFontPaths.isBlank()) {
+            logger.info("No Unicode fonts configured - PDFs will use built-in Helvetica only");
+            return;
+        }
+        for (String path : splitFontPaths(unicodeFontPaths)) {
+            try {
+                // IDENTITY_H + EMBEDDED: full Unicode range, glyphs subset-embedded per document
+                BaseFont font = BaseFont.createFont(path, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+                unicodeFonts.add(font);
+                logger.info("Loaded Unicode report font {}", path);
+            } catch (Exception e) {
+                logger.error("Could not load report font {}", path, e);
+            }
+        }
+    }
+
+    /**
+     * Builds a phrase for the given text, switching fonts per character run where needed
+     *
+     * @param text text to render (null is treated as empty)
+     * @param baseFont the style the caller would normally use
+     * @return phrase drawing every character with a font that has a glyph for it
+     */
+    public Phrase phrase(String text, Font baseFont) {
+        if (text == null) {
+            text = "";
+        }
+        // Fast path: WinAnsi text renders exactly as before, with no extra objects
+        if (unicodeFonts.isEmpty() || isWinAnsi(text)) {
+            return new Phrase(text, baseFont);
+        }
+
+        Font[] fonts = fallbackFonts(baseFont);
+        Phrase phrase = new Phrase(baseFont.getCalculatedLeading(1.5f));
+        phrase.setFont(baseFont);
+
+        int runStart = 0;
+        int runFont = fontIndexFor(text.codePointAt(0));
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            int fontIndex = fontIndexFor(codePoint);
+            if (fontIndex != runFont) {
+                phrase.add(new Chunk(text.substring(runStart, i), fonts[runFont]));
+                runStart = i;
+                runFont = fontIndex;
+            }
+            i += Character.charCount(codePoint);
+        }
+        phrase.add(new Chunk(text.substring(runStart), fonts[runFont]));
+        return phrase;
+    }
+
+    /**
+     * Whether the text contains right-to-left characters and needs bidi processing
+     */
+    public boolean needsBidi(String text) {
+        if (text == null || unicodeFonts.isEmpty() || isWinAnsi(text)) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            byte direction = Character.getDirectionality(text.charAt(i));
+            if (direction == Character.DIRECTIONALITY_RIGHT_TO_LEFT
+                    || direction == Character.DIRECTIONALITY_RIGHT_TO_LEFT_ARABIC) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the text can be drawn with built-in Helvetica (printable WinAnsi characters and line breaks)
+     */
+    public boolean isWinAnsi(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\n' && winAnsiCode(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * WinAnsi (cp1252) code of a printable character, or -1 if Helvetica cannot draw it
+     */
+    static int winAnsiCode(int c) {
+        return c < WIN_ANSI_CODES.length ? WIN_ANSI_CODES[c] : -1;
+    }
+
+    private static short[] winAnsiCodes() {
+        Charset cp1252 = Charset.forName(BaseFont.CP1252);
+        CharsetEncoder encoder = cp1252.newEncoder();
+        short[] codes = new short[0x2123];
+        Arrays.fill(codes, (short) -1);
+        for (char c = 0x20; c < codes.length; c++) {
+            // C0/C1 controls are encodable but draw nothing
+            if (!Character.isISOControl(c) && encoder.canEncode(c)) {
+                codes[c] = (short) (String.valueOf(c).getBytes(cp1252)[0] & 0xFF);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Index into the fallback font array: 0 = base font, 1..n = configured Unicode fonts
+     */
+    private int fontIndexFor(int codePoint) {
+        if (winAnsiCode(codePoint) >= 0) {
+            return 0;
+        }
+        for (int i = 0; i < unicodeFonts.size(); i++) {
+            if (unicodeFonts.get(i).charExists(codePoint)) {
+                return i + 1;
+            }
+        }
+        return 0; // No font has the glyph - keep the base font
+    }
+
+    /**
+     * Returns the base font followed by each Unicode font in the same size, style and colour
+     */
+    private Font[] fallbackFonts(Font baseFont) {
+        String key = baseFont.getFamilyname() + "|" + baseFont.getSize() + "|" + baseFont.getStyle()
+            + "|" + (baseFont.getColor() != null ? baseFont.getColor().getRGB() : 0);
+        return fallbackFontCache.computeIfAbsent(key, k -> {
+            Font[] fonts = new Font[unicodeFonts.size() + 1];
+            fonts[0] = baseFont;
+            for (int i = 0; i < unicodeFonts.size(); i++) {
+                fonts[i + 1] = new Font(unicodeFonts.get(i), baseFont.getSize(), baseFont.getStyle(), baseFont.getColor());
+            }
+            return fonts;
+        });
+    }
+
+    /**
+     * Splits the configured list; TrueType collections keep their ",index" suffix
+     */
+    private List<String> splitFontPaths(String paths) {
+        List<String> result = new ArrayList<>();
+        for (String part : paths.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.matches("\\d+") && !result.isEmpty()
+                    && result.get(result.size() - 1).toLowerCase().endsWith(".ttc")) {
+                result.set(result.size() - 1, result.get(result.size() - 1) + "," + trimmed);
+            } else {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+}
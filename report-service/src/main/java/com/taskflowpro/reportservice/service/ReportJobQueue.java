@@ -0,0 +1,474 @@
+package com.taskflowpro.reportservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflowpro.reportservice.dto.ReportJob;
+import com.taskflowpro.reportservice.dto.ReportJobStatus;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Durable report job queue stored in a shared directory
+ *
+ * Several report-service instances on the same host (or on a shared volume) can point at the
+ * same directory. Every state change is a single atomic file rename, so exactly one instance
+ * wins each claim without any external broker:
+ *   keys/      - one empty marker per idempotency key (created with CREATE_NEW)
+ *   pending/   - jobs waiting for a worker
+ *   claimed/   - jobs being rendered; the file's modification time is the lease heartbeat
+ *   done/      - finished jobs (job.json plus the rendered .out file)
+ *   failed/    - jobs that exhausted their attempts
+ *
+ * Done and failed jobs (with their key markers) are purged after report.jobs.retention-ms;
+ * after that, or as soon as a job has failed, the same key can be submitted again.
+ */
+@Service
+public class ReportJobQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobQueue.class);
+
+    public static final String STATE_PENDING = "pending";
+    public static final String STATE_RUNNING = "running";
+    public static final String STATE_DONE = "done";
+    public static final String STATE_FAILED = "failed";
+
+    // Client keys are used as file names as they are
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,128}");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${report.jobs.dir:./report-jobs}")
+    private String jobsDir;
+
+    @Value("${report.jobs.lease-timeout-ms:120000}")
+    private long leaseTimeoutMs;
+
+    @Value("${report.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${report.jobs.retention-ms:86400000}")
+    private long retentionMs;
+
+    private Path keysDir;
+    private Path pendingDir;
+    private Path claimedDir;
+    private Path doneDir;
+    private Path failedDir;
+    private Path tmpDir;
+
+    /**
+     * Creates the queue directories if they do not exist yet
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Path root = Paths.get(jobsDir).toAbsolutePath();
+        keysDir = Files.createDirectories(root.resolve("keys"));
+        pendingDir = Files.createDirectories(root.resolve(STATE_PENDING));
+        claimedDir = Files.createDirectories(root.resolve("claimed"));
+        doneDir = Files.createDirectories(root.resolve(STATE_DONE));
+        failedDir = Files.createDirectories(root.resolve(STATE_FAILED));
+        tmpDir = Files.createDirectories(root.resolve("tmp"));
+        logger.info("Report job queue using directory {}", root);
+    }
+
+    /**
+     * Adds a job to the queue unless a job with the same key already exists
+     * A key whose job failed is queued again with the new payload.
+     *
+     * @param type job type ("tasks-pdf", "tasks-excel", "user-summary-pdf")
+     * @param payload request body to render
+     * @param requestedKey client supplied idempotency key, or null to derive one from the payload
+     * @return status of the new or already existing job
+     * @throws IllegalArgumentException if the requested key has characters outside [A-Za-z0-9_-] or is too long
+     */
+    public ReportJobStatus enqueue(String type, Object payload, String requestedKey) throws IOException {
+        JsonNode payloadJson = objectMapper.valueToTree(payload);
+        String key = requestedKey != null && !requestedKey.isBlank()
+            ? validateKey(requestedKey)
+            : hashKey(type, payloadJson);
+
+        // The job is written to tmp/ first, so only a rename is left once the key is ours
+        ReportJob job = new ReportJob(key, type, 0, Instant.now().toString(), null, payloadJson);
+        Path prepared = tmpDir.resolve(key + ".json." + UUID.randomUUID());
+        Files.write(prepared, objectMapper.writeValueAsBytes(job));
+        try {
+            if (claimKey(key) || takeOverFailedJob(key)) {
+                Files.move(prepared, pendingDir.resolve(key + ".json"),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                logger.info("Enqueued report job {} of type {}", key, type);
+                return new ReportJobStatus(key, type, STATE_PENDING, 0, null);
+            }
+        } finally {
+            Files.deleteIfExists(prepared);
+        }
+
+        logger.info("Report job {} already exists, returning current status", key);
+        ReportJobStatus existing = getStatus(key);
+        if (existing != null) {
+            return existing;
+        }
+        // Marker without a job file means the first submitter is still moving it into place
+        return new ReportJobStatus(key, type, STATE_PENDING, 0, null);
+    }
+
+    /**
+     * Creates the key marker exclusively - only the first submitter of a key writes the job.
+     * A marker left behind by a submitter that died before its job reached pending/ is taken over
+     * once it is older than the lease timeout.
+     *
+     * @return true if this caller now owns the key
+     */
+    private boolean claimKey(String key) throws IOException {
+        Path marker = keysDir.resolve(key);
+        try {
+            Files.createFile(marker);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            if (!removeOrphanedMarker(marker)) {
+                return false;
+            }
+        }
+        try {
+            Files.createFile(marker);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false; // Another submitter took the key over first
+        }
+    }
+
+    /**
+     * Removes a key marker that has been without a job for longer than the lease timeout
+     *
+     * @return true if the marker was removed
+     */
+    private boolean removeOrphanedMarker(Path marker) throws IOException {
+        String key = marker.getFileName().toString();
+        if (System.currentTimeMillis() - lastModifiedOrZero(marker) < leaseTimeoutMs || jobExists(key)) {
+            return false;
+        }
+        // Moving to a private temp name decides which instance handles the orphan
+        Path owned = tmpDir.resolve("key-" + key + "." + UUID.randomUUID());
+        try {
+            Files.move(marker, owned, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        if (System.currentTimeMillis() - lastModifiedOrZero(owned) < leaseTimeoutMs || jobExists(key)) {
+            // Raced with a submitter that just recreated the key - give it back
+            try {
+                Files.move(owned, marker);
+            } catch (FileAlreadyExistsException ignored) {
+                // Recreated once more in the meantime
+            }
+            Files.deleteIfExists(owned);
+            return false;
+        }
+        Files.delete(owned);
+        logger.warn("Removed orphaned key marker of report job {}", key);
+        return true;
+    }
+
+    /**
+     * Takes a failed job out of failed/ so its key can be queued again
+     *
+     * @return true if this caller took the failed job over
+     */
+    private boolean takeOverFailedJob(String key) throws IOException {
+        Path owned = tmpDir.resolve(key + ".failed." + UUID.randomUUID());
+        try {
+            Files.move(failedDir.resolve(key + ".json"), owned, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        Files.delete(owned);
+        logger.info("Resubmitting failed report job {}", key);
+        return true;
+    }
+
+    /**
+     * Tries to claim one pending job for this instance
+     *
+     * @return the claimed job, or empty if nothing is pending
+     */
+    public Optional<ReportJob> claimNext() throws IOException {
+        for (Path pending : listOldestFirst(pendingDir)) {
+            Path claimed = claimedDir.resolve(pending.getFileName());
+            try {
+                // Start the lease before the rename so the reaper never sees a stale heartbeat
+                Files.setLastModifiedTime(pending, FileTime.from(Instant.now()));
+                Files.move(pending, claimed, StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException e) {
+                continue; // Another instance claimed it first
+            }
+
+            ReportJob job = objectMapper.readValue(claimed.toFile(), ReportJob.class);
+            job.setAttempts(job.getAttempts() + 1);
+            // Replaced as a whole, so a reaper or status read never sees a half-written job (the new file's time renews the lease)
+            writeAtomically(claimed, objectMapper.writeValueAsBytes(job));
+            logger.info("Claimed report job {} (attempt {})", job.getKey(), job.getAttempts());
+            return Optional.of(job);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Extends the lease of a job this instance is still rendering
+     */
+    public void renewLease(String key) {
+        try {
+            Files.setLastModifiedTime(claimedDir.resolve(key + ".json"), FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            logger.warn("Could not renew lease for report job {} - it may have been reclaimed", key);
+        }
+    }
+
+    /**
+     * Stores the rendered output and marks the job as done
+     */
+    public void complete(ReportJob job, byte[] output) throws IOException {
+        writeAtomically(doneDir.resolve(job.getKey() + ".out"), output);
+        try {
+            Files.move(claimedDir.resolve(job.getKey() + ".json"), doneDir.resolve(job.getKey() + ".json"),
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            // Lease expired and the job was reclaimed; the identical output is already stored
+            logger.warn("Report job {} finished after its lease expired", job.getKey());
+        }
+        logger.info("Report job {} completed ({} bytes)", job.getKey(), output.length);
+    }
+
+    /**
+     * Records a failed attempt; the job is retried until it runs out of attempts
+     */
+    public void fail(ReportJob job, String error) throws IOException {
+        Path claimed = claimedDir.resolve(job.getKey() + ".json");
+        Path owned = tmpDir.resolve(job.getKey() + "." + UUID.randomUUID());
+        try {
+            Files.move(claimed, owned, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return; // Already reclaimed by another instance
+        }
+        job.setError(error);
+        release(job, owned);
+    }
+
+    /**
+     * Returns claimed jobs whose worker stopped renewing the lease back to the queue
+     *
+     * @return number of jobs that were reclaimed
+     */
+    public int reclaimExpiredLeases() throws IOException {
+        int reclaimed = 0;
+        long cutoff = System.currentTimeMillis() - leaseTimeoutMs;
+        for (Path claimed : listOldestFirst(claimedDir)) {
+            try {
+                if (Files.getLastModifiedTime(claimed).toMillis() > cutoff) {
+                    continue;
+                }
+                // Moving to a private temp name decides which instance handles the expired lease
+                Path owned = tmpDir.resolve(claimed.getFileName() + "." + UUID.randomUUID());
+                Files.move(claimed, owned, StandardCopyOption.ATOMIC_MOVE);
+
+                ReportJob job = objectMapper.readValue(owned.toFile(), ReportJob.class);
+                job.setError("Lease expired - worker stopped responding");
+                logger.warn("Reclaiming report job {} after lease expiry", job.getKey());
+                release(job, owned);
+                reclaimed++;
+            } catch (NoSuchFileException e) {
+                // Completed or reclaimed concurrently
+            }
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Looks up the state of a job by key
+     *
+     * @return job status, or null if the key is unknown
+     */
+    public ReportJobStatus getStatus(String key) throws IOException {
+        String safeKey = validateKey(key);
+        String[][] locations = {
+            {STATE_DONE, doneDir.toString()},
+            {STATE_FAILED, failedDir.toString()},
+            {STATE_RUNNING, claimedDir.toString()},
+            {STATE_PENDING, pendingDir.toString()}
+        };
+        for (String[] location : locations) {
+            Path file = Paths.get(location[1]).resolve(safeKey + ".json");
+            try {
+                ReportJob job = objectMapper.readValue(file.toFile(), ReportJob.class);
+                return new ReportJobStatus(job.getKey(), job.getType(), location[0], job.getAttempts(), job.getError());
+            } catch (IOException e) {
+                if (Files.exists(file)) {
+                    throw e;
+                }
+                // Not in this state (or moved while we looked) - check the next one
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the rendered output of a finished job
+     *
+     * @return output bytes, or empty if the job is not done
+     */
+    public Optional<byte[]> getResult(String key) throws IOException {
+        String safeKey = validateKey(key);
+        Path output = doneDir.resolve(safeKey + ".out");
+        if (!Files.exists(doneDir.resolve(safeKey + ".json"))) {
+            return Optional.empty();
+        }
+        return Optional.of(Files.readAllBytes(output));
+    }
+
+    /**
+     * Number of jobs waiting to be claimed
+     */
+    public int countPending() throws IOException {
+        try (Stream<Path> files = Files.list(pendingDir)) {
+            return (int) files.filter(p -> p.toString().endsWith(".json")).count();
+        }
+    }
+
+    /**
+     * Deletes done and failed jobs older than the retention period, their outputs and key markers,
+     * plus orphaned key markers and temp files left behind by instances that died
+     *
+     * @return number of jobs that were purged
+     */
+    public int purgeExpired() throws IOException {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        int purged = 0;
+        for (Path dir : List.of(doneDir, failedDir)) {
+            for (Path file : listOldestFirst(dir)) {
+                if (lastModifiedOrZero(file) > cutoff) {
+                    break; // Oldest first - the rest are newer
+                }
+                String key = file.getFileName().toString().replaceFirst("\\.json$", "");
+                Path owned = tmpDir.resolve(key + ".purge." + UUID.randomUUID());
+                try {
+                    Files.move(file, owned, StandardCopyOption.ATOMIC_MOVE);
+                } catch (NoSuchFileException e) {
+                    continue; // Purged or resubmitted concurrently
+                }
+                // Output before the marker: once the marker is gone the key can produce a new output
+                Files.deleteIfExists(doneDir.resolve(key + ".out"));
+                Files.deleteIfExists(keysDir.resolve(key));
+                Files.delete(owned);
+                purged++;
+            }
+        }
+
+        try (DirectoryStream<Path> markers = Files.newDirectoryStream(keysDir)) {
+            for (Path marker : markers) {
+                removeOrphanedMarker(marker);
+            }
+        }
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(tmpDir)) {
+            for (Path temp : temps) {
+                if (lastModifiedOrZero(temp) < cutoff) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+
+        if (purged > 0) {
+            logger.info("Purged {} expired report jobs", purged);
+        }
+        return purged;
+    }
+
+    /**
+     * Moves a job this instance owns (in tmp/) back to pending, or to failed when out of attempts
+     */
+    private void release(ReportJob job, Path owned) throws IOException {
+        Files.write(owned, objectMapper.writeValueAsBytes(job));
+        Path target = job.getAttempts() >= maxAttempts
+            ? failedDir.resolve(job.getKey() + ".json")
+            : pendingDir.resolve(job.getKey() + ".json");
+        Files.move(owned, target, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Report job {} moved to {}", job.getKey(), target.getParent().getFileName());
+    }
+
+    /**
+     * Writes a file through tmp/ and renames it into place so readers never see partial content
+     */
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = tmpDir.resolve(target.getFileName() + "." + UUID.randomUUID());
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Lists job files ordered by modification time so older jobs are claimed first
+     */
+    private List<Path> listOldestFirst(Path dir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(Comparator.comparingLong(this::lastModifiedOrZero));
+        return files;
+    }
+
+    private long lastModifiedOrZero(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Derives an idempotency key from the job type and payload
+     */
+    private String hashKey(String type, JsonNode payload) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(type.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(payload));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Whether a job file for the key exists in any state
+     */
+    private boolean jobExists(String key) {
+        String file = key + ".json";
+        return Files.exists(pendingDir.resolve(file)) || Files.exists(claimedDir.resolve(file))
+            || Files.exists(doneDir.resolve(file)) || Files.exists(failedDir.resolve(file));
+    }
+
+    /**
+     * Accepts only keys that are safe in file names as they are (1-128 of A-Z a-z 0-9 _ -).
+     * Keys are not rewritten: two different client keys must never end up as the same job.
+     */
+    private String validateKey(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Job key must be 1-128 characters of A-Z, a-z, 0-9, '_' and '-'");
+        }
+        return key;
+    }
+}
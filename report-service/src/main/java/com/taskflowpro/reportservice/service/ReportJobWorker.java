@@ -0,0 +1,179 @@
+package com.taskflowpro.reportservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflowpro.reportservice.dto.ReportJob;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Pulls report jobs from the shared {@link ReportJobQueue} and renders them
+ * Every running instance runs one of these, so adding instances adds rendering capacity
+ */
+@Component
+public class ReportJobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobWorker.class);
+
+    @Autowired
+    private ReportJobQueue jobQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskPdfService taskPdfService;
+
+    @Autowired
+    private TaskExcelService taskExcelService;
+
+    @Autowired
+    private UserSummaryPdfService userSummaryPdfService;
+
+    @Value("${report.jobs.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.jobs.worker-threads:2}")
+    private int workerThreads;
+
+    // Queued jobs are archived exports, so by default they favour file size over CPU time
+    @Value("${report.compression.jobs:small}")
+    private String jobCompression;
+
+    private ExecutorService executor;
+    private Semaphore freeSlots;
+
+    // Keys of jobs this instance is rendering right now (their leases get renewed)
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "report-job-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        freeSlots = new Semaphore(workerThreads);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Claims pending jobs while this instance has free worker threads
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            while (freeSlots.tryAcquire()) {
+                Optional<ReportJob> claimed = jobQueue.claimNext();
+                if (claimed.isEmpty()) {
+                    freeSlots.release();
+                    return;
+                }
+                ReportJob job = claimed.get();
+                activeJobs.add(job.getKey());
+                executor.execute(() -> run(job));
+            }
+        } catch (Exception e) {
+            logger.error("Error polling report job queue", e);
+        }
+    }
+
+    /**
+     * Number of jobs this instance is rendering right now
+     */
+    public int getActiveJobCount() {
+        return activeJobs.size();
+    }
+
+    /**
+     * Renews leases of running jobs and puts jobs of dead workers back in the queue
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        activeJobs.forEach(jobQueue::renewLease);
+        try {
+            int reclaimed = jobQueue.reclaimExpiredLeases();
+            if (reclaimed > 0) {
+                logger.warn("Reclaimed {} report jobs with expired leases", reclaimed);
+            }
+        } catch (Exception e) {
+            logger.error("Error reclaiming expired report job leases", e);
+        }
+    }
+
+    /**
+     * Deletes finished and failed jobs that are past their retention period
+     * (every instance runs it; each file is handled by whichever instance renames it first)
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jobQueue.purgeExpired();
+        } catch (Exception e) {
+            logger.error("Error purging expired report jobs", e);
+        }
+    }
+
+    /**
+     * Renders a single claimed job and records the outcome in the queue
+     */
+    private void run(ReportJob job) {
+        try {
+            byte[] output = render(job);
+            jobQueue.complete(job, output);
+        } catch (Exception e) {
+            logger.error("Report job {} failed on attempt {}", job.getKey(), job.getAttempts(), e);
+            try {
+                jobQueue.fail(job, e.getMessage());
+            } catch (Exception failError) {
+                logger.error("Could not record failure of report job {}", job.getKey(), failError);
+            }
+        } finally {
+            activeJobs.remove(job.getKey());
+            freeSlots.release();
+        }
+    }
+
+    /**
+     * Dispatches the job payload to the matching report service
+     */
+    private byte[] render(ReportJob job) throws Exception {
+        CompressionProfile compression = CompressionProfile.parse(jobCompression, CompressionProfile.SMALL);
+        return switch (job.getType()) {
+            case "tasks-pdf" -> taskPdfService.generateTaskReportPdf(
+                objectMapper.treeToValue(job.getPayload(), ReportRequest.class), compression);
+            case "tasks-excel" -> taskExcelService.generateTaskReportExcel(
+                objectMapper.treeToValue(job.getPayload(), ReportRequest.class), compression);
+            case "user-summary-pdf" -> userSummaryPdfService.generateUserSummaryPdf(
+                objectMapper.treeToValue(job.getPayload(), UserSummaryReportRequest.class), compression);
+            default -> throw new IllegalArgumentException("Unknown report job type: " + job.getType());
+        };
+    }
+}
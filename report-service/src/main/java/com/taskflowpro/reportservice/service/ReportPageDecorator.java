@@ -0,0 +1,260 @@
+package com.taskflowpro.reportservice.service;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import com.lowagie.text.ExceptionConverter;
+import com.lowagie.text.Font;
+import com.lowagie.text.Image;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.ColumnText;
+import com.lowagie.text.pdf.PRIndirectReference;
+import com.lowagie.text.pdf.PdfContentByte;
+import com.lowagie.text.pdf.PdfDictionary;
+import com.lowagie.text.pdf.PdfIndirectReference;
+import com.lowagie.text.pdf.PdfName;
+import com.lowagie.text.pdf.PdfPageEventHelper;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.PdfRectangle;
+import com.lowagie.text.pdf.PdfStamper;
+import com.lowagie.text.pdf.PdfStream;
+import com.lowagie.text.pdf.PdfTemplate;
+import com.lowagie.text.pdf.PdfWriter;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Running header and "Page X of Y" footer for PDF reports
+ *
+ * The header (branding + report title) is drawn once into a template (a PDF form XObject);
+ * every page only references it, so it is stored once no matter how many pages there are.
+ * The total page count is not known until the end, so the footer points at a small empty
+ * template that is filled in when the document closes. The catalog points at that template too,
+ * so appending pages later only has to rewrite it.
+ *
+ * Create one per document and register it with writer.setPageEvent() before document.open().
+ */
+public class ReportPageDecorator extends PdfPageEventHelper {
+
+    private static final String BRANDING = "TaskFlowPro - Task Management System";
+    private static final float FONT_SIZE = 8f;
+    private static final Color TEXT_COLOR = Color.DARK_GRAY;
+
+    // Built-in font, shared by every document (not embedded, nothing to subset)
+    private static final BaseFont FOOTER_FONT = createFooterFont();
+    private static final Font BRANDING_FONT = new Font(FOOTER_FONT, FONT_SIZE, Font.NORMAL, TEXT_COLOR);
+
+    // Size of the page total placeholder: wide enough for a six-digit page count
+    private static final float TOTAL_WIDTH = FOOTER_FONT.getWidthPoint("000000", FONT_SIZE);
+    private static final float TOTAL_HEIGHT = FONT_SIZE + 2;
+
+    // Catalog entry pointing at the page total placeholder shared by all pages
+    private static final PdfName PAGE_TOTAL = new PdfName("TaskFlowProPageTotal");
+
+    private final Phrase title;
+
+    private PdfTemplate headerTemplate;
+    private PdfTemplate totalPagesTemplate;
+    private int lastPage = 0;
+
+    /**
+     * @param title report title shown on the right of the header (already built with the right fonts)
+     */
+    public ReportPageDecorator(Phrase title) {
+        this.title = title;
+    }
+
+    /**
+     * Draws the static header once and reserves the space for the page total
+     */
+    @Override
+    public void onOpenDocument(PdfWriter writer, Document document) {
+        PdfContentByte canvas = writer.getDirectContent();
+        headerTemplate = createHeaderTemplate(canvas, document.right() - document.left());
+        totalPagesTemplate = canvas.createTemplate(TOTAL_WIDTH, TOTAL_HEIGHT);
+        // Found again by appends (decorateAppendedPages), which rewrite only this object
+        writer.getExtraCatalog().put(PAGE_TOTAL, totalPagesTemplate.getIndirectReference());
+    }
+
+    /**
+     * Places the header template and the "Page X of " text plus total placeholder on each page
+     */
+    @Override
+    public void onEndPage(PdfWriter writer, Document document) {
+        PdfContentByte canvas = writer.getDirectContent();
+        lastPage = writer.getPageNumber();
+
+        // Header sits in the top margin
+        canvas.addTemplate(headerTemplate, document.left(), document.top() + 8);
+        float y = document.bottom() / 2;
+        canvas.addTemplate(totalPagesTemplate, showFooter(canvas, lastPage, lastPage, document.getPageSize(), y), y);
+    }
+
+    /**
+     * Writes the final page count into the placeholder referenced by every footer
+     */
+    @Override
+    public void onCloseDocument(PdfWriter writer, Document document) {
+        writeTotal(totalPagesTemplate, lastPage);
+    }
+
+    /**
+     * Decorates pages appended to an existing report through an incremental update
+     * Every page of the report shows the total through one shared placeholder, found through the
+     * catalog, so the update rewrites that single object and earlier pages are not visited.
+     * Reports saved without it (no footer total) get one for the appended pages.
+     *
+     * @param stamper   stamper in append mode that added the pages
+     * @param firstPage first appended page
+     * @param lastPage  last page of the document
+     * @param body      content area of the pages (header goes above it, footer below it)
+     */
+    public void decorateAppendedPages(PdfStamper stamper, int firstPage, int lastPage, Rectangle body)
+            throws IOException {
+        PdfIndirectReference totalReference = rewriteSharedTotal(stamper, lastPage);
+        Image total;
+        try {
+            // Stands for the existing object: pages only get a resource entry and "Do", nothing is copied
+            total = Image.getInstance(1, 1, 1, 8, new byte[] {0});
+        } catch (BadElementException e) {
+            throw new ExceptionConverter(e);
+        }
+        total.setDirectReference(totalReference);
+
+        // One header template shared by all appended pages
+        PdfTemplate header = createHeaderTemplate(stamper.getOverContent(firstPage), body.getWidth());
+        for (int pageNumber = firstPage; pageNumber <= lastPage; pageNumber++) {
+            PdfContentByte canvas = stamper.getOverContent(pageNumber);
+            Rectangle page = stamper.getReader().getPageSize(pageNumber);
+            float y = body.getBottom() / 2;
+            canvas.addTemplate(header, body.getLeft(), body.getTop() + 8);
+            canvas.addImage(total, 1, 0, 0, 1, showFooter(canvas, pageNumber, lastPage, page, y), y);
+        }
+    }
+
+    /**
+     * Writes the new total into the shared page total placeholder, under its object number so the
+     * incremental update supersedes the old one, or into a new placeholder registered in the catalog
+     */
+    private static PdfIndirectReference rewriteSharedTotal(PdfStamper stamper, int total) throws IOException {
+        PdfDictionary catalog = stamper.getReader().getCatalog();
+        if (catalog.get(PAGE_TOTAL) instanceof PRIndirectReference reference
+                && PdfReader.getPdfObject(reference) instanceof PdfDictionary template) {
+            stamper.getWriter().addToBody(totalStream(template, total), reference);
+            return reference;
+        }
+        PdfIndirectReference reference = stamper.getWriter().getPdfIndirectReference();
+        stamper.getWriter().addToBody(totalStream(newTotalTemplate(stamper.getWriter()), total), reference);
+        catalog.put(PAGE_TOTAL, reference);
+        stamper.markUsed(catalog);
+        return reference;
+    }
+
+    /**
+     * Dictionary of an empty page total placeholder drawn with the footer font
+     */
+    private static PdfDictionary newTotalTemplate(PdfWriter writer) throws IOException {
+        PdfDictionary font = new PdfDictionary(PdfName.FONT);
+        font.put(PdfName.SUBTYPE, PdfName.TYPE1);
+        font.put(PdfName.BASEFONT, PdfName.HELVETICA);
+        font.put(PdfName.ENCODING, PdfName.WIN_ANSI_ENCODING);
+        PdfDictionary fonts = new PdfDictionary();
+        fonts.put(new PdfName("F1"), writer.addToBody(font).getIndirectReference());
+        PdfDictionary resources = new PdfDictionary();
+        resources.put(PdfName.FONT, fonts);
+
+        PdfDictionary template = new PdfDictionary(PdfName.XOBJECT);
+        template.put(PdfName.SUBTYPE, PdfName.FORM);
+        template.put(PdfName.BBOX, new PdfRectangle(TOTAL_WIDTH, TOTAL_HEIGHT));
+        template.put(PdfName.RESOURCES, resources);
+        return template;
+    }
+
+    /**
+     * Copy of a page total placeholder (same bounding box and resources) showing the given total
+     */
+    private static PdfStream totalStream(PdfDictionary template, int total) {
+        PdfDictionary resources = template.getAsDict(PdfName.RESOURCES);
+        PdfDictionary fonts = resources == null ? null : resources.getAsDict(PdfName.FONT);
+        if (fonts == null || fonts.getKeys().isEmpty()) {
+            throw new IllegalArgumentException("Page total placeholder has no font");
+        }
+        // The placeholder only ever uses the footer font
+        PdfName font = fonts.getKeys().iterator().next();
+        float gray = TEXT_COLOR.getRed() / 255f;
+        String content = String.format(Locale.ROOT, "BT\n%s %s Tf\n%.5f %.5f %.5f rg\n1 0 0 1 0 0 Tm\n(%d) Tj\nET\n",
+            font, (int) FONT_SIZE, gray, gray, gray, total);
+
+        PdfStream stream = new PdfStream(content.getBytes(StandardCharsets.ISO_8859_1));
+        for (PdfName key : template.getKeys()) {
+            if (!PdfName.LENGTH.equals(key) && !PdfName.FILTER.equals(key) && !PdfName.DECODEPARMS.equals(key)) {
+                stream.put(key, template.get(key));
+            }
+        }
+        stream.flateCompress();
+        return stream;
+    }
+
+    /**
+     * "Page X of ", centered in the bottom margin together with the total
+     *
+     * @return x position of the total placeholder
+     */
+    private float showFooter(PdfContentByte canvas, int pageNumber, int totalGuess, Rectangle page, float y) {
+        String text = "Page " + pageNumber + " of ";
+        float textWidth = FOOTER_FONT.getWidthPoint(text, FONT_SIZE);
+        float totalWidth = FOOTER_FONT.getWidthPoint(String.valueOf(totalGuess), FONT_SIZE);
+        float x = (page.getLeft() + page.getRight() - textWidth - totalWidth) / 2;
+
+        showFooterText(canvas, text, x, y);
+        return x + textWidth;
+    }
+
+    private static void writeTotal(PdfTemplate template, int total) {
+        template.beginText();
+        template.setFontAndSize(FOOTER_FONT, FONT_SIZE);
+        template.setColorFill(TEXT_COLOR);
+        template.setTextMatrix(0, 0);
+        template.showText(String.valueOf(total));
+        template.endText();
+    }
+
+    /**
+     * Branding on the left, report title on the right, thin rule underneath
+     */
+    private PdfTemplate createHeaderTemplate(PdfContentByte canvas, float width) {
+        PdfTemplate template = canvas.createTemplate(width, 16);
+        ColumnText.showTextAligned(template, Element.ALIGN_LEFT, new Phrase(BRANDING, BRANDING_FONT), 0, 6, 0);
+        ColumnText.showTextAligned(template, Element.ALIGN_RIGHT, title, width, 6, 0);
+        template.setColorStroke(Color.LIGHT_GRAY);
+        template.setLineWidth(0.5f);
+        template.moveTo(0, 2);
+        template.lineTo(width, 2);
+        template.stroke();
+        return template;
+    }
+
+    private void showFooterText(PdfContentByte canvas, String text, float x, float y) {
+        canvas.saveState();
+        canvas.beginText();
+        canvas.setFontAndSize(FOOTER_FONT, FONT_SIZE);
+        canvas.setColorFill(TEXT_COLOR);
+        canvas.setTextMatrix(x, y);
+        canvas.showText(text);
+        canvas.endText();
+        canvas.restoreState();
+    }
+
+    private static BaseFont createFooterFont() {
+        try {
+            return BaseFont.createFont(BaseFont.HELVETICA, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+        } catch (Exception e) {
+            throw new ExceptionConverter(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskflowpro.reportservice.service;
+
+import com.taskflowpro.reportservice.monitoring.RenderAllocations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Parts of one report rendered concurrently on the render pool (bundle formats, filter variants)
+ *
+ * Parts run with their own cancellation token (ReportCancellation.forParts): they stop with the
+ * request, and once one part fails the others stop at their next check instead of rendering for
+ * nothing. next() hands out the parts in submission order and rethrows the failure that stopped
+ * them, not the cancellations it caused. close() stops and releases the parts nobody took.
+ */
+final class ReportParts implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final ReportCancellation.Token token = ReportCancellation.forParts();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final List<CompletableFuture<ReportBuffer>> parts = new ArrayList<>();
+    private int taken;
+
+    ReportParts(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts rendering one part
+     */
+    void submit(Supplier<ReportBuffer> render) {
+        CompletableFuture<ReportBuffer> part = CompletableFuture.supplyAsync(
+            ReportCancellation.propagate(token, RenderAllocations.propagate(render)), executor);
+        part.whenComplete((buffer, e) -> {
+            if (e != null && failure.compareAndSet(null, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e)) {
+                token.cancel(ReportCancellation.ABANDONED);
+            }
+        });
+        parts.add(part);
+    }
+
+    /**
+     * Waits for the next part in submission order; the caller closes it
+     */
+    ReportBuffer next() throws Exception {
+        CompletableFuture<ReportBuffer> part = parts.get(taken);
+        try {
+            ReportBuffer buffer = ReportCancellation.await(part);
+            taken++;
+            return buffer;
+        } catch (ExecutionException e) {
+            // A part stopped because a sibling failed reports the sibling's failure
+            Throwable cause = failure.get() != null ? failure.get() : e.getCause();
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw cause instanceof Exception exception ? exception : e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (taken < parts.size()) {
+            token.cancel(ReportCancellation.ABANDONED);
+            // Parts still rendering give their buffers back once they stop
+            for (CompletableFuture<ReportBuffer> part : parts.subList(taken, parts.size())) {
+                part.thenAccept(ReportBuffer::close);
+            }
+        }
+    }
+}
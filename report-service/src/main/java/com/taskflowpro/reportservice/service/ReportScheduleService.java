@@ -0,0 +1,582 @@
+package com.taskflowpro.reportservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.ReportViews;
+import com.taskflowpro.reportservice.dto.ScheduledReport;
+import com.taskflowpro.reportservice.dto.ScheduledReportStatus;
+import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+import com.taskflowpro.reportservice.monitoring.ReportLoadMonitor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Renders recurring reports ahead of time so peak-hour requests are served from stored files
+ *
+ * Each scheduled report is a stored request plus a cron expression (e.g. the weekly workspace
+ * report at 03:00 on Monday). When the cron fires, the report is rendered on a small pool of
+ * low-priority threads that is separate from the live render pool, and the finished file replaces
+ * the previous one. Renders are also held back while this instance is busy (see ReportLoadMonitor).
+ *
+ * Live requests for exactly the same report (same type and, as the live endpoint reads it, the same
+ * request) are answered from the stored file too - see findPrecomputed().
+ *
+ * Everything is kept in a directory that several instances can share, like the job queue:
+ *   definitions/ - one JSON file per scheduled report
+ *   output/      - the last rendered file (name.out) and its status (name.json)
+ *   runs/        - one marker per cron firing, created with CREATE_NEW so only one instance renders it
+ *   tmp/         - files being written
+ */
+@Service
+public class ReportScheduleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportScheduleService.class);
+
+    public static final Set<String> TYPES = Set.of("tasks-pdf", "tasks-excel", "user-summary-pdf");
+
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z0-9_-]{1,64}");
+
+    // How often a deferred render checks whether the instance has become quiet
+    private static final long BUSY_RETRY_MS = 15_000;
+
+    // Run markers older than this are removed (they only need to outlive one cron firing)
+    private static final Duration RUN_MARKER_AGE = Duration.ofDays(1);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TaskPdfService taskPdfService;
+
+    @Autowired
+    private TaskExcelService taskExcelService;
+
+    @Autowired
+    private UserSummaryPdfService userSummaryPdfService;
+
+    @Autowired
+    private ReportLoadMonitor loadMonitor;
+
+    // Hashes requests the same way request coalescing does
+    @Autowired
+    private ReportSingleFlight singleFlight;
+
+    @Autowired
+    private ReportBufferPool bufferPool;
+
+    @Value("${report.schedules.enabled:true}")
+    private boolean enabled;
+
+    @Value("${report.schedules.dir:./report-schedules}")
+    private String schedulesDir;
+
+    @Value("${report.schedules.threads:1}")
+    private int threads;
+
+    // Precomputed files are downloaded many times, so by default they favour file size
+    @Value("${report.schedules.compression:small}")
+    private String defaultCompression;
+
+    @Value("${report.schedules.max-load-factor:0.7}")
+    private double maxLoadFactor;
+
+    @Value("${report.schedules.max-defer-minutes:30}")
+    private long maxDeferMinutes;
+
+    // Serve live requests that match a scheduled report from its stored file
+    @Value("${report.schedules.serve-live:true}")
+    private boolean serveLive;
+
+    private Path definitionsDir;
+    private Path outputDir;
+    private Path runsDir;
+    private Path tmpDir;
+
+    private ThreadPoolTaskScheduler scheduler;
+    private ExecutorService executor;
+
+    // Scheduled reports this instance has registered, and their cron triggers
+    private final Map<String, ScheduledReport> registered = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> triggers = new ConcurrentHashMap<>();
+
+    // Registered reports by type + request hash, for live requests asking for the same report
+    private final Map<String, String> byRequest = new ConcurrentHashMap<>();
+
+    // Names of reports rendering on this instance right now
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the directories and the trigger and render threads
+     * Definitions are registered by the first reload() run right after startup
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Path root = Paths.get(schedulesDir).toAbsolutePath();
+        definitionsDir = Files.createDirectories(root.resolve("definitions"));
+        outputDir = Files.createDirectories(root.resolve("output"));
+        runsDir = Files.createDirectories(root.resolve("runs"));
+        tmpDir = Files.createDirectories(root.resolve("tmp"));
+
+        // The trigger thread only hands work to the executor, so one is enough
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("report-schedule-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "report-precompute-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        logger.info("Scheduled reports using directory {}", root);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Registers definitions saved or removed by any instance sharing the directory
+     */
+    @Scheduled(fixedDelayString = "${report.schedules.reload-interval-ms:60000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Map<String, ScheduledReport> onDisk = readDefinitions();
+            for (String name : new ArrayList<>(registered.keySet())) {
+                if (!onDisk.containsKey(name)) {
+                    unschedule(name);
+                }
+            }
+            onDisk.forEach((name, report) -> {
+                if (!report.equals(registered.get(name))) {
+                    schedule(report);
+                }
+            });
+            deleteOldRunMarkers();
+        } catch (Exception e) {
+            logger.error("Error reloading scheduled reports", e);
+        }
+    }
+
+    /**
+     * Creates or replaces a scheduled report
+     *
+     * @throws IllegalArgumentException if the name, type, cron, compression or request is invalid
+     */
+    public ScheduledReportStatus save(ScheduledReport report) throws IOException {
+        validate(report);
+        writeAtomically(definitionsDir.resolve(report.getName() + ".json"), objectMapper.writeValueAsBytes(report));
+        if (enabled) {
+            schedule(report);
+        }
+        logger.info("Saved scheduled report {} ({}, cron '{}')", report.getName(), report.getType(), report.getCron());
+        return toStatus(report);
+    }
+
+    /**
+     * Removes a scheduled report and its stored output
+     *
+     * @return false if no such report exists
+     */
+    public boolean delete(String name) throws IOException {
+        if (!isValidName(name)) {
+            return false;
+        }
+        unschedule(name);
+        boolean existed = Files.deleteIfExists(definitionsDir.resolve(name + ".json"));
+        Files.deleteIfExists(outputDir.resolve(name + ".out"));
+        Files.deleteIfExists(outputDir.resolve(name + ".json"));
+        return existed;
+    }
+
+    /**
+     * All scheduled reports with their next run and last output, ordered by name
+     */
+    public List<ScheduledReportStatus> list() throws IOException {
+        List<ScheduledReportStatus> statuses = new ArrayList<>();
+        for (ScheduledReport report : readDefinitions().values()) {
+            statuses.add(toStatus(report));
+        }
+        return statuses;
+    }
+
+    /**
+     * Status of one scheduled report, or empty if it does not exist
+     */
+    public Optional<ScheduledReportStatus> getStatus(String name) throws IOException {
+        Optional<ScheduledReport> report = readDefinition(name);
+        return report.isPresent() ? Optional.of(toStatus(report.get())) : Optional.empty();
+    }
+
+    /**
+     * The stored file of a scheduled report, or empty if it has not been rendered yet
+     */
+    public Optional<Path> getOutput(String name) {
+        if (!isValidName(name)) {
+            return Optional.empty();
+        }
+        Path output = outputDir.resolve(name + ".out");
+        return Files.exists(output) ? Optional.of(output) : Optional.empty();
+    }
+
+    /**
+     * The stored file of a scheduled report that is exactly the report a live request asks for
+     *
+     * The request is hashed as the live endpoint read it (same JSON view), so it matches a registered
+     * schedule of the same type whose payload reads to the same request. The stored file is only used
+     * if it was rendered from that payload; it is copied into a pooled buffer, and dropped if a new
+     * render replaced it meanwhile. It keeps the compression it was stored with.
+     *
+     * @param type "tasks-pdf", "tasks-excel" (without sheet grouping) or "user-summary-pdf"
+     * @return empty if nothing matches - the caller renders the report itself
+     */
+    public Optional<ReportBuffer> findPrecomputed(String type, Object request) {
+        if (!enabled || !serveLive || byRequest.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            String hash = singleFlight.hash(request);
+            String name = byRequest.get(type + ":" + hash);
+            if (name == null) {
+                return Optional.empty();
+            }
+            Optional<ScheduledReportStatus> before = readOutputStatus(name);
+            if (before.isEmpty() || !hash.equals(before.get().getRequestHash())) {
+                return Optional.empty();
+            }
+            ReportBuffer buffer = bufferPool.acquire();
+            try {
+                Files.copy(outputDir.resolve(name + ".out"), buffer.outputStream());
+                // precompute() clears the hash before it replaces the file, so an unchanged status means the copy is good
+                if (before.equals(readOutputStatus(name))) {
+                    logger.info("Serving {} request from scheduled report {} ({})", type, name, before.get().getGeneratedAt());
+                    return Optional.of(buffer);
+                }
+            } catch (NoSuchFileException e) {
+                logger.debug("Scheduled report {} output removed while reading it", name);
+            }
+            buffer.close();
+            return Optional.empty();
+        } catch (Exception e) {
+            logger.warn("Could not look up a scheduled report for a {} request", type, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Renders a scheduled report now (e.g. after its request was refreshed), without waiting for quiet time
+     *
+     * @return false if no such report exists or it is already rendering on this instance
+     */
+    public boolean runNow(String name) throws IOException {
+        Optional<ScheduledReport> report = readDefinition(name);
+        return report.isPresent() && submit(report.get(), false);
+    }
+
+    /**
+     * Called by the cron trigger; only the instance that creates the run marker renders
+     */
+    private void trigger(String name) {
+        ScheduledReport report = registered.get(name);
+        if (report == null) {
+            return;
+        }
+        // Cron firings are identified by minute, so instances with slightly different clocks agree
+        long firing = Instant.now().truncatedTo(ChronoUnit.MINUTES).getEpochSecond();
+        try {
+            Files.createFile(runsDir.resolve(name + "-" + firing));
+        } catch (FileAlreadyExistsException e) {
+            logger.debug("Scheduled report {} is rendered by another instance this time", name);
+            return;
+        } catch (IOException e) {
+            logger.error("Could not claim scheduled run of report {}", name, e);
+            return;
+        }
+        submit(report, true);
+    }
+
+    private boolean submit(ScheduledReport report, boolean waitForQuietTime) {
+        String name = report.getName();
+        if (!running.add(name)) {
+            logger.info("Scheduled report {} is still rendering, skipping this run", name);
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                precompute(report, waitForQuietTime);
+            } finally {
+                running.remove(name);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Renders one scheduled report into a temporary file and moves it over the previous output
+     */
+    private void precompute(ScheduledReport report, boolean waitForQuietTime) {
+        String name = report.getName();
+        if (waitForQuietTime && !waitForQuietTime(name)) {
+            return;
+        }
+
+        Path temp = tmpDir.resolve(name + ".out." + UUID.randomUUID());
+        long started = System.nanoTime();
+        try {
+            CompressionProfile compression = CompressionProfile.parse(report.getCompression(),
+                CompressionProfile.parse(defaultCompression, CompressionProfile.SMALL));
+            String requestHash = requestHash(report);
+            long size;
+            try (ReportBuffer buffer = render(report, compression);
+                 OutputStream output = Files.newOutputStream(temp)) {
+                buffer.writeTo(output);
+                size = buffer.size();
+            }
+            // Live requests stop matching the old file before it is replaced (see findPrecomputed)
+            Optional<ScheduledReportStatus> previous = readOutputStatus(name);
+            if (previous.isPresent() && previous.get().getRequestHash() != null) {
+                previous.get().setRequestHash(null);
+                writeOutputStatus(previous.get());
+            }
+            Files.move(temp, outputDir.resolve(name + ".out"),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            long millis = (System.nanoTime() - started) / 1_000_000;
+            writeOutputStatus(new ScheduledReportStatus(name, report.getType(), report.getCron(), null,
+                Instant.now().toString(), size, millis, null, requestHash));
+            logger.info("Precomputed scheduled report {} ({} bytes in {} ms)", name, size, millis);
+
+        } catch (Exception e) {
+            logger.error("Precomputing scheduled report {} failed", name, e);
+            try {
+                Files.deleteIfExists(temp);
+                // Keep serving the previous output, but record the failure next to it
+                ScheduledReportStatus status = readOutputStatus(name).orElseGet(() ->
+                    new ScheduledReportStatus(name, report.getType(), report.getCron(), null, null, 0, 0, null, null));
+                status.setError(e.getMessage());
+                writeOutputStatus(status);
+            } catch (Exception statusError) {
+                logger.error("Could not record failure of scheduled report {}", name, statusError);
+            }
+        }
+    }
+
+    /**
+     * Holds a render back while live traffic keeps this instance busy, up to max-defer-minutes
+     *
+     * @return false if the thread was interrupted (shutdown)
+     */
+    private boolean waitForQuietTime(String name) {
+        long deadline = System.currentTimeMillis() + maxDeferMinutes * 60_000;
+        boolean deferred = false;
+        while (loadMonitor.getStatus().getLoadFactor() > maxLoadFactor && System.currentTimeMillis() < deadline) {
+            if (!deferred) {
+                logger.info("Deferring scheduled report {} while the instance is busy", name);
+                deferred = true;
+            }
+            try {
+                Thread.sleep(BUSY_RETRY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Dispatches the stored request to the matching report service
+     */
+    private ReportBuffer render(ScheduledReport report, CompressionProfile compression) throws Exception {
+        return switch (report.getType()) {
+            case "tasks-pdf" -> taskPdfService.renderTaskReportPdf(
+                objectMapper.treeToValue(report.getPayload(), ReportRequest.class), compression);
+            case "tasks-excel" -> taskExcelService.renderTaskReportExcel(
+                objectMapper.treeToValue(report.getPayload(), ReportRequest.class), compression);
+            case "user-summary-pdf" -> userSummaryPdfService.renderUserSummaryPdf(
+                objectMapper.treeToValue(report.getPayload(), UserSummaryReportRequest.class), compression);
+            default -> throw new IllegalArgumentException("Unknown scheduled report type: " + report.getType());
+        };
+    }
+
+    private synchronized void schedule(ScheduledReport report) {
+        unschedule(report.getName());
+        registered.put(report.getName(), report);
+        try {
+            byRequest.put(report.getType() + ":" + requestHash(report), report.getName());
+        } catch (Exception e) {
+            logger.warn("Scheduled report {} cannot serve live requests", report.getName(), e);
+        }
+        triggers.put(report.getName(), scheduler.schedule(() -> trigger(report.getName()),
+            new CronTrigger(report.getCron())));
+        logger.info("Scheduled report {} registered with cron '{}'", report.getName(), report.getCron());
+    }
+
+    private synchronized void unschedule(String name) {
+        registered.remove(name);
+        byRequest.values().remove(name);
+        ScheduledFuture<?> trigger = triggers.remove(name);
+        if (trigger != null) {
+            trigger.cancel(false);
+        }
+    }
+
+    /**
+     * Hash of the stored payload read with the live endpoint's JSON view, comparable to live requests
+     */
+    private String requestHash(ScheduledReport report) throws Exception {
+        Class<?> view = switch (report.getType()) {
+            case "tasks-pdf" -> ReportViews.TaskPdf.class;
+            case "tasks-excel" -> ReportViews.TaskExcel.class;
+            default -> ReportViews.UserSummary.class;
+        };
+        Class<?> requestType = "user-summary-pdf".equals(report.getType()) ? UserSummaryReportRequest.class : ReportRequest.class;
+        return singleFlight.hash(objectMapper.readerWithView(view).treeToValue(report.getPayload(), requestType));
+    }
+
+    /**
+     * Checks a definition before it is stored, so a bad one fails at save time instead of at 3am
+     */
+    private void validate(ScheduledReport report) {
+        if (report.getName() == null || !isValidName(report.getName())) {
+            throw new IllegalArgumentException("Name must be 1-64 letters, digits, '-' or '_'");
+        }
+        if (!TYPES.contains(report.getType())) {
+            throw new IllegalArgumentException("Unknown scheduled report type: " + report.getType()
+                + " (expected one of " + TYPES + ")");
+        }
+        if (report.getCron() == null || !CronExpression.isValidExpression(report.getCron())) {
+            throw new IllegalArgumentException("Invalid cron expression: " + report.getCron());
+        }
+        CompressionProfile.parse(report.getCompression(), CompressionProfile.SMALL);
+        if (report.getPayload() == null || !report.getPayload().isObject()) {
+            throw new IllegalArgumentException("Payload must be a report request object");
+        }
+
+        Class<?> requestType = "user-summary-pdf".equals(report.getType()) ? UserSummaryReportRequest.class : ReportRequest.class;
+        Object request;
+        try {
+            request = objectMapper.treeToValue(report.getPayload(), requestType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid payload: " + e.getOriginalMessage());
+        }
+        // Scheduled renders read the whole payload, so every field group is checked
+        Set<ConstraintViolation<Object>> violations = validator.validate(request, ReportViews.Full.class);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<Object> violation = violations.iterator().next();
+            throw new IllegalArgumentException("Invalid payload: " + violation.getPropertyPath()
+                + " " + violation.getMessage());
+        }
+    }
+
+    private boolean isValidName(String name) {
+        return NAME.matcher(name).matches();
+    }
+
+    private ScheduledReportStatus toStatus(ScheduledReport report) throws IOException {
+        ScheduledReportStatus status = readOutputStatus(report.getName()).orElseGet(ScheduledReportStatus::new);
+        status.setName(report.getName());
+        status.setType(report.getType());
+        status.setCron(report.getCron());
+        ZonedDateTime next = CronExpression.parse(report.getCron()).next(ZonedDateTime.now());
+        status.setNextRunAt(next != null ? next.toOffsetDateTime().toString() : null);
+        return status;
+    }
+
+    private Map<String, ScheduledReport> readDefinitions() throws IOException {
+        Map<String, ScheduledReport> definitions = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(definitionsDir, "*.json")) {
+            for (Path file : stream) {
+                try {
+                    ScheduledReport report = objectMapper.readValue(file.toFile(), ScheduledReport.class);
+                    definitions.put(report.getName(), report);
+                } catch (IOException e) {
+                    logger.error("Skipping unreadable scheduled report {}", file.getFileName(), e);
+                }
+            }
+        }
+        return definitions;
+    }
+
+    private Optional<ScheduledReport> readDefinition(String name) throws IOException {
+        if (!isValidName(name)) {
+            return Optional.empty();
+        }
+        Path file = definitionsDir.resolve(name + ".json");
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(objectMapper.readValue(file.toFile(), ScheduledReport.class));
+    }
+
+    private Optional<ScheduledReportStatus> readOutputStatus(String name) throws IOException {
+        Path file = outputDir.resolve(name + ".json");
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(objectMapper.readValue(file.toFile(), ScheduledReportStatus.class));
+    }
+
+    private void writeOutputStatus(ScheduledReportStatus status) throws IOException {
+        writeAtomically(outputDir.resolve(status.getName() + ".json"), objectMapper.writeValueAsBytes(status));
+    }
+
+    private void deleteOldRunMarkers() throws IOException {
+        Instant cutoff = Instant.now().minus(RUN_MARKER_AGE);
+        try (Stream<Path> markers = Files.list(runsDir)) {
+            for (Path marker : markers.toList()) {
+                if (Files.getLastModifiedTime(marker).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(marker);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a file through tmp/ and renames it into place so readers never see partial content
+     */
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = tmpDir.resolve(target.getFileName() + "." + UUID.randomUUID());
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,175 @@
+package com.taskflowpro.reportservice.service;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskflowpro.reportservice.monitoring.ReportLoadMonitor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces identical report requests that arrive while the same report is already being rendered
+ *
+ * The first request for a given (type, request body) renders; identical requests that arrive
+ * before it finishes wait for that render and get the same result (or the same exception).
+ * Nothing is cached: once the render completes, the next identical request renders again.
+ * A {@link ReportBuffer} result is shared by reference: every request that receives it closes it once.
+ * If the first request is cancelled (deadline or disconnect), requests waiting on it render for themselves.
+ *
+ * Metrics (Micrometer, tagged by report type):
+ *   - report.singleflight.renders    renders actually performed
+ *   - report.singleflight.coalesced  requests that got another request's result (renders saved);
+ *                                    waiters that fail with it or render again are not counted
+ */
+@Service
+public class ReportSingleFlight {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportSingleFlight.class);
+
+    // Spring Boot's Jackson settings (spring.jackson.*), applied to the canonical mapper
+    @Autowired
+    private Jackson2ObjectMapperBuilder jacksonBuilder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Counts and times the renders that actually run (for the load-reporting health endpoint)
+    @Autowired
+    private ReportLoadMonitor loadMonitor;
+
+    @Value("${report.singleflight.enabled:true}")
+    private boolean enabled;
+
+    // Renders in progress, by type + hash of the canonical request JSON
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    // Same settings as the application mapper, but with a stable property and map key order
+    private ObjectMapper canonicalMapper;
+
+    @PostConstruct
+    public void init() {
+        canonicalMapper = JsonMapper.builder()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .build();
+        jacksonBuilder.configure(canonicalMapper);
+        canonicalMapper.disable(SerializationFeature.INDENT_OUTPUT);
+        meterRegistry.gauge("report.singleflight.in.flight", inFlight, ConcurrentHashMap::size);
+    }
+
+    /**
+     * Renders the report, or waits for an identical render that is already running
+     *
+     * @param type    report type, part of the key (e.g. "tasks-pdf")
+     * @param request request DTO, hashed as canonical JSON
+     * @param render  the actual render, only called by the first of the identical requests
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String type, Object request, Callable<T> render) throws Exception {
+        if (!enabled) {
+            return loadMonitor.track(type, request, render);
+        }
+
+        String key = type + ":" + hash(request);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+
+        if (running != null) {
+            // Someone is already rendering this exact report - share their result
+            logger.debug("Waiting for a {} render in progress", type);
+            Object result;
+            try {
+                // Stops waiting at this request's own deadline; the shared render carries on
+                result = ReportCancellation.await(running);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof ReportCancelledException) {
+                    // The first caller gave up and its render stopped, but this one still wants the report
+                    logger.debug("Shared {} render was cancelled, rendering again", type);
+                    return renderAgain(type, request, render);
+                }
+                throw rethrowable(e.getCause());
+            }
+            // Pooled buffers are shared by reference count; if every holder already released it,
+            // its segments are back in the pool and this request renders on its own
+            if (result instanceof ReportBuffer buffer && !buffer.tryRetain()) {
+                logger.debug("Shared {} buffer already released, rendering again", type);
+                return renderAgain(type, request, render);
+            }
+            // Only counted once the shared result is really handed out (a render was saved)
+            counter("report.singleflight.coalesced", type).increment();
+            return (T) result;
+        }
+
+        counter("report.singleflight.renders", type).increment();
+        try {
+            T result = loadMonitor.track(type, request, render);
+            mine.complete(result);
+            return result;
+        } catch (Exception | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Later requests start a fresh render
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * A waiter that could not use the shared result renders on its own (not coalesced, one more render)
+     */
+    private <T> T renderAgain(String type, Object request, Callable<T> render) throws Exception {
+        counter("report.singleflight.renders", type).increment();
+        return loadMonitor.track(type, request, render);
+    }
+
+    /**
+     * SHA-256 of the request serialized with sorted properties and map keys
+     * The JSON is streamed into the digest, so a large request is never held as one byte[]
+     */
+    public String hash(Object request) throws Exception {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+                canonicalMapper.writeValue(out, request);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Counter counter(String name, String type) {
+        return meterRegistry.counter(name, "type", type);
+    }
+
+    /**
+     * Rethrows the leader's failure to a waiter with its original type (so 400 vs 500 mapping still works)
+     */
+    private Exception rethrowable(Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause instanceof Exception exception) {
+            return exception;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskflowpro.reportservice.service;
+
+import com.taskflowpro.reportservice.dto.TaskDTO;
+
+/**
+ * A task report that is written incrementally, one task at a time
+ *
+ * Used when tasks arrive as a stream (gRPC) and the full list must never be held in memory.
+ * Rendered output goes straight to the OutputStream given when the report was opened.
+ */
+public interface StreamingTaskReport extends AutoCloseable {
+
+    /**
+     * Appends one task row to the report
+     */
+    void addTask(TaskDTO task) throws Exception;
+
+    /**
+     * Completes the report (summary, footer) and writes all remaining output
+     */
+    void finish() throws Exception;
+
+    /**
+     * Releases resources; a report that was not finished is abandoned
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,282 @@
+package com.taskflowpro.reportservice.service;
+
+import com.taskflowpro.reportservice.dto.AssigneeDTO;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.TaskDTO;
+import com.taskflowpro.reportservice.monitoring.ReportPhaseEvent;
+import com.taskflowpro.reportservice.monitoring.ReportPhases;
+import jakarta.annotation.PreDestroy;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.impl.UnionListWriter;
+import org.apache.arrow.vector.complex.writer.BaseWriter.StructWriter;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for exporting tasks as an Apache Arrow IPC stream (columnar, for pandas/Spark/DuckDB)
+ *
+ * Columns are typed instead of formatted text:
+ *   title, description       utf8
+ *   priority, status         dictionary-encoded utf8 (int8 indices)
+ *   created_at               timestamp[ms, UTC]
+ *   due_date                 date32
+ *   assignees                list&lt;struct&lt;name, email, status, progress:int32&gt;&gt;
+ * Tasks are written in record batches of report.arrow.batch-size rows; only one batch
+ * is held in Arrow memory at a time and each batch goes to the output stream when full.
+ */
+@Service
+public class TaskArrowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskArrowService.class);
+
+    private static final long PRIORITY_DICTIONARY_ID = 1L;
+    private static final long STATUS_DICTIONARY_ID = 2L;
+
+    @Value("${report.arrow.batch-size:8192}")
+    private int batchSize;
+
+    // Off-heap memory for Arrow vectors; each export uses (and releases) a child allocator
+    private final BufferAllocator rootAllocator = new RootAllocator();
+
+    @PreDestroy
+    public void close() {
+        rootAllocator.close();
+    }
+
+    /**
+     * Writes the tasks of the request to the output stream as an Arrow IPC stream
+     *
+     * @param request The report request (only the tasks are exported)
+     * @param outputStream Where record batches are written as they are completed
+     * @throws Exception if the export fails
+     */
+    public void writeTasksArrow(ReportRequest request, OutputStream outputStream) throws Exception {
+        List<TaskDTO> tasks = request.getTasks();
+        logger.info("Exporting {} tasks as Arrow stream", tasks.size());
+
+        ReportPhases.setTaskCount(tasks.size());
+        ReportPhaseEvent serializePhase = ReportPhases.begin(ReportPhases.SERIALIZE);
+
+        // The stream format sends dictionaries before the first batch, so collect the values first
+        Map<String, Integer> priorities = distinctValues(tasks, true);
+        Map<String, Integer> statuses = distinctValues(tasks, false);
+
+        DictionaryEncoding priorityEncoding = new DictionaryEncoding(PRIORITY_DICTIONARY_ID, false, new ArrowType.Int(8, true));
+        DictionaryEncoding statusEncoding = new DictionaryEncoding(STATUS_DICTIONARY_ID, false, new ArrowType.Int(8, true));
+        Schema schema = createSchema(priorityEncoding, statusEncoding);
+
+        try (BufferAllocator allocator = rootAllocator.newChildAllocator("tasks-arrow", 0, Long.MAX_VALUE);
+             VarCharVector priorityValues = dictionaryVector("priority", priorities, allocator);
+             VarCharVector statusValues = dictionaryVector("status", statuses, allocator);
+             VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator)) {
+
+            DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+            provider.put(new Dictionary(priorityValues, priorityEncoding));
+            provider.put(new Dictionary(statusValues, statusEncoding));
+
+            try (ArrowStreamWriter writer = new ArrowStreamWriter(root, provider, Channels.newChannel(outputStream))) {
+                writer.start();
+                for (int start = 0; start < tasks.size(); start += batchSize) {
+                    fillBatch(root, tasks.subList(start, Math.min(tasks.size(), start + batchSize)), priorities, statuses);
+                    writer.writeBatch();
+                }
+                writer.end();
+            }
+        } finally {
+            ReportPhases.end(serializePhase, 0);
+        }
+
+        logger.info("Arrow export finished");
+    }
+
+    private Schema createSchema(DictionaryEncoding priorityEncoding, DictionaryEncoding statusEncoding) {
+        Field assignee = new Field("assignee", FieldType.nullable(ArrowType.Struct.INSTANCE), List.of(
+            utf8Field("name"),
+            utf8Field("email"),
+            utf8Field("status"),
+            Field.nullable("progress", new ArrowType.Int(32, true))));
+
+        return new Schema(List.of(
+            utf8Field("title"),
+            utf8Field("description"),
+            // Dictionary-encoded columns are declared with their index type
+            new Field("priority", new FieldType(true, new ArrowType.Int(8, true), priorityEncoding), null),
+            new Field("status", new FieldType(true, new ArrowType.Int(8, true), statusEncoding), null),
+            Field.nullable("created_at", new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC")),
+            Field.nullable("due_date", new ArrowType.Date(DateUnit.DAY)),
+            new Field("assignees", FieldType.nullable(ArrowType.List.INSTANCE), List.of(assignee))));
+    }
+
+    /**
+     * Writes one batch of tasks into the (reused) vectors of the root
+     */
+    private void fillBatch(VectorSchemaRoot root, List<TaskDTO> batch,
+                           Map<String, Integer> priorities, Map<String, Integer> statuses) {
+        root.allocateNew();
+        VarCharVector title = (VarCharVector) root.getVector("title");
+        VarCharVector description = (VarCharVector) root.getVector("description");
+        TinyIntVector priority = (TinyIntVector) root.getVector("priority");
+        TinyIntVector status = (TinyIntVector) root.getVector("status");
+        TimeStampMilliTZVector createdAt = (TimeStampMilliTZVector) root.getVector("created_at");
+        DateDayVector dueDate = (DateDayVector) root.getVector("due_date");
+        UnionListWriter assignees = ((ListVector) root.getVector("assignees")).getWriter();
+
+        for (int i = 0; i < batch.size(); i++) {
+            TaskDTO task = batch.get(i);
+            setText(title, i, task.getTitle());
+            setText(description, i, task.getDescription());
+            setIndex(priority, i, priorities.get(task.getPriority()));
+            setIndex(status, i, statuses.get(task.getStatus()));
+
+            Instant created = parseTimestamp(task.getCreatedAt());
+            if (created != null) {
+                createdAt.setSafe(i, created.toEpochMilli());
+            } else {
+                createdAt.setNull(i);
+            }
+            LocalDate due = parseDate(task.getDueDate());
+            if (due != null) {
+                dueDate.setSafe(i, (int) due.toEpochDay());
+            } else {
+                dueDate.setNull(i);
+            }
+
+            assignees.setPosition(i);
+            if (task.getAssignees() != null) {
+                assignees.startList();
+                for (AssigneeDTO assignee : task.getAssignees()) {
+                    StructWriter struct = assignees.struct();
+                    struct.start();
+                    writeText(struct, "name", assignee.getName());
+                    writeText(struct, "email", assignee.getEmail());
+                    writeText(struct, "status", assignee.getStatus());
+                    if (assignee.getProgress() != null) {
+                        struct.integer("progress").writeInt(assignee.getProgress());
+                    }
+                    struct.end();
+                }
+                assignees.endList();
+            }
+        }
+        assignees.setValueCount(batch.size());
+        root.setRowCount(batch.size());
+    }
+
+    /**
+     * Dictionary values in first-seen order, mapped to their index
+     */
+    private Map<String, Integer> distinctValues(List<TaskDTO> tasks, boolean priority) {
+        Map<String, Integer> values = new LinkedHashMap<>();
+        for (TaskDTO task : tasks) {
+            String value = priority ? task.getPriority() : task.getStatus();
+            if (value != null) {
+                values.putIfAbsent(value, values.size());
+            }
+        }
+        if (values.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many distinct " + (priority ? "priority" : "status") + " values");
+        }
+        return values;
+    }
+
+    private VarCharVector dictionaryVector(String name, Map<String, Integer> values, BufferAllocator allocator) {
+        VarCharVector vector = new VarCharVector(name + "_dictionary", allocator);
+        vector.allocateNew(values.size());
+        List<String> ordered = new ArrayList<>(values.keySet());
+        for (int i = 0; i < ordered.size(); i++) {
+            vector.setSafe(i, new Text(ordered.get(i)));
+        }
+        vector.setValueCount(ordered.size());
+        return vector;
+    }
+
+    private static Field utf8Field(String name) {
+        return Field.nullable(name, ArrowType.Utf8.INSTANCE);
+    }
+
+    private void setText(VarCharVector vector, int index, String value) {
+        if (value != null) {
+            vector.setSafe(index, new Text(value));
+        } else {
+            vector.setNull(index);
+        }
+    }
+
+    private void setIndex(TinyIntVector vector, int index, Integer dictionaryIndex) {
+        if (dictionaryIndex != null) {
+            vector.setSafe(index, dictionaryIndex);
+        } else {
+            vector.setNull(index);
+        }
+    }
+
+    private void writeText(StructWriter struct, String field, String value) {
+        if (value != null) {
+            struct.varChar(field).writeVarChar(new Text(value));
+        }
+    }
+
+    /**
+     * Parses an ISO timestamp; values without an offset are taken as UTC
+     */
+    private Instant parseTimestamp(String isoDateTime) {
+        if (isoDateTime == null || isoDateTime.isEmpty()) {
+            return null;
+        }
+        try {
+            return Instant.parse(isoDateTime);
+        } catch (Exception e) {
+            try {
+                return LocalDateTime.parse(isoDateTime).toInstant(ZoneOffset.UTC);
+            } catch (Exception ignored) {
+                LocalDate date = parseDate(isoDateTime);
+                return date != null ? date.atStartOfDay().toInstant(ZoneOffset.UTC) : null;
+            }
+        }
+    }
+
+    /**
+     * Parses the date part of an ISO date or timestamp
+     */
+    private LocalDate parseDate(String isoDate) {
+        if (isoDate == null || isoDate.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(isoDate.substring(0, 10));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package com.taskflowpro.reportservice.service;
 
 import com.taskflowpro.reportservice.dto.*;
+import com.taskflowpro.reportservice.monitoring.ReportPhaseEvent;
+import com.taskflowpro.reportservice.monitoring.ReportPhases;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Service for generating Excel reports of tasks
@@ -18,15 +32,118 @@ public class TaskExcelService {
     
     private static final Logger logger = LoggerFactory.getLogger(TaskExcelService.class);
     
+    // Rows kept in memory by streaming workbooks; older rows are flushed to disk
+    private static final int STREAM_WINDOW_ROWS = 200;
+    
+    // Rows per .xlsx sheet (1,048,576); streamed reports continue on a new sheet after that
+    private static final int MAX_SHEET_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    
+    // Column titles of the task table
+    private static final String[] COLUMN_HEADERS = {
+        "Task Title", 
+        "Description", 
+        "Priority", 
+        "Status", 
+        "Created Date", 
+        "Due Date", 
+        "Assignee Names", 
+        "Assignee Status"
+    };
+    
+    // Column widths (in characters) of multi-sheet data sheets; cells wrap, so rows are never measured
+    private static final int[] SHEET_COLUMN_WIDTHS = {40, 60, 12, 14, 14, 14, 30, 45};
+    
+    // Reusable output segments for rendered reports
+    @Autowired
+    private ReportBufferPool bufferPool;
+    
+    // Writes and compresses the sheets of multi-sheet reports in parallel
+    @Autowired
+    @Qualifier("reportSheetExecutor")
+    private ExecutorService sheetExecutor;
+    
     /**
-     * Generates an Excel report from the provided task data
+     * Generates an Excel report from the provided task data (standard compression)
      * 
      * @param request The report request containing tasks and metadata
      * @return byte array containing the Excel file
      * @throws Exception if Excel generation fails
      */
     public byte[] generateTaskReportExcel(ReportRequest request) throws Exception {
-        logger.info("Generating task Excel report with {} tasks", request.getTasks().size());
+        return generateTaskReportExcel(request, CompressionProfile.STANDARD);
+    }
+    
+    /**
+     * Generates an Excel report from the provided task data
+     * 
+     * @param request The report request containing tasks and metadata
+     * @param compression Deflate level of the .xlsx zip (see CompressionProfile)
+     * @return byte array containing the Excel file
+     * @throws Exception if Excel generation fails
+     */
+    public byte[] generateTaskReportExcel(ReportRequest request, CompressionProfile compression) throws Exception {
+        try (ReportBuffer buffer = renderTaskReportExcel(request, compression)) {
+            return buffer.toByteArray();
+        }
+    }
+    
+    /**
+     * Generates an Excel report into pooled buffer segments (no growing array, no final copy)
+     * 
+     * @param request The report request containing tasks and metadata
+     * @param compression Deflate level of the .xlsx zip (see CompressionProfile)
+     * @return the .xlsx file; the caller writes the response from it and must close() it
+     * @throws Exception if Excel generation fails
+     */
+    public ReportBuffer renderTaskReportExcel(ReportRequest request, CompressionProfile compression) throws Exception {
+        return renderTaskReportExcel(request, compression, null);
+    }
+    
+    /**
+     * Generates an Excel report into pooled buffer segments, optionally split into one sheet per group
+     * 
+     * @param request The report request containing tasks and metadata
+     * @param compression Deflate level of the .xlsx zip (see CompressionProfile)
+     * @param sheets null for the single "Tasks Report" sheet; otherwise a summary sheet plus one
+     *               sheet per status or priority, written and compressed in parallel
+     * @return the .xlsx file; the caller writes the response from it and must close() it
+     * @throws Exception if Excel generation fails
+     */
+    public ReportBuffer renderTaskReportExcel(ReportRequest request, CompressionProfile compression,
+                                              TaskSheetGrouping sheets) throws Exception {
+        return renderTaskReportExcel(request, compression, sheets, RenderMode.FULL);
+    }
+    
+    /**
+     * Same as renderTaskReportExcel(request, compression, sheets), optionally without the expensive styling
+     * 
+     * @param mode DEGRADED for plain priority/status cells and fixed column widths instead of auto-sizing
+     */
+    public ReportBuffer renderTaskReportExcel(ReportRequest request, CompressionProfile compression,
+                                              TaskSheetGrouping sheets, RenderMode mode) throws Exception {
+        ReportBuffer buffer = bufferPool.acquire();
+        try {
+            if (sheets == null) {
+                writeTaskReportExcel(request, compression, mode, buffer);
+            } else {
+                writeMultiSheetExcel(request, compression, sheets, mode, buffer);
+            }
+            return buffer;
+        } catch (Exception | Error e) {
+            buffer.close();
+            throw e;
+        }
+    }
+    
+    private void writeTaskReportExcel(ReportRequest request, CompressionProfile compression, RenderMode mode,
+                                      ReportBuffer buffer) throws Exception {
+        logger.info("Generating task Excel report with {} tasks ({} compression, {})",
+            request.getTasks().size(), compression, mode);
+        boolean plain = mode == RenderMode.DEGRADED;
+        
+        // Flight recorder phases: layout (building the sheet), serialize (writing the .xlsx zip)
+        ReportPhases.setTaskCount(request.getTasks().size());
+        ReportPhaseEvent layoutPhase = ReportPhases.begin(ReportPhases.LAYOUT);
         
         // Create a new workbook (.xlsx format)
         try (Workbook workbook = new XSSFWorkbook()) {
@@ -37,8 +154,9 @@ public class TaskExcelService {
             // Create cell styles
             CellStyle headerStyle = createHeaderStyle(workbook);
             CellStyle dataStyle = createDataStyle(workbook);
-            CellStyle priorityHighStyle = createPriorityHighStyle(workbook);
-            CellStyle statusCompletedStyle = createStatusCompletedStyle(workbook);
+            // Degraded: priority and status cells look like every other cell
+            CellStyle priorityHighStyle = plain ? dataStyle : createPriorityHighStyle(workbook);
+            CellStyle statusCompletedStyle = plain ? dataStyle : createStatusCompletedStyle(workbook);
             
             int rowNum = 0;
             
@@ -63,23 +181,297 @@ public class TaskExcelService {
             rowNum = addHeaderRow(sheet, rowNum, headerStyle);
             
             // Add data rows
+            int taskNum = 0;
             for (TaskDTO task : request.getTasks()) {
                 rowNum = addTaskRow(sheet, rowNum, task, dataStyle, priorityHighStyle, statusCompletedStyle);
+                if (++taskNum % ReportCancellation.CHECK_INTERVAL_ROWS == 0) {
+                    ReportCancellation.check();
+                }
             }
             
-            // Auto-size columns for better readability
+            // Auto-size columns for better readability (measures every cell, so degraded reports use fixed widths)
             for (int i = 0; i < 8; i++) {
+                if (plain) {
+                    sheet.setColumnWidth(i, SHEET_COLUMN_WIDTHS[i] * 256);
+                    continue;
+                }
                 sheet.autoSizeColumn(i);
                 // Add a bit of extra width for comfort
                 sheet.setColumnWidth(i, sheet.getColumnWidth(i) + 512);
             }
             
-            // Write workbook to byte array
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
+            ReportPhases.end(layoutPhase, 0);
+            // Last chance to stop before the expensive part (writing and deflating the workbook)
+            ReportCancellation.check();
+            ReportPhaseEvent serializePhase = ReportPhases.begin(ReportPhases.SERIALIZE);
+            
+            // Write workbook into the buffer (through a zip stream with the profile's deflate level)
+            try (ZipArchiveOutputStream zip = compression.zipStream(buffer.outputStream())) {
+                workbook.write(zip);
+            }
+            ReportPhases.end(serializePhase, buffer.size());
             
             logger.info("Task Excel report generated successfully");
-            return outputStream.toByteArray();
+        }
+    }
+    
+    /**
+     * Writes a summary sheet plus one sheet per group (see ParallelXlsxWriter)
+     * POI builds the styles, the summary and the empty group sheets; the group sheets' rows are
+     * then written and deflated on the sheet executor, one thread per sheet
+     */
+    private void writeMultiSheetExcel(ReportRequest request, CompressionProfile compression,
+                                      TaskSheetGrouping grouping, RenderMode mode, ReportBuffer buffer) throws Exception {
+        logger.info("Generating multi-sheet task Excel report with {} tasks by {} ({} compression, {})",
+            request.getTasks().size(), grouping, compression, mode);
+        boolean plain = mode == RenderMode.DEGRADED;
+        
+        ReportPhases.setTaskCount(request.getTasks().size());
+        ReportPhaseEvent layoutPhase = ReportPhases.begin(ReportPhases.LAYOUT);
+        
+        // Group tasks (known groups first, in their natural order), keeping the request order inside each group
+        Map<String, List<TaskDTO>> groups = new TreeMap<>(
+            Comparator.comparingInt(grouping::rank).thenComparing(Comparator.naturalOrder()));
+        for (TaskDTO task : request.getTasks()) {
+            groups.computeIfAbsent(grouping.groupOf(task), group -> new ArrayList<>()).add(task);
+        }
+        
+        Map<String, ParallelXlsxWriter.SheetData> sheetData = new HashMap<>();
+        ReportPhaseEvent serializePhase;
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             ReportBuffer skeleton = bufferPool.acquire()) {
+            
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle dataStyle = createDataStyle(workbook);
+            CellStyle priorityHighStyle = plain ? dataStyle : createPriorityHighStyle(workbook);
+            CellStyle statusCompletedStyle = plain ? dataStyle : createStatusCompletedStyle(workbook);
+            
+            // Summary sheet: same title, metadata and filters as the single-sheet report, then tasks per sheet
+            Sheet summary = workbook.createSheet("Summary");
+            int rowNum = 0;
+            Row titleRow = summary.createRow(rowNum++);
+            Cell titleCell = titleRow.createCell(0);
+            titleCell.setCellValue(request.getTitle());
+            titleCell.setCellStyle(createTitleStyle(workbook));
+            
+            rowNum = addMetadata(summary, rowNum, request.getGeneratedBy(), request.getGeneratedAt());
+            if (request.getFilters() != null) {
+                rowNum = addFilters(summary, rowNum, request.getFilters());
+            }
+            rowNum++;
+            
+            Row countHeaderRow = summary.createRow(rowNum++);
+            String[] countHeaders = {grouping == TaskSheetGrouping.STATUS ? "Status" : "Priority", "Tasks"};
+            for (int i = 0; i < countHeaders.length; i++) {
+                Cell cell = countHeaderRow.createCell(i);
+                cell.setCellValue(countHeaders[i]);
+                cell.setCellStyle(headerStyle);
+            }
+            for (Map.Entry<String, List<TaskDTO>> group : groups.entrySet()) {
+                Row countRow = summary.createRow(rowNum++);
+                countRow.createCell(0).setCellValue(capitalizeFirst(group.getKey()));
+                countRow.createCell(1).setCellValue(group.getValue().size());
+            }
+            Row totalRow = summary.createRow(rowNum++);
+            totalRow.createCell(0).setCellValue("Total");
+            totalRow.createCell(1).setCellValue(request.getTasks().size());
+            
+            for (int i = 0; i < 2; i++) {
+                summary.autoSizeColumn(i);
+                summary.setColumnWidth(i, summary.getColumnWidth(i) + 512);
+            }
+            
+            // Empty group sheets; their rows are filled in later by ParallelXlsxWriter
+            Set<String> sheetNames = new HashSet<>();
+            sheetNames.add("summary");
+            for (Map.Entry<String, List<TaskDTO>> group : groups.entrySet()) {
+                XSSFSheet sheet = workbook.createSheet(uniqueSheetName(group.getKey(), sheetNames));
+                for (int i = 0; i < SHEET_COLUMN_WIDTHS.length; i++) {
+                    sheet.setColumnWidth(i, SHEET_COLUMN_WIDTHS[i] * 256);
+                }
+                sheet.createFreezePane(0, 1);
+                
+                List<TaskDTO> tasks = group.getValue();
+                String part = sheet.getPackagePart().getPartName().getName().substring(1);
+                sheetData.put(part, out -> writeTaskRows(out, tasks, headerStyle.getIndex(), dataStyle.getIndex(),
+                    priorityHighStyle.getIndex(), statusCompletedStyle.getIndex()));
+            }
+            
+            ReportPhases.end(layoutPhase, 0);
+            serializePhase = ReportPhases.begin(ReportPhases.SERIALIZE);
+            
+            workbook.write(skeleton.outputStream());
+            new ParallelXlsxWriter(sheetExecutor, bufferPool, compression)
+                .write(skeleton.inputStream(), sheetData, buffer.outputStream());
+        }
+        ReportPhases.end(serializePhase, buffer.size());
+        
+        logger.info("Multi-sheet task Excel report generated successfully ({} sheets)", groups.size() + 1);
+    }
+    
+    /**
+     * Writes the header row and one row per task of a group sheet as SpreadsheetML
+     * (same cells and styles as addHeaderRow and addTaskRow)
+     */
+    private void writeTaskRows(Writer out, List<TaskDTO> tasks, int headerStyle, int dataStyle,
+                               int priorityHighStyle, int statusCompletedStyle) throws IOException {
+        out.write("<row r=\"1\">");
+        for (int i = 0; i < COLUMN_HEADERS.length; i++) {
+            ParallelXlsxWriter.stringCell(out, i, 1, headerStyle, COLUMN_HEADERS[i]);
+        }
+        out.write("</row>");
+        
+        int rowNum = 2;
+        for (TaskDTO task : tasks) {
+            boolean highPriority = "high".equalsIgnoreCase(task.getPriority())
+                || "urgent".equalsIgnoreCase(task.getPriority());
+            int priorityStyle = highPriority ? priorityHighStyle : dataStyle;
+            int statusStyle = "completed".equalsIgnoreCase(task.getStatus()) ? statusCompletedStyle : dataStyle;
+            String description = task.getDescription() != null ? task.getDescription() : "";
+            
+            out.write("<row r=\"");
+            out.write(Integer.toString(rowNum));
+            out.write("\">");
+            ParallelXlsxWriter.stringCell(out, 0, rowNum, dataStyle, task.getTitle());
+            ParallelXlsxWriter.stringCell(out, 1, rowNum, dataStyle, description);
+            ParallelXlsxWriter.stringCell(out, 2, rowNum, priorityStyle, capitalizeFirst(task.getPriority()));
+            ParallelXlsxWriter.stringCell(out, 3, rowNum, statusStyle, capitalizeFirst(task.getStatus()));
+            ParallelXlsxWriter.stringCell(out, 4, rowNum, dataStyle, formatDate(task.getCreatedAt()));
+            ParallelXlsxWriter.stringCell(out, 5, rowNum, dataStyle, formatDate(task.getDueDate()));
+            ParallelXlsxWriter.stringCell(out, 6, rowNum, dataStyle, getAssigneeNames(task.getAssignees()));
+            ParallelXlsxWriter.stringCell(out, 7, rowNum, dataStyle, getAssigneeStatus(task.getAssignees()));
+            out.write("</row>");
+            rowNum++;
+            if (rowNum % ReportCancellation.CHECK_INTERVAL_ROWS == 0) {
+                ReportCancellation.check();
+            }
+        }
+    }
+    
+    /**
+     * Sheet name for a group: capitalized, valid for Excel and unique (case-insensitive)
+     */
+    private String uniqueSheetName(String group, Set<String> usedNames) {
+        String base = WorkbookUtil.createSafeSheetName(capitalizeFirst(group));
+        String name = base;
+        for (int suffix = 2; !usedNames.add(name.toLowerCase(Locale.ROOT)); suffix++) {
+            String tail = " (" + suffix + ")";
+            name = base.substring(0, Math.min(base.length(), 31 - tail.length())) + tail;
+        }
+        return name;
+    }
+    
+    /**
+     * Opens a task Excel report that receives its tasks one at a time (standard compression)
+     * Uses POI's streaming workbook: only a small window of rows stays in memory,
+     * older rows are flushed to a temporary file until the workbook is written
+     * 
+     * @param header Report title, metadata and filters (the tasks list is ignored)
+     * @param outputStream Where the .xlsx file is written when the report is finished
+     * @return the open report; call finish() after the last task, and always close()
+     */
+    public StreamingTaskReport openTaskReportStream(ReportRequest header, OutputStream outputStream) {
+        return openTaskReportStream(header, outputStream, CompressionProfile.STANDARD);
+    }
+    
+    /**
+     * Same as openTaskReportStream(header, outputStream) with the given compression profile
+     * (deflate level of the .xlsx zip and whether the temporary row files are compressed)
+     */
+    public StreamingTaskReport openTaskReportStream(ReportRequest header, OutputStream outputStream,
+                                                    CompressionProfile compression) {
+        logger.info("Opening streaming task Excel report ({} compression)", compression);
+        return new ExcelTaskReportStream(header, outputStream, compression);
+    }
+    
+    /**
+     * Incrementally written task workbook (see openTaskReportStream)
+     * Tasks that do not fit on one sheet continue on "Tasks Report (2)", "Tasks Report (3)", ...
+     * each starting with the column header row.
+     */
+    private class ExcelTaskReportStream implements StreamingTaskReport {
+        
+        private final SXSSFWorkbook workbook;
+        private final List<SXSSFSheet> sheets = new ArrayList<>();
+        private SXSSFSheet sheet;
+        private final OutputStream outputStream;
+        private final CellStyle headerStyle;
+        private final CellStyle dataStyle;
+        private final CellStyle priorityHighStyle;
+        private final CellStyle statusCompletedStyle;
+        private int rowNum = 0;
+        private int taskCount = 0;
+        
+        ExcelTaskReportStream(ReportRequest header, OutputStream outputStream, CompressionProfile compression) {
+            this.outputStream = outputStream;
+            workbook = new SXSSFWorkbook(STREAM_WINDOW_ROWS) {
+                // The streaming workbook creates its own zip stream; set the deflate level on it
+                @Override
+                protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) {
+                    ZipArchiveOutputStream zip = super.createArchiveOutputStream(out);
+                    zip.setLevel(compression.getDeflateLevel());
+                    return zip;
+                }
+            };
+            // Gzip the flushed rows in the temporary file (smaller temp files, more CPU)
+            workbook.setCompressTempFiles(compression.isCompressTempFiles());
+            sheet = workbook.createSheet("Tasks Report");
+            // Column widths are measured as rows are flushed, so auto-size still sees every row
+            sheet.trackAllColumnsForAutoSizing();
+            sheets.add(sheet);
+            
+            headerStyle = createHeaderStyle(workbook);
+            dataStyle = createDataStyle(workbook);
+            priorityHighStyle = createPriorityHighStyle(workbook);
+            statusCompletedStyle = createStatusCompletedStyle(workbook);
+            
+            // Same title, metadata, filter and header rows as the full report
+            Row titleRow = sheet.createRow(rowNum++);
+            Cell titleCell = titleRow.createCell(0);
+            titleCell.setCellValue(header.getTitle());
+            titleCell.setCellStyle(createTitleStyle(workbook));
+            
+            rowNum = addMetadata(sheet, rowNum, header.getGeneratedBy(), header.getGeneratedAt());
+            if (header.getFilters() != null) {
+                rowNum = addFilters(sheet, rowNum, header.getFilters());
+            }
+            rowNum++;
+            rowNum = addHeaderRow(sheet, rowNum, headerStyle);
+        }
+        
+        @Override
+        public void addTask(TaskDTO task) {
+            if (rowNum >= MAX_SHEET_ROWS) {
+                sheet = workbook.createSheet("Tasks Report (" + (sheets.size() + 1) + ")");
+                sheet.trackAllColumnsForAutoSizing();
+                sheets.add(sheet);
+                rowNum = addHeaderRow(sheet, 0, headerStyle);
+            }
+            rowNum = addTaskRow(sheet, rowNum, task, dataStyle, priorityHighStyle, statusCompletedStyle);
+            taskCount++;
+        }
+        
+        @Override
+        public void finish() throws Exception {
+            for (SXSSFSheet taskSheet : sheets) {
+                for (int i = 0; i < 8; i++) {
+                    taskSheet.autoSizeColumn(i);
+                    taskSheet.setColumnWidth(i, taskSheet.getColumnWidth(i) + 512);
+                }
+            }
+            workbook.write(outputStream);
+            logger.info("Streaming task Excel report finished with {} tasks", taskCount);
+        }
+        
+        @Override
+        public void close() {
+            // Deletes the temporary files holding flushed rows
+            workbook.dispose();
+            try {
+                workbook.close();
+            } catch (Exception e) {
+                logger.debug("Ignoring error while closing streaming workbook", e);
+            }
         }
     }
     
@@ -132,20 +524,9 @@ public class TaskExcelService {
     private int addHeaderRow(Sheet sheet, int rowNum, CellStyle headerStyle) {
         Row headerRow = sheet.createRow(rowNum++);
         
-        String[] headers = {
-            "Task Title", 
-            "Description", 
-            "Priority", 
-            "Status", 
-            "Created Date", 
-            "Due Date", 
-            "Assignee Names", 
-            "Assignee Status"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
+        for (int i = 0; i < COLUMN_HEADERS.length; i++) {
             Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
+            cell.setCellValue(COLUMN_HEADERS[i]);
             cell.setCellStyle(headerStyle);
         }
         
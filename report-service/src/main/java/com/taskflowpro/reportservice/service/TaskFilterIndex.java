@@ -0,0 +1,169 @@
+package com.taskflowpro.reportservice.service;
+
+import com.taskflowpro.reportservice.dto.FilterDTO;
+import com.taskflowpro.reportservice.dto.TaskDTO;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Bitmap indexes over the tasks of one report request
+ *
+ * Built in a single pass over the tasks: one bitmap per priority value, one per status value,
+ * and a date-sorted list of createdAt values. Any number of FilterDTOs can then be evaluated
+ * with bitmap AND/OR operations and a binary search, without looking at the tasks again.
+ */
+public class TaskFilterIndex {
+
+    private final List<TaskDTO> tasks;
+
+    // Bit i is set when task i has that priority / status (keys are lower case)
+    private final Map<String, BitSet> byPriority = new HashMap<>();
+    private final Map<String, BitSet> byStatus = new HashMap<>();
+
+    // (epochDay << 32 | taskIndex) for every task with a parseable createdAt, sorted
+    private final long[] createdSorted;
+
+    /**
+     * Builds the indexes in one pass over the tasks
+     */
+    public TaskFilterIndex(List<TaskDTO> tasks) {
+        this.tasks = tasks;
+        long[] dated = new long[tasks.size()];
+        int datedCount = 0;
+
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskDTO task = tasks.get(i);
+            setBit(byPriority, task.getPriority(), i);
+            setBit(byStatus, task.getStatus(), i);
+
+            LocalDate created = parseDate(task.getCreatedAt());
+            if (created != null) {
+                dated[datedCount++] = (created.toEpochDay() << 32) | i;
+            }
+        }
+
+        createdSorted = Arrays.copyOf(dated, datedCount);
+        Arrays.sort(createdSorted);
+    }
+
+    /**
+     * Returns the tasks matching the filter, in their original order
+     */
+    public List<TaskDTO> select(FilterDTO filter) {
+        BitSet matches = evaluate(filter);
+        List<TaskDTO> selected = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            selected.add(tasks.get(i));
+        }
+        return selected;
+    }
+
+    /**
+     * Evaluates a filter to a bitmap of matching task positions
+     * Each criterion that is present narrows the result; missing criteria match everything
+     *
+     * @throws IllegalArgumentException if dateFrom or dateTo is given but is not an ISO date or timestamp
+     */
+    public BitSet evaluate(FilterDTO filter) {
+        BitSet result = new BitSet(tasks.size());
+        result.set(0, tasks.size());
+        if (filter == null) {
+            return result;
+        }
+
+        if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+            result.and(union(byPriority, filter.getPriority()));
+        }
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            result.and(union(byStatus, filter.getStatus()));
+        }
+        if (filter.getDateFrom() != null || filter.getDateTo() != null) {
+            result.and(createdBetween(parseFilterDate("dateFrom", filter.getDateFrom()),
+                parseFilterDate("dateTo", filter.getDateTo())));
+        }
+        return result;
+    }
+
+    /**
+     * OR of the bitmaps for the given values
+     */
+    private BitSet union(Map<String, BitSet> index, List<String> values) {
+        BitSet union = new BitSet(tasks.size());
+        for (String value : values) {
+            BitSet bits = value != null ? index.get(value.toLowerCase()) : null;
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Bitmap of tasks created within [from, to] (inclusive, by calendar day)
+     * Tasks without a createdAt never match a date range
+     */
+    private BitSet createdBetween(LocalDate from, LocalDate to) {
+        long lowKey = from != null ? from.toEpochDay() << 32 : Long.MIN_VALUE;
+        long highKey = to != null ? (to.toEpochDay() << 32) | 0xFFFFFFFFL : Long.MAX_VALUE;
+
+        BitSet bits = new BitSet(tasks.size());
+        for (int i = lowerBound(lowKey); i < createdSorted.length && createdSorted[i] <= highKey; i++) {
+            bits.set((int) createdSorted[i]);
+        }
+        return bits;
+    }
+
+    /**
+     * First position in createdSorted whose key is >= the given key
+     */
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = createdSorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (createdSorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void setBit(Map<String, BitSet> index, String value, int position) {
+        if (value != null) {
+            index.computeIfAbsent(value.toLowerCase(), v -> new BitSet(tasks.size())).set(position);
+        }
+    }
+
+    /**
+     * Parses a filter bound; blank means unbounded, anything else must be a date
+     * (an unreadable bound must not silently widen the filter to all tasks)
+     */
+    private LocalDate parseFilterDate(String field, String isoDate) {
+        if (isoDate == null || isoDate.isBlank()) {
+            return null;
+        }
+        LocalDate date = parseDate(isoDate.trim());
+        if (date == null) {
+            throw new IllegalArgumentException("Invalid " + field + " '" + isoDate + "': expected an ISO date such as 2025-12-09");
+        }
+        return date;
+    }
+
+    /**
+     * Parses the date part of an ISO date or timestamp ("2025-12-09" or "2025-12-09T12:00:00Z")
+     * Returns null when it cannot be read (task createdAt values: such tasks match no date range)
+     */
+    private LocalDate parseDate(String isoDate) {
+        if (isoDate == null || isoDate.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(isoDate.substring(0, 10));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
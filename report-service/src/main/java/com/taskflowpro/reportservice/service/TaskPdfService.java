@@ -3,8 +3,12 @@ package com.taskflowpro.reportservice.service;
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.*;
 import com.taskflowpro.reportservice.dto.*;
+import com.taskflowpro.reportservice.monitoring.ReportPhaseEvent;
+import com.taskflowpro.reportservice.monitoring.ReportPhases;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.awt.Color;
@@ -21,31 +25,132 @@ public class TaskPdfService {
     
     private static final Logger logger = LoggerFactory.getLogger(TaskPdfService.class);
     
+    // Shared Unicode fonts for names that Helvetica cannot draw
+    @Autowired
+    private ReportFontRegistry fontRegistry;
+    
+    // Reusable output segments for rendered reports
+    @Autowired
+    private ReportBufferPool bufferPool;
+    
+    // Draw the task table straight onto the content stream (DirectPdfTable) when all text is WinAnsi (cp1252)
+    @Value("${report.pdf.fast-table:true}")
+    private boolean fastTableEnabled;
+    
+    // Task table columns and their relative widths (shared by PdfPTable and DirectPdfTable)
+    private static final String[] TABLE_HEADERS = {"Task Title", "Priority", "Status", "Created", "Due Date", "Assignees"};
+    private static final float[] TABLE_WIDTHS = {3f, 1.5f, 1.5f, 1.5f, 1.5f, 3f};
+    private static final float TABLE_SPACING_BEFORE = 10f;
+    
+    // Row backgrounds (alternating)
+    private static final Color EVEN_ROW_COLOR = Color.WHITE;
+    private static final Color ODD_ROW_COLOR = new Color(245, 245, 245);
+    
     // Font definitions for consistent styling
     private static final Font TITLE_FONT = new Font(Font.HELVETICA, 18, Font.BOLD, Color.BLACK);
     private static final Font HEADING_FONT = new Font(Font.HELVETICA, 12, Font.BOLD, Color.BLACK);
     private static final Font NORMAL_FONT = new Font(Font.HELVETICA, 10, Font.NORMAL, Color.BLACK);
     private static final Font SMALL_FONT = new Font(Font.HELVETICA, 9, Font.NORMAL, Color.DARK_GRAY);
     
+    // Upper bound of rows laid out for a preview - more than ever fit on the first page
+    static final int PREVIEW_MAX_ROWS = 40;
+    
+    // Streaming reports hand completed rows to the writer every this many tasks
+    private static final int STREAM_FLUSH_ROWS = 200;
+    
     /**
-     * Generates a PDF report from the provided task data
+     * Generates a PDF report from the provided task data (standard compression)
      * 
      * @param request The report request containing tasks and metadata
      * @return byte array containing the PDF file
      * @throws Exception if PDF generation fails
      */
     public byte[] generateTaskReportPdf(ReportRequest request) throws Exception {
-        logger.info("Generating task PDF report with {} tasks", request.getTasks().size());
+        return generateTaskReportPdf(request, CompressionProfile.STANDARD);
+    }
+    
+    /**
+     * Generates a PDF report from the provided task data
+     * 
+     * @param request The report request containing tasks and metadata
+     * @param compression Deflate level / object streams to use (see CompressionProfile)
+     * @return byte array containing the PDF file
+     * @throws Exception if PDF generation fails
+     */
+    public byte[] generateTaskReportPdf(ReportRequest request, CompressionProfile compression) throws Exception {
+        try (ReportBuffer buffer = renderTaskReportPdf(request, compression)) {
+            return buffer.toByteArray();
+        }
+    }
+    
+    /**
+     * Generates a PDF report into pooled buffer segments (no growing array, no final copy)
+     * 
+     * @param request The report request containing tasks and metadata
+     * @param compression Deflate level / object streams to use (see CompressionProfile)
+     * @return the PDF; the caller writes the response from it and must close() it
+     * @throws Exception if PDF generation fails
+     */
+    public ReportBuffer renderTaskReportPdf(ReportRequest request, CompressionProfile compression) throws Exception {
+        return renderTaskReportPdf(request, compression, fastTableEnabled, RenderMode.FULL);
+    }
+    
+    /**
+     * Same as renderTaskReportPdf(request, compression), optionally without the expensive styling
+     * 
+     * @param mode DEGRADED for plain cells (no priority/status colours) and one-line assignees
+     */
+    public ReportBuffer renderTaskReportPdf(ReportRequest request, CompressionProfile compression,
+                                            RenderMode mode) throws Exception {
+        return renderTaskReportPdf(request, compression, fastTableEnabled, mode);
+    }
+    
+    /**
+     * Same as renderTaskReportPdf(request, compression), choosing the table renderer explicitly
+     * 
+     * @param fastTable true to draw the table directly onto the page (falls back to PdfPTable for
+     *                  text Helvetica cannot draw), false to always lay it out with PdfPTable
+     */
+    public ReportBuffer renderTaskReportPdf(ReportRequest request, CompressionProfile compression,
+                                            boolean fastTable) throws Exception {
+        return renderTaskReportPdf(request, compression, fastTable, RenderMode.FULL);
+    }
+    
+    private ReportBuffer renderTaskReportPdf(ReportRequest request, CompressionProfile compression,
+                                             boolean fastTable, RenderMode mode) throws Exception {
+        ReportBuffer buffer = bufferPool.acquire();
+        try {
+            writeTaskReportPdf(request, compression, fastTable, mode, buffer);
+            return buffer;
+        } catch (Exception | Error e) {
+            buffer.close();
+            throw e;
+        }
+    }
+    
+    private void writeTaskReportPdf(ReportRequest request, CompressionProfile compression, boolean fastTable,
+                                    RenderMode mode, ReportBuffer buffer) throws Exception {
+        logger.info("Generating task PDF report with {} tasks ({} compression, {})",
+            request.getTasks().size(), compression, mode);
         
-        // ByteArrayOutputStream holds the PDF in memory
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        // Pooled segments hold the PDF in memory
+        java.io.OutputStream outputStream = buffer.outputStream();
         
         // Create PDF document with A4 page size
         Document document = new Document(PageSize.A4, 36, 36, 54, 36);
         
+        // Flight recorder phases: layout (building the content), serialize (final page, fonts, xref)
+        ReportPhases.setTaskCount(request.getTasks().size());
+        ReportPhaseEvent layoutPhase = ReportPhases.begin(ReportPhases.LAYOUT);
+        ReportPhaseEvent serializePhase = null;
+        
         try {
             // PdfWriter connects the document to the output stream
-            PdfWriter.getInstance(document, outputStream);
+            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            compression.apply(writer);
+            
+            // Running header and "Page X of Y" footer on every page
+            writer.setPageEvent(createPageDecorator(request.getTitle()));
             
             // Open document for writing
             document.open();
@@ -65,26 +170,279 @@ public class TaskPdfService {
             }
             
             // Add tasks table
-            addTasksTable(document, request.getTasks());
-            
-            // Add footer with page numbers
-            addFooter(document);
+            if (fastTable && canDrawDirectly(request.getTasks())) {
+                addTasksTableDirect(writer, document, request.getTasks(), mode);
+            } else {
+                addTasksTable(document, request.getTasks(), mode);
+            }
             
+            ReportPhases.setPageCount(writer.getPageNumber());
             logger.info("Task PDF report generated successfully");
             
         } finally {
+            ReportPhases.end(layoutPhase, 0);
+            serializePhase = ReportPhases.begin(ReportPhases.SERIALIZE);
             // Always close the document
             document.close();
         }
         
+        ReportPhases.end(serializePhase, buffer.size());
+    }
+    
+    /**
+     * Generates a one-page preview of the task report
+     * Only the title, metadata, filters and the rows that fit on the first page are laid out,
+     * so the cost does not grow with the number of tasks in the request
+     * 
+     * @param request The report request containing tasks and metadata
+     * @return preview PDF plus total task count and estimated page count of the full report
+     * @throws Exception if PDF generation fails
+     */
+    public ReportPreviewResult generateTaskPreviewPdf(ReportRequest request) throws Exception {
+        return generateTaskPreviewPdf(request, request.getTasks().size());
+    }
+    
+    /**
+     * Generates a one-page preview from a request that only carries the first tasks
+     * (see TaskPreviewReader, which counts the rest without binding them)
+     * 
+     * @param request The report request with at least the tasks shown on the first page
+     * @param totalTasks Number of tasks in the full report
+     */
+    public ReportPreviewResult generateTaskPreviewPdf(ReportRequest request, int totalTasks) throws Exception {
+        logger.info("Generating task PDF preview for report with {} tasks", totalTasks);
+        
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Document document = new Document(PageSize.A4, 36, 36, 54, 36);
+        int previewTasks;
+        int estimatedPages;
+        
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            writer.setPageEvent(createPageDecorator(request.getTitle()));
+            document.open();
+            
+            // Same header section as the full report
+            addTitle(document, request.getTitle());
+            document.add(new Paragraph(" ")); // Spacer
+            addMetadata(document, request.getGeneratedBy(), request.getGeneratedAt());
+            document.add(new Paragraph(" ")); // Spacer
+            if (request.getFilters() != null) {
+                addFilters(document, request.getFilters());
+                document.add(new Paragraph(" ")); // Spacer
+            }
+            
+            // Lay out a bounded slice of rows and keep only those that fit on this page
+            java.util.List<TaskDTO> candidates = request.getTasks().subList(0, Math.min(request.getTasks().size(), PREVIEW_MAX_ROWS));
+            PdfPTable table = createTasksTable(candidates);
+            table.setTotalWidth(document.right() - document.left());
+            table.setLockedWidth(true);
+            
+            // Leave room for the preview note below the table
+            float available = writer.getVerticalPosition(true) - document.bottom() - table.spacingBefore() - 40f;
+            float usedHeight = table.getRowHeight(0); // header row
+            int fittingRows = 0;
+            while (fittingRows < candidates.size()
+                    && usedHeight + table.getRowHeight(fittingRows + 1) <= available) {
+                usedHeight += table.getRowHeight(fittingRows + 1);
+                fittingRows++;
+            }
+            while (table.size() > fittingRows + 1) {
+                table.deleteLastRow();
+            }
+            previewTasks = fittingRows;
+            
+            // Estimate remaining pages from the average height of the rows we measured
+            float pageBodyHeight = document.top() - document.bottom();
+            float averageRowHeight = fittingRows > 0 ? (usedHeight - table.getRowHeight(0)) / fittingRows : 30f;
+            int remainingRows = totalTasks - previewTasks;
+            estimatedPages = 1 + (int) Math.ceil(remainingRows * averageRowHeight / pageBodyHeight);
+            
+            document.add(table);
+            
+            Paragraph note = new Paragraph(
+                "\nPreview: showing " + previewTasks + " of " + totalTasks
+                    + " tasks (full report is approximately " + estimatedPages + " pages)",
+                HEADING_FONT
+            );
+            document.add(note);
+            
+            logger.info("Task PDF preview generated with {} of {} tasks", previewTasks, totalTasks);
+            
+        } finally {
+            document.close();
+        }
+        
+        return new ReportPreviewResult(outputStream.toByteArray(), totalTasks, previewTasks, estimatedPages);
+    }
+
+    /**
+     * Appends a section of new tasks to an existing report PDF (rolling / cumulative reports)
+     * Uses a PDF incremental update: the original bytes are copied unchanged and only the new
+     * pages (plus an updated page tree and xref) are written after them, so earlier pages are
+     * never laid out again and the work depends only on the number of new tasks
+     *
+     * @param existingPdf A report previously produced by this service
+     * @param request Section title, metadata and the new tasks (filters are ignored)
+     * @return the updated PDF (the original file followed by the update)
+     * @throws IllegalArgumentException if the existing file is not a readable PDF
+     * @throws Exception if PDF generation fails
+     */
+    public byte[] appendTasksToReport(byte[] existingPdf, ReportRequest request) throws Exception {
+        logger.info("Appending {} tasks to existing PDF report ({} bytes)", request.getTasks().size(), existingPdf.length);
+
+        PdfReader reader;
+        try {
+            // Partial read: only the xref is parsed up front, objects are loaded when the update needs them
+            reader = new PdfReader(new RandomAccessFileOrArray(existingPdf), null);
+        } catch (java.io.IOException e) {
+            throw new IllegalArgumentException("Existing report is not a readable PDF", e);
+        }
+
+        ReportPhases.setTaskCount(request.getTasks().size());
+        ReportPhaseEvent layoutPhase = ReportPhases.begin(ReportPhases.LAYOUT);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(existingPdf.length + 64 * 1024);
+        // Append mode ('\0' keeps the PDF version, true = incremental update)
+        PdfStamper stamper = new PdfStamper(reader, outputStream, '\0', true);
+        int firstNewPage = reader.getNumberOfPages() + 1;
+        int pageNumber = firstNewPage;
+        Rectangle pageSize = PageSize.A4;
+        // Same margins as newly generated reports
+        Rectangle body = new Rectangle(36, 36, pageSize.getWidth() - 36, pageSize.getHeight() - 54);
+
+        try {
+            // Section heading, metadata line and the new tasks, flowed over as many new pages as needed
+            ColumnText column = new ColumnText(null);
+            column.addElement(new Paragraph(fontRegistry.phrase(request.getTitle(), HEADING_FONT)));
+            Paragraph metadata = new Paragraph();
+            metadata.add(new Chunk("Added by: ", SMALL_FONT));
+            metadata.add(fontRegistry.phrase(request.getGeneratedBy(), SMALL_FONT));
+            metadata.add(new Chunk("   Added at: " + formatDateTime(request.getGeneratedAt()), SMALL_FONT));
+            column.addElement(metadata);
+
+            PdfPTable table = createTasksTable(request.getTasks());
+            table.setHeaderRows(1); // Repeat column headings on every new page
+            column.addElement(table);
+            column.addElement(new Paragraph("\nTasks added: " + request.getTasks().size(), HEADING_FONT));
+
+            int status = ColumnText.START_COLUMN;
+            while (ColumnText.hasMoreText(status)) {
+                stamper.insertPage(pageNumber, pageSize);
+                column.setCanvas(stamper.getOverContent(pageNumber));
+                column.setSimpleColumn(body.getLeft(), body.getBottom(), body.getRight(), body.getTop());
+                status = column.go();
+                pageNumber++;
+            }
+
+            new ReportPageDecorator(fontRegistry.phrase(request.getTitle(), SMALL_FONT))
+                .decorateAppendedPages(stamper, firstNewPage, pageNumber - 1, body);
+
+            logger.info("Appended {} pages to PDF report", pageNumber - firstNewPage);
+
+        } finally {
+            ReportPhases.end(layoutPhase, 0);
+            stamper.close();
+            reader.close();
+        }
+
         return outputStream.toByteArray();
     }
+
+    /**
+     * Opens a task PDF report that receives its tasks one at a time (standard compression)
+     * Completed rows are flushed to pages and written to the output stream as they fill up,
+     * so memory use does not depend on the number of tasks
+     * 
+     * @param header Report title, metadata and filters (the tasks list is ignored)
+     * @param outputStream Where the PDF bytes are written as they are produced
+     * @return the open report; call finish() after the last task, and always close()
+     * @throws DocumentException if the document cannot be started
+     */
+    public StreamingTaskReport openTaskReportStream(ReportRequest header, java.io.OutputStream outputStream) throws DocumentException {
+        return openTaskReportStream(header, outputStream, CompressionProfile.STANDARD);
+    }
+    
+    /**
+     * Same as openTaskReportStream(header, outputStream) with the given compression profile
+     */
+    public StreamingTaskReport openTaskReportStream(ReportRequest header, java.io.OutputStream outputStream,
+                                                    CompressionProfile compression) throws DocumentException {
+        logger.info("Opening streaming task PDF report ({} compression)", compression);
+        return new PdfTaskReportStream(header, outputStream, compression);
+    }
+    
+    /**
+     * Incrementally written task PDF (see openTaskReportStream)
+     */
+    private class PdfTaskReportStream implements StreamingTaskReport {
+        
+        private final Document document = new Document(PageSize.A4, 36, 36, 54, 36);
+        private final PdfPTable table;
+        private int rowNum = 0;
+        private boolean finished = false;
+        
+        PdfTaskReportStream(ReportRequest header, java.io.OutputStream outputStream,
+                            CompressionProfile compression) throws DocumentException {
+            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            compression.apply(writer);
+            writer.setPageEvent(createPageDecorator(header.getTitle()));
+            document.open();
+            
+            // Same header section as the full report
+            addTitle(document, header.getTitle());
+            document.add(new Paragraph(" ")); // Spacer
+            addMetadata(document, header.getGeneratedBy(), header.getGeneratedAt());
+            document.add(new Paragraph(" ")); // Spacer
+            if (header.getFilters() != null) {
+                addFilters(document, header.getFilters());
+                document.add(new Paragraph(" ")); // Spacer
+            }
+            
+            // Incomplete table: each document.add() writes the rows so far and drops them from memory
+            table = createTasksTable(java.util.List.of());
+            table.setComplete(false);
+        }
+        
+        @Override
+        public void addTask(TaskDTO task) throws DocumentException {
+            addTableRow(table, task, rowNum % 2 == 0);
+            rowNum++;
+            if (rowNum % STREAM_FLUSH_ROWS == 0) {
+                document.add(table);
+            }
+        }
+        
+        @Override
+        public void finish() throws DocumentException {
+            table.setComplete(true);
+            document.add(table);
+            
+            Paragraph summary = new Paragraph("\nTotal Tasks: " + rowNum, HEADING_FONT);
+            document.add(summary);
+            
+            document.close();
+            finished = true;
+            logger.info("Streaming task PDF report finished with {} tasks", rowNum);
+        }
+        
+        @Override
+        public void close() {
+            if (!finished && document.isOpen()) {
+                try {
+                    document.close();
+                } catch (Exception e) {
+                    logger.debug("Ignoring error while abandoning streaming PDF report", e);
+                }
+            }
+        }
+    }
     
     /**
      * Adds the main title to the document
      */
     private void addTitle(Document document, String title) throws DocumentException {
-        Paragraph titleParagraph = new Paragraph(title, TITLE_FONT);
+        Paragraph titleParagraph = new Paragraph(fontRegistry.phrase(title, TITLE_FONT));
         titleParagraph.setAlignment(Element.ALIGN_CENTER);
         document.add(titleParagraph);
     }
@@ -95,7 +453,7 @@ public class TaskPdfService {
     private void addMetadata(Document document, String generatedBy, String generatedAt) throws DocumentException {
         Paragraph metadata = new Paragraph();
         metadata.add(new Chunk("Generated by: ", HEADING_FONT));
-        metadata.add(new Chunk(generatedBy, NORMAL_FONT));
+        metadata.add(fontRegistry.phrase(generatedBy, NORMAL_FONT));
         metadata.add(Chunk.NEWLINE);
         metadata.add(new Chunk("Generated at: ", HEADING_FONT));
         metadata.add(new Chunk(formatDateTime(generatedAt), NORMAL_FONT));
@@ -131,14 +489,99 @@ public class TaskPdfService {
     /**
      * Creates a table with all tasks and their details
      */
-    private void addTasksTable(Document document, java.util.List<TaskDTO> tasks) throws DocumentException {
+    private void addTasksTable(Document document, java.util.List<TaskDTO> tasks, RenderMode mode) throws DocumentException {
+        // Added in chunks (like the streaming report): each document.add() lays out the rows so far,
+        // and between chunks the render stops if the caller has given up
+        PdfPTable table = createTasksTable(java.util.List.of());
+        table.setComplete(false);
+        int rowNum = 0;
+        for (TaskDTO task : tasks) {
+            addTableRow(table, task, rowNum % 2 == 0, mode);
+            rowNum++;
+            if (rowNum % ReportCancellation.CHECK_INTERVAL_ROWS == 0) {
+                ReportCancellation.check();
+                document.add(table);
+            }
+        }
+        table.setComplete(true);
+        document.add(table);
+        
+        // Add summary
+        Paragraph summary = new Paragraph("\nTotal Tasks: " + tasks.size(), HEADING_FONT);
+        document.add(summary);
+    }
+    
+    /**
+     * Draws the tasks table and summary line directly onto the pages (see DirectPdfTable)
+     * Same columns, colours and text as the PdfPTable version, without a cell object per value
+     */
+    private void addTasksTableDirect(PdfWriter writer, Document document, java.util.List<TaskDTO> tasks,
+                                     RenderMode mode) {
+        boolean plain = mode == RenderMode.DEGRADED;
+        DirectPdfTable table = new DirectPdfTable(writer, document, TABLE_WIDTHS, TABLE_SPACING_BEFORE);
+        table.addHeader(TABLE_HEADERS);
+        
+        String[] texts = new String[TABLE_HEADERS.length];
+        Color[] backgrounds = new Color[TABLE_HEADERS.length];
+        int rowNum = 0;
+        for (TaskDTO task : tasks) {
+            Color rowColor = rowNum % 2 == 0 ? EVEN_ROW_COLOR : ODD_ROW_COLOR;
+            texts[0] = task.getTitle();
+            texts[1] = capitalizeFirst(task.getPriority());
+            texts[2] = capitalizeFirst(task.getStatus());
+            texts[3] = formatDate(task.getCreatedAt());
+            texts[4] = formatDate(task.getDueDate());
+            texts[5] = plain ? assigneeNames(task.getAssignees()) : formatAssignees(task.getAssignees());
+            backgrounds[0] = rowColor;
+            backgrounds[1] = plain ? rowColor : getPriorityColor(task.getPriority());
+            backgrounds[2] = plain ? rowColor : getStatusColor(task.getStatus());
+            backgrounds[3] = rowColor;
+            backgrounds[4] = rowColor;
+            backgrounds[5] = rowColor;
+            table.addRow(texts, backgrounds);
+            rowNum++;
+            if (rowNum % ReportCancellation.CHECK_INTERVAL_ROWS == 0) {
+                ReportCancellation.check();
+            }
+        }
+        
+        table.addLine("Total Tasks: " + tasks.size());
+    }
+    
+    /**
+     * Whether every value in the table can be drawn with built-in Helvetica (no Unicode fallback needed)
+     */
+    private boolean canDrawDirectly(java.util.List<TaskDTO> tasks) {
+        for (TaskDTO task : tasks) {
+            if (!isWinAnsi(task.getTitle()) || !isWinAnsi(task.getPriority()) || !isWinAnsi(task.getStatus())) {
+                return false;
+            }
+            if (task.getAssignees() != null) {
+                for (AssigneeDTO assignee : task.getAssignees()) {
+                    if (!isWinAnsi(assignee.getName()) || !isWinAnsi(assignee.getStatus())) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+    
+    private boolean isWinAnsi(String text) {
+        return text == null || fontRegistry.isWinAnsi(text);
+    }
+    
+    /**
+     * Builds the tasks table (header row plus one row per task)
+     */
+    private PdfPTable createTasksTable(java.util.List<TaskDTO> tasks) throws DocumentException {
         // Create table with 6 columns
-        PdfPTable table = new PdfPTable(6);
+        PdfPTable table = new PdfPTable(TABLE_HEADERS.length);
         table.setWidthPercentage(100);
-        table.setSpacingBefore(10f);
+        table.setSpacingBefore(TABLE_SPACING_BEFORE);
         
         // Set column widths (relative proportions)
-        table.setWidths(new float[]{3f, 1.5f, 1.5f, 1.5f, 1.5f, 3f});
+        table.setWidths(TABLE_WIDTHS);
         
         // Add header row
         addTableHeader(table);
@@ -150,20 +593,14 @@ public class TaskPdfService {
             rowNum++;
         }
         
-        document.add(table);
-        
-        // Add summary
-        Paragraph summary = new Paragraph("\nTotal Tasks: " + tasks.size(), HEADING_FONT);
-        document.add(summary);
+        return table;
     }
     
     /**
      * Adds header row to the table
      */
     private void addTableHeader(PdfPTable table) {
-        String[] headers = {"Task Title", "Priority", "Status", "Created", "Due Date", "Assignees"};
-        
-        for (String header : headers) {
+        for (String header : TABLE_HEADERS) {
             PdfPCell cell = new PdfPCell(new Phrase(header, HEADING_FONT));
             cell.setBackgroundColor(new Color(70, 130, 180)); // Steel blue
             cell.setHorizontalAlignment(Element.ALIGN_CENTER);
@@ -178,7 +615,15 @@ public class TaskPdfService {
      * Adds a single task row to the table
      */
     private void addTableRow(PdfPTable table, TaskDTO task, boolean isEvenRow) {
-        Color backgroundColor = isEvenRow ? Color.WHITE : new Color(245, 245, 245);
+        addTableRow(table, task, isEvenRow, RenderMode.FULL);
+    }
+    
+    /**
+     * Adds a single task row; degraded rows keep the row colour in every cell and list assignees on one line
+     */
+    private void addTableRow(PdfPTable table, TaskDTO task, boolean isEvenRow, RenderMode mode) {
+        boolean plain = mode == RenderMode.DEGRADED;
+        Color backgroundColor = isEvenRow ? EVEN_ROW_COLOR : ODD_ROW_COLOR;
         
         // Task Title
         PdfPCell titleCell = createCell(task.getTitle(), backgroundColor);
@@ -187,12 +632,16 @@ public class TaskPdfService {
         
         // Priority
         PdfPCell priorityCell = createCell(capitalizeFirst(task.getPriority()), backgroundColor);
-        priorityCell.setBackgroundColor(getPriorityColor(task.getPriority()));
+        if (!plain) {
+            priorityCell.setBackgroundColor(getPriorityColor(task.getPriority()));
+        }
         table.addCell(priorityCell);
         
         // Status
         PdfPCell statusCell = createCell(capitalizeFirst(task.getStatus()), backgroundColor);
-        statusCell.setBackgroundColor(getStatusColor(task.getStatus()));
+        if (!plain) {
+            statusCell.setBackgroundColor(getStatusColor(task.getStatus()));
+        }
         table.addCell(statusCell);
         
         // Created Date
@@ -202,7 +651,7 @@ public class TaskPdfService {
         table.addCell(createCell(formatDate(task.getDueDate()), backgroundColor));
         
         // Assignees
-        String assigneeText = formatAssignees(task.getAssignees());
+        String assigneeText = plain ? assigneeNames(task.getAssignees()) : formatAssignees(task.getAssignees());
         table.addCell(createCell(assigneeText, backgroundColor));
     }
     
@@ -210,7 +659,10 @@ public class TaskPdfService {
      * Helper method to create a table cell with consistent styling
      */
     private PdfPCell createCell(String text, Color backgroundColor) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, SMALL_FONT));
+        PdfPCell cell = new PdfPCell(fontRegistry.phrase(text, SMALL_FONT));
+        if (fontRegistry.needsBidi(text)) {
+            cell.setRunDirection(PdfWriter.RUN_DIRECTION_LTR); // Enables bidi reordering and Arabic shaping
+        }
         cell.setBackgroundColor(backgroundColor);
         cell.setPadding(6);
         cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
@@ -267,6 +719,23 @@ public class TaskPdfService {
         return sb.toString();
     }
     
+    /**
+     * Assignee names on one line (degraded mode: no status/progress, no line breaks)
+     */
+    private String assigneeNames(java.util.List<AssigneeDTO> assignees) {
+        if (assignees == null || assignees.isEmpty()) {
+            return "Unassigned";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (AssigneeDTO assignee : assignees) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(assignee.getName());
+        }
+        return sb.toString();
+    }
+    
     /**
      * Formats ISO date string to readable format
      */
@@ -307,11 +776,9 @@ public class TaskPdfService {
     }
     
     /**
-     * Adds a footer with generation info
+     * Page header (branding + report title) and "Page X of Y" footer for one document
      */
-    private void addFooter(Document document) throws DocumentException {
-        Paragraph footer = new Paragraph("\n\nTaskFlowPro - Task Management System", SMALL_FONT);
-        footer.setAlignment(Element.ALIGN_CENTER);
-        document.add(footer);
+    private ReportPageDecorator createPageDecorator(String title) {
+        return new ReportPageDecorator(fontRegistry.phrase(title, SMALL_FONT));
     }
 }
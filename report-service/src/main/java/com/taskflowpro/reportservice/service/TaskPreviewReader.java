@@ -0,0 +1,127 @@
+package com.taskflowpro.reportservice.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.taskflowpro.reportservice.dto.FilterDTO;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.ReportViews;
+import com.taskflowpro.reportservice.dto.TaskDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a task report request for the first-page preview without binding the whole task list
+ *
+ * The preview only lays out the first {@link #MAX_TASKS} tasks, so only those are turned into
+ * TaskDTOs (with the task PDF view). The rest of the tasks array is counted and skipped, token by
+ * token, like ReportPayloadStats.scan - a request with 100,000 tasks costs a scan, not 100,000 objects.
+ * Bean validation (ReportViews.TaskPdf) runs on the metadata and the tasks that were read.
+ */
+@Component
+public class TaskPreviewReader {
+
+    /** Tasks read for a preview - more than ever fit on the first page */
+    public static final int MAX_TASKS = TaskPdfService.PREVIEW_MAX_ROWS;
+
+    /**
+     * The request with at most MAX_TASKS tasks, and how many tasks the full request has
+     */
+    public record Preview(ReportRequest request, int totalTasks) {
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    private ObjectReader taskReader;
+    private ObjectReader filterReader;
+
+    @PostConstruct
+    public void init() {
+        taskReader = objectMapper.readerWithView(ReportViews.TaskPdf.class).forType(TaskDTO.class);
+        filterReader = objectMapper.readerWithView(ReportViews.TaskPdf.class).forType(FilterDTO.class);
+    }
+
+    /**
+     * Reads a ReportRequest JSON object from the parser
+     *
+     * @throws IllegalArgumentException if the body is not a valid task report request
+     */
+    public Preview read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Report request must be a JSON object");
+        }
+        ReportRequest request = new ReportRequest();
+        int totalTasks = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "title" -> request.setTitle(text(parser, value, field));
+                case "generatedAt" -> request.setGeneratedAt(text(parser, value, field));
+                case "generatedBy" -> request.setGeneratedBy(text(parser, value, field));
+                case "filters" -> request.setFilters(value == JsonToken.VALUE_NULL ? null : filterReader.readValue(parser));
+                case "tasks" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        List<TaskDTO> tasks = new ArrayList<>(MAX_TASKS);
+                        totalTasks = readTasks(parser, tasks);
+                        request.setTasks(tasks);
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        throw new IllegalArgumentException("tasks must be an array");
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        Set<ConstraintViolation<ReportRequest>> violations = validator.validate(request, ReportViews.TaskPdf.class);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining(", ")));
+        }
+        return new Preview(request, totalTasks);
+    }
+
+    /**
+     * Binds the first MAX_TASKS elements of the tasks array and skips the others
+     *
+     * @return number of elements in the array
+     */
+    private int readTasks(JsonParser parser, List<TaskDTO> tasks) throws IOException {
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IllegalArgumentException("Unexpected end of report request");
+            }
+            if (tasks.size() < MAX_TASKS) {
+                tasks.add(taskReader.readValue(parser));
+            } else {
+                parser.skipChildren();
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static String text(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value.isStructStart()) {
+            throw new IllegalArgumentException(field + " must be a string");
+        }
+        return parser.getValueAsString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.taskflowpro.reportservice.service;
+
+import com.taskflowpro.reportservice.dto.TaskDTO;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * How a multi-sheet Excel report splits tasks into sheets (?sheets=status|priority)
+ * Known values come first in a fixed order; anything else follows alphabetically
+ */
+public enum TaskSheetGrouping {
+
+    STATUS(List.of("pending", "in-progress", "completed")),
+    PRIORITY(List.of("urgent", "high", "medium", "low"));
+
+    private final List<String> order;
+
+    TaskSheetGrouping(List<String> order) {
+        this.order = order;
+    }
+
+    /**
+     * The group (sheet) a task belongs to, lower case
+     */
+    public String groupOf(TaskDTO task) {
+        String value = this == STATUS ? task.getStatus() : task.getPriority();
+        return value == null || value.isBlank() ? "unknown" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sort position of a group (known values in their natural order, then the rest)
+     */
+    public int rank(String group) {
+        int index = order.indexOf(group);
+        return index >= 0 ? index : order.size();
+    }
+
+    /**
+     * Parses a grouping name (case-insensitive); null or blank means a single sheet
+     *
+     * @throws IllegalArgumentException for unknown names
+     */
+    public static TaskSheetGrouping parse(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sheet grouping: " + name + " (expected status or priority)");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.taskflowpro.reportservice.service;
+
+import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+import com.taskflowpro.reportservice.monitoring.RenderAllocations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service for rendering user summary PDFs of many users in one request
+ * Summaries are stamped onto the shared skeleton (see UserSummaryPdfService) on the render pool
+ * and written into a ZIP archive in request order as they complete. Only report.bulk.max-in-flight
+ * summaries render (or wait to be written) at a time, so a bulk run neither fills the render pool
+ * queue ahead of interactive reports nor holds every finished PDF in memory.
+ */
+@Service
+public class UserSummaryBulkService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserSummaryBulkService.class);
+    
+    @Autowired
+    private UserSummaryPdfService userSummaryPdfService;
+    
+    @Autowired
+    private ReportBufferPool bufferPool;
+    
+    @Autowired
+    @Qualifier("reportRenderExecutor")
+    private ExecutorService renderExecutor;
+    
+    // Summaries rendering at once per bulk request (0 = half the cores, at least one)
+    @Value("${report.bulk.max-in-flight:0}")
+    private int maxInFlight;
+    
+    /**
+     * Renders one summary per user and packs them into a ZIP
+     * 
+     * @param summaries Parsed and validated summaries, one per user
+     * @param compression Deflate level / object streams to use for every PDF
+     * @param baseName File name prefix for the entries in the ZIP
+     * @return the ZIP in pooled buffer segments; the caller must close() it
+     * @throws Exception if any render fails
+     */
+    public ReportBuffer renderUserSummaryBundle(List<UserSummaryReportRequest> summaries, CompressionProfile compression,
+                                                String baseName) throws Exception {
+        int window = maxInFlight > 0 ? maxInFlight : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        logger.info("Generating {} user summaries ({} compression, {} at a time)", summaries.size(), compression, window);
+        
+        ReportBuffer output = bufferPool.acquire();
+        Deque<CompletableFuture<ReportBuffer>> inFlight = new ArrayDeque<>(window);
+        int submitted = 0;
+        try (ZipOutputStream zip = new ZipOutputStream(output.outputStream())) {
+            for (int i = 0; i < summaries.size(); i++) {
+                // Top up the window, then write the oldest summary as soon as it is done
+                while (submitted < summaries.size() && submitted - i < window) {
+                    UserSummaryReportRequest summary = summaries.get(submitted++);
+                    inFlight.add(CompletableFuture.supplyAsync(
+                        ReportCancellation.propagate(RenderAllocations.propagate(() -> render(summary, compression))), renderExecutor));
+                }
+                try (ReportBuffer pdf = join(inFlight.poll())) {
+                    String sanitizedName = summaries.get(i).getUser().getName().replaceAll("[^a-zA-Z0-9]", "-");
+                    addStoredEntry(zip, baseName + "-" + (i + 1) + "-" + sanitizedName + ".pdf", pdf);
+                }
+            }
+        } catch (Exception | Error e) {
+            // Summaries still rendering give their buffers back once they finish
+            for (CompletableFuture<ReportBuffer> render : inFlight) {
+                render.thenAccept(ReportBuffer::close);
+            }
+            output.close();
+            throw e;
+        }
+        
+        logger.info("User summaries generated successfully ({} bytes)", output.size());
+        return output;
+    }
+    
+    /**
+     * Renders one summary (runs on the render executor)
+     */
+    private ReportBuffer render(UserSummaryReportRequest summary, CompressionProfile compression) {
+        try {
+            return userSummaryPdfService.renderStampedUserSummaryPdf(summary, compression);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+    
+    private static ReportBuffer join(CompletableFuture<ReportBuffer> render) throws Exception {
+        try {
+            return render.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+    
+    /**
+     * Adds a file without re-compressing it (PDF and XLSX are already compressed), straight from its buffer segments
+     */
+    static void addStoredEntry(ZipOutputStream zip, String name, ReportBuffer content) throws Exception {
+        CRC32 crc = new CRC32();
+        for (ByteBuffer chunk : content.chunks()) {
+            crc.update(chunk);
+        }
+        
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.size());
+        entry.setCompressedSize(content.size());
+        entry.setCrc(crc.getValue());
+        
+        zip.putNextEntry(entry);
+        content.writeTo(zip);
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,177 @@
+package com.taskflowpro.reportservice.service;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Image;
+import com.lowagie.text.pdf.PdfContentByte;
+import com.lowagie.text.pdf.PdfTemplate;
+import com.lowagie.text.pdf.PdfWriter;
+import com.taskflowpro.reportservice.dto.UserStatsDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vector charts for user summary PDFs, memoised by stat values
+ *
+ * Charts are drawn as PDF path operators (no Java2D, no bitmaps). The drawing operators depend only
+ * on the four stat numbers, so they are computed once per distinct stats tuple and kept in a bounded
+ * LRU cache; each PDF then just wraps the cached operators in its own form XObject. Bulk runs over
+ * thousands of users with the same numbers never redraw a chart.
+ * Labels are not part of the cached content (text needs per-document fonts) - the caller adds a legend.
+ */
+@Component
+public class UserSummaryChartCache {
+
+    // Same colors as the KPI boxes
+    public static final Color COMPLETED_COLOR = new Color(60, 179, 113);   // Medium sea green
+    public static final Color IN_PROGRESS_COLOR = new Color(255, 165, 0);  // Orange
+    public static final Color PENDING_COLOR = new Color(220, 20, 60);      // Crimson
+    private static final Color EMPTY_COLOR = new Color(220, 220, 220);
+
+    public static final float PIE_SIZE = 110f;
+    public static final float BAR_WIDTH = 380f;
+    public static final float BAR_HEIGHT = 16f;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${report.charts.cache-size:1000}")
+    private int maxEntries;
+
+    /**
+     * The numbers a chart depends on
+     */
+    private record StatsKey(int assigned, int completed, int inProgress, int pending) {
+    }
+
+    /**
+     * Cached drawing operators for both charts
+     */
+    private record ChartContent(byte[] pie, byte[] progressBar) {
+    }
+
+    // Access-ordered LinkedHashMap = least recently used entry is evicted first
+    private final Map<StatsKey, ChartContent> cache = Collections.synchronizedMap(
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatsKey, ChartContent> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+    /**
+     * Status breakdown pie chart (completed / in progress / pending)
+     */
+    public Image pieChart(PdfWriter writer, UserStatsDTO stats) throws BadElementException {
+        return toImage(writer, charts(stats).pie(), PIE_SIZE, PIE_SIZE);
+    }
+
+    /**
+     * Stacked progress bar over all assigned tasks (completed / in progress / pending / rest)
+     */
+    public Image progressBar(PdfWriter writer, UserStatsDTO stats) throws BadElementException {
+        return toImage(writer, charts(stats).progressBar(), BAR_WIDTH, BAR_HEIGHT);
+    }
+
+    private ChartContent charts(UserStatsDTO stats) {
+        StatsKey key = new StatsKey(value(stats.getAssigned()), value(stats.getCompleted()),
+            value(stats.getInProgress()), value(stats.getPending()));
+
+        ChartContent content = cache.get(key);
+        if (content != null) {
+            meterRegistry.counter("report.charts.cache", "result", "hit").increment();
+            return content;
+        }
+        meterRegistry.counter("report.charts.cache", "result", "miss").increment();
+        // Computed outside the lock; two threads drawing the same tuple just store equal bytes
+        content = new ChartContent(drawPie(key), drawProgressBar(key));
+        cache.put(key, content);
+        return content;
+    }
+
+    /**
+     * Wraps cached operators in a form XObject of this document
+     */
+    private Image toImage(PdfWriter writer, byte[] content, float width, float height) throws BadElementException {
+        PdfTemplate template = writer.getDirectContent().createTemplate(width, height);
+        template.getInternalBuffer().append(content);
+        return Image.getInstance(template);
+    }
+
+    private byte[] drawPie(StatsKey stats) {
+        PdfContentByte canvas = new PdfContentByte(null);
+        float radius = PIE_SIZE / 2 - 1;
+        float center = PIE_SIZE / 2;
+        int total = stats.completed() + stats.inProgress() + stats.pending();
+
+        if (total == 0) {
+            canvas.setColorFill(EMPTY_COLOR);
+            canvas.circle(center, center, radius);
+            canvas.fill();
+            return canvas.toPdf(null);
+        }
+
+        // Slices counter-clockwise from 12 o'clock, separated by thin white lines
+        canvas.setColorStroke(Color.WHITE);
+        canvas.setLineWidth(1f);
+        float start = 90f;
+        start = drawSlice(canvas, center, radius, start, 360f * stats.completed() / total, COMPLETED_COLOR);
+        start = drawSlice(canvas, center, radius, start, 360f * stats.inProgress() / total, IN_PROGRESS_COLOR);
+        drawSlice(canvas, center, radius, start, 360f * stats.pending() / total, PENDING_COLOR);
+        return canvas.toPdf(null);
+    }
+
+    private float drawSlice(PdfContentByte canvas, float center, float radius, float start, float extent, Color color) {
+        if (extent <= 0f) {
+            return start;
+        }
+        List<float[]> curves = PdfContentByte.bezierArc(
+            center - radius, center - radius, center + radius, center + radius, start, extent);
+        canvas.setColorFill(color);
+        canvas.moveTo(center, center);
+        canvas.lineTo(curves.get(0)[0], curves.get(0)[1]);
+        for (float[] curve : curves) {
+            canvas.curveTo(curve[2], curve[3], curve[4], curve[5], curve[6], curve[7]);
+        }
+        canvas.closePathFillStroke();
+        return start + extent;
+    }
+
+    private byte[] drawProgressBar(StatsKey stats) {
+        PdfContentByte canvas = new PdfContentByte(null);
+
+        // Track for all assigned tasks, then the segments on top of it
+        canvas.setColorFill(EMPTY_COLOR);
+        canvas.rectangle(0, 0, BAR_WIDTH, BAR_HEIGHT);
+        canvas.fill();
+
+        int scale = Math.max(stats.assigned(), stats.completed() + stats.inProgress() + stats.pending());
+        if (scale > 0) {
+            float x = 0f;
+            x = drawSegment(canvas, x, BAR_WIDTH * stats.completed() / scale, COMPLETED_COLOR);
+            x = drawSegment(canvas, x, BAR_WIDTH * stats.inProgress() / scale, IN_PROGRESS_COLOR);
+            drawSegment(canvas, x, BAR_WIDTH * stats.pending() / scale, PENDING_COLOR);
+        }
+        return canvas.toPdf(null);
+    }
+
+    private float drawSegment(PdfContentByte canvas, float x, float width, Color color) {
+        if (width > 0f) {
+            canvas.setColorFill(color);
+            canvas.rectangle(x, 0, width, BAR_HEIGHT);
+            canvas.fill();
+        }
+        return x + width;
+    }
+
+    private int value(Integer count) {
+        return count != null ? Math.max(0, count) : 0;
+    }
+}
@@ -3,22 +3,42 @@ package com.taskflowpro.reportservice.service;
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.*;
 import com.taskflowpro.reportservice.dto.*;
+import com.taskflowpro.reportservice.monitoring.ReportPhaseEvent;
+import com.taskflowpro.reportservice.monitoring.ReportPhases;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 
 /**
  * Service for generating user productivity summary PDFs
  * Shows individual user statistics and recent tasks
+ *
+ * Bulk runs use the stamped variant: everything that is the same for every user (title, labels,
+ * KPI frames, legend, table header) is laid out once into a skeleton PDF, and each user's PDF only
+ * places the skeleton pages and draws the user's values onto them at fixed positions.
  */
 @Service
 public class UserSummaryPdfService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserSummaryPdfService.class);
     
+    // Shared Unicode fonts for names that Helvetica cannot draw
+    @Autowired
+    private ReportFontRegistry fontRegistry;
+    
+    // Pie / progress bar drawing operators, reused for identical stats
+    @Autowired
+    private UserSummaryChartCache chartCache;
+    
+    // Reusable output segments for rendered reports
+    @Autowired
+    private ReportBufferPool bufferPool;
+    
     // Font definitions
     private static final Font TITLE_FONT = new Font(Font.HELVETICA, 18, Font.BOLD, Color.BLACK);
     private static final Font HEADING_FONT = new Font(Font.HELVETICA, 12, Font.BOLD, Color.BLACK);
@@ -26,21 +46,169 @@ public class UserSummaryPdfService {
     private static final Font SMALL_FONT = new Font(Font.HELVETICA, 9, Font.NORMAL, Color.DARK_GRAY);
     private static final Font KPI_FONT = new Font(Font.HELVETICA, 14, Font.BOLD, Color.BLACK);
     
+    private static final String[] KPI_LABELS = {"Total Assigned", "Completed", "In Progress", "Pending"};
+    private static final Color[] KPI_COLORS = {
+        new Color(100, 149, 237),  // Cornflower blue
+        new Color(60, 179, 113),   // Medium sea green
+        new Color(255, 165, 0),    // Orange
+        new Color(220, 20, 60)     // Crimson
+    };
+    private static final String[] LEGEND_LABELS = {"Completed", "In Progress", "Pending"};
+    private static final Color[] LEGEND_COLORS = {
+        UserSummaryChartCache.COMPLETED_COLOR, UserSummaryChartCache.IN_PROGRESS_COLOR, UserSummaryChartCache.PENDING_COLOR
+    };
+    private static final float[] LEGEND_WIDTHS = {0.3f, 3f, 1f, 1f};
+    private static final String[] RECENT_TASK_HEADERS = {"Task Title", "Priority", "Status", "Due Date", "Progress"};
+    private static final float[] RECENT_TASK_WIDTHS = {3f, 1.5f, 1.5f, 1.5f, 1.5f};
+    
+    // Stamped layout: fixed positions on A4 with the same margins as the flowed document
+    private static final float BODY_LEFT = 36f;
+    private static final float BODY_WIDTH = PageSize.A4.getWidth() - 72f;
+    private static final float CENTER_X = PageSize.A4.getWidth() / 2;
+    private static final float TITLE_BASELINE = 760f;
+    private static final float USER_BASELINE = 735f;
+    private static final float EMAIL_BASELINE = 721f;
+    private static final float GENERATED_BASELINE = 703f;
+    private static final float KPI_TOP = 690f;
+    private static final float KPI_HEIGHT = 50f;
+    private static final float COMPLETION_BASELINE = 622f;
+    private static final float PIE_TOP = 606f;
+    private static final float LEGEND_LEFT = BODY_LEFT + BODY_WIDTH / 3;
+    private static final float LEGEND_ROW_HEIGHT = 20f;
+    private static final float PROGRESS_BASELINE = 478f;
+    private static final float BAR_BOTTOM = 456f;
+    private static final float RECENT_TASKS_BASELINE = 430f;
+    private static final float TABLE_TOP = 418f;
+    
+    // Skeleton pages
+    private static final int FIRST_PAGE_WITH_TABLE = 1;
+    private static final int FIRST_PAGE_WITHOUT_TASKS = 2;
+    private static final int CONTINUATION_PAGE = 3;
+    
     /**
-     * Generates a user productivity summary PDF
+     * The static parts of a stamped user summary, serialised once and shared by all threads
+     * Page 1: first page with the recent tasks header row, page 2: first page for users without
+     * recent tasks, page 3: continuation page with only the header row
+     */
+    private record Skeleton(byte[] pdf, float firstRowTop, float continuationRowTop) {
+    }
+    
+    private volatile Skeleton skeleton;
+    
+    /**
+     * Generates a user productivity summary PDF (standard compression)
      * 
      * @param request The user summary request with stats and tasks
      * @return byte array containing the PDF file
      * @throws Exception if PDF generation fails
      */
     public byte[] generateUserSummaryPdf(UserSummaryReportRequest request) throws Exception {
-        logger.info("Generating user summary PDF for {}", request.getUser().getName());
+        return generateUserSummaryPdf(request, CompressionProfile.STANDARD);
+    }
+    
+    /**
+     * Generates a user productivity summary PDF
+     * 
+     * @param request The user summary request with stats and tasks
+     * @param compression Deflate level / object streams to use (see CompressionProfile)
+     * @return byte array containing the PDF file
+     * @throws Exception if PDF generation fails
+     */
+    public byte[] generateUserSummaryPdf(UserSummaryReportRequest request, CompressionProfile compression) throws Exception {
+        try (ReportBuffer buffer = renderUserSummaryPdf(request, compression)) {
+            return buffer.toByteArray();
+        }
+    }
+    
+    /**
+     * Generates a user productivity summary PDF into pooled buffer segments (no growing array, no final copy)
+     * 
+     * @param request The user summary request with stats and tasks
+     * @param compression Deflate level / object streams to use (see CompressionProfile)
+     * @return the PDF; the caller writes the response from it and must close() it
+     * @throws Exception if PDF generation fails
+     */
+    public ReportBuffer renderUserSummaryPdf(UserSummaryReportRequest request, CompressionProfile compression) throws Exception {
+        return renderUserSummaryPdf(request, compression, RenderMode.FULL);
+    }
+    
+    /**
+     * Same as renderUserSummaryPdf(request, compression), optionally without the expensive styling
+     * 
+     * @param mode DEGRADED for a plain KPI line instead of styled boxes and uncoloured task cells
+     */
+    public ReportBuffer renderUserSummaryPdf(UserSummaryReportRequest request, CompressionProfile compression,
+                                             RenderMode mode) throws Exception {
+        ReportBuffer buffer = bufferPool.acquire();
+        try {
+            writeUserSummaryPdf(request, compression, mode, buffer);
+            return buffer;
+        } catch (Exception | Error e) {
+            buffer.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Generates a user summary PDF from the shared skeleton (for bulk runs over many users)
+     * 
+     * @param request The user summary request with stats and tasks
+     * @param compression Deflate level / object streams to use (see CompressionProfile)
+     * @return byte array containing the PDF file
+     * @throws Exception if PDF generation fails
+     */
+    public byte[] generateStampedUserSummaryPdf(UserSummaryReportRequest request, CompressionProfile compression) throws Exception {
+        try (ReportBuffer buffer = renderStampedUserSummaryPdf(request, compression)) {
+            return buffer.toByteArray();
+        }
+    }
+    
+    /**
+     * Renders a user summary by placing the skeleton pages and drawing only the user's values
+     * Same content as renderUserSummaryPdf, at fixed positions: user, email and timestamp start at
+     * the centre line instead of being centred as a whole. Users whose name, email or tasks need
+     * the Unicode font fallback get the full render.
+     * 
+     * @param request The user summary request with stats and tasks
+     * @param compression Deflate level / object streams to use (see CompressionProfile)
+     * @return the PDF; the caller must close() it
+     * @throws Exception if PDF generation fails
+     */
+    public ReportBuffer renderStampedUserSummaryPdf(UserSummaryReportRequest request,
+                                                    CompressionProfile compression) throws Exception {
+        if (!canStamp(request)) {
+            return renderUserSummaryPdf(request, compression);
+        }
+        ReportBuffer buffer = bufferPool.acquire();
+        try {
+            writeStampedUserSummaryPdf(request, compression, buffer);
+            return buffer;
+        } catch (Exception | Error e) {
+            buffer.close();
+            throw e;
+        }
+    }
+    
+    private void writeUserSummaryPdf(UserSummaryReportRequest request, CompressionProfile compression,
+                                     RenderMode mode, ReportBuffer buffer) throws Exception {
+        logger.info("Generating user summary PDF for {} ({} compression, {})",
+            request.getUser().getName(), compression, mode);
         
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        OutputStream outputStream = buffer.outputStream();
         Document document = new Document(PageSize.A4, 36, 36, 54, 36);
         
+        // Flight recorder phases: layout (building the content), serialize (final page, fonts, xref)
+        ReportPhases.setTaskCount(request.getRecentTasks().size());
+        ReportPhaseEvent layoutPhase = ReportPhases.begin(ReportPhases.LAYOUT);
+        ReportPhaseEvent serializePhase = null;
+        
         try {
-            PdfWriter.getInstance(document, outputStream);
+            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            compression.apply(writer);
+            
+            // Running header (branding + user name) and "Page X of Y" footer on every page
+            writer.setPageEvent(new ReportPageDecorator(
+                fontRegistry.phrase("Productivity Summary - " + request.getUser().getName(), SMALL_FONT)));
             document.open();
             
             // Add title
@@ -56,22 +224,269 @@ public class UserSummaryPdfService {
             document.add(new Paragraph(" ")); // Spacer
             
             // Add KPI boxes (statistics)
-            addKpiBoxes(document, request.getStats());
+            if (mode == RenderMode.DEGRADED) {
+                addKpiLine(document, request.getStats());
+            } else {
+                addKpiBoxes(document, request.getStats());
+            }
+            
+            // Add status breakdown charts
+            addCharts(document, writer, request.getStats());
             document.add(new Paragraph(" ")); // Spacer
             
             // Add recent tasks section
-            addRecentTasksSection(document, request.getRecentTasks());
-            
-            // Add footer
-            addFooter(document);
+            addRecentTasksSection(document, request.getRecentTasks(), mode);
             
+            ReportPhases.setPageCount(writer.getPageNumber());
             logger.info("User summary PDF generated successfully");
             
         } finally {
+            ReportPhases.end(layoutPhase, 0);
+            serializePhase = ReportPhases.begin(ReportPhases.SERIALIZE);
+            document.close();
+        }
+        
+        ReportPhases.end(serializePhase, buffer.size());
+    }
+    
+    private void writeStampedUserSummaryPdf(UserSummaryReportRequest request, CompressionProfile compression,
+                                            ReportBuffer buffer) throws Exception {
+        logger.debug("Stamping user summary PDF for {}", request.getUser().getName());
+        
+        Skeleton skeleton = skeleton();
+        java.util.List<TaskDTO> recentTasks = request.getRecentTasks();
+        Document document = new Document(PageSize.A4, 36, 36, 54, 36);
+        
+        ReportPhases.setTaskCount(recentTasks.size());
+        ReportPhaseEvent layoutPhase = ReportPhases.begin(ReportPhases.LAYOUT);
+        ReportPhaseEvent serializePhase = null;
+        
+        // Only the bytes are shared; a reader of a few KB is parsed per render (PdfReader is not thread-safe)
+        PdfReader reader = new PdfReader(skeleton.pdf());
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, buffer.outputStream());
+            compression.apply(writer);
+            writer.setPageEvent(new ReportPageDecorator(
+                fontRegistry.phrase("Productivity Summary - " + request.getUser().getName(), SMALL_FONT)));
+            document.open();
+            
+            // Skeleton page as background (a form XObject, copied as-is), user values on top
+            boolean hasTasks = !recentTasks.isEmpty();
+            PdfContentByte canvas = writer.getDirectContent();
+            int firstPage = hasTasks ? FIRST_PAGE_WITH_TABLE : FIRST_PAGE_WITHOUT_TASKS;
+            canvas.addTemplate(writer.getImportedPage(reader, firstPage), 0, 0);
+            stampUserValues(canvas, writer, request);
+            
+            if (hasTasks) {
+                DirectPdfTable table = new DirectPdfTable(writer, document, RECENT_TASK_WIDTHS, 0f);
+                table.moveTo(skeleton.firstRowTop());
+                table.continueOn(writer.getImportedPage(reader, CONTINUATION_PAGE), skeleton.continuationRowTop());
+                
+                String[] texts = new String[RECENT_TASK_HEADERS.length];
+                Color[] backgrounds = new Color[RECENT_TASK_HEADERS.length];
+                int rowNum = 0;
+                for (TaskDTO task : recentTasks) {
+                    Color rowColor = rowNum % 2 == 0 ? Color.WHITE : new Color(245, 245, 245);
+                    texts[0] = task.getTitle();
+                    texts[1] = capitalizeFirst(task.getPriority());
+                    texts[2] = capitalizeFirst(task.getStatus());
+                    texts[3] = formatDate(task.getDueDate());
+                    texts[4] = getTaskProgress(task);
+                    backgrounds[0] = rowColor;
+                    backgrounds[1] = getPriorityColor(task.getPriority());
+                    backgrounds[2] = getStatusColor(task.getStatus());
+                    backgrounds[3] = rowColor;
+                    backgrounds[4] = rowColor;
+                    table.addRow(texts, backgrounds);
+                    rowNum++;
+                    if (rowNum % ReportCancellation.CHECK_INTERVAL_ROWS == 0) {
+                        ReportCancellation.check();
+                    }
+                }
+            }
+            
+            ReportPhases.setPageCount(writer.getPageNumber());
+            
+        } finally {
+            ReportPhases.end(layoutPhase, 0);
+            serializePhase = ReportPhases.begin(ReportPhases.SERIALIZE);
             document.close();
+            reader.close();
+        }
+        
+        ReportPhases.end(serializePhase, buffer.size());
+    }
+    
+    /**
+     * Draws the per-user values onto the first page: user, KPI numbers, charts and legend numbers
+     */
+    private void stampUserValues(PdfContentByte canvas, PdfWriter writer, UserSummaryReportRequest request)
+            throws DocumentException {
+        UserDTO user = request.getUser();
+        UserStatsDTO stats = request.getStats();
+        
+        showText(canvas, user.getName(), NORMAL_FONT, Element.ALIGN_LEFT, CENTER_X + 3, USER_BASELINE);
+        showText(canvas, user.getEmail(), NORMAL_FONT, Element.ALIGN_LEFT, CENTER_X + 3, EMAIL_BASELINE);
+        showText(canvas, formatDateTime(request.getGeneratedAt()), SMALL_FONT, Element.ALIGN_LEFT,
+            CENTER_X + 2, GENERATED_BASELINE);
+        
+        int[] kpis = {stats.getAssigned(), stats.getCompleted(), stats.getInProgress(), stats.getPending()};
+        float kpiWidth = BODY_WIDTH / kpis.length;
+        for (int i = 0; i < kpis.length; i++) {
+            showText(canvas, String.valueOf(kpis[i]), KPI_FONT, Element.ALIGN_CENTER,
+                BODY_LEFT + kpiWidth * (i + 0.5f), KPI_TOP - 40);
         }
+        if (stats.getAssigned() > 0) {
+            double completionRate = (stats.getCompleted() * 100.0) / stats.getAssigned();
+            showText(canvas, String.format("Completion Rate: %.1f%%", completionRate), HEADING_FONT,
+                Element.ALIGN_CENTER, CENTER_X, COMPLETION_BASELINE);
+        }
+        
+        // Charts come from the cache like in the flowed document
+        float pieLeft = BODY_LEFT + (BODY_WIDTH / 3 - UserSummaryChartCache.PIE_SIZE) / 2;
+        canvas.addImage(chartCache.pieChart(writer, stats), UserSummaryChartCache.PIE_SIZE, 0, 0,
+            UserSummaryChartCache.PIE_SIZE, pieLeft, PIE_TOP - UserSummaryChartCache.PIE_SIZE);
+        
+        int total = stats.getCompleted() + stats.getInProgress() + stats.getPending();
+        int[] counts = {stats.getCompleted(), stats.getInProgress(), stats.getPending()};
+        for (int i = 0; i < counts.length; i++) {
+            float baseline = legendBaseline(i);
+            showText(canvas, String.valueOf(counts[i]), NORMAL_FONT, Element.ALIGN_RIGHT, legendEdge(2) - 2, baseline);
+            showText(canvas, total > 0 ? String.format("%.0f%%", counts[i] * 100.0 / total) : "-", NORMAL_FONT,
+                Element.ALIGN_RIGHT, legendEdge(3) - 2, baseline);
+        }
+        
+        showText(canvas, "Progress across " + stats.getAssigned() + " assigned tasks", SMALL_FONT,
+            Element.ALIGN_LEFT, BODY_LEFT, PROGRESS_BASELINE);
+        canvas.addImage(chartCache.progressBar(writer, stats), UserSummaryChartCache.BAR_WIDTH, 0, 0,
+            UserSummaryChartCache.BAR_HEIGHT, BODY_LEFT, BAR_BOTTOM);
+    }
+    
+    /**
+     * Whether every value drawn at a fixed position can use built-in Helvetica (see DirectPdfTable)
+     */
+    private boolean canStamp(UserSummaryReportRequest request) {
+        if (!isWinAnsi(request.getUser().getName()) || !isWinAnsi(request.getUser().getEmail())) {
+            return false;
+        }
+        for (TaskDTO task : request.getRecentTasks()) {
+            if (!isWinAnsi(task.getTitle()) || !isWinAnsi(task.getPriority()) || !isWinAnsi(task.getStatus())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean isWinAnsi(String text) {
+        return text == null || fontRegistry.isWinAnsi(text);
+    }
+    
+    /**
+     * The skeleton, built on first use
+     */
+    private Skeleton skeleton() throws DocumentException {
+        Skeleton built = skeleton;
+        if (built == null) {
+            synchronized (this) {
+                built = skeleton;
+                if (built == null) {
+                    built = buildSkeleton();
+                    skeleton = built;
+                }
+            }
+        }
+        return built;
+    }
+    
+    /**
+     * Lays out everything that is the same for every user (see Skeleton for the pages)
+     */
+    private Skeleton buildSkeleton() throws DocumentException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Document document = new Document(PageSize.A4, 36, 36, 54, 36);
+        PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+        document.open();
+        
+        drawStaticFirstPage(writer.getDirectContent());
+        DirectPdfTable table = new DirectPdfTable(writer, document, RECENT_TASK_WIDTHS, 0f);
+        table.moveTo(TABLE_TOP);
+        table.addHeader(RECENT_TASK_HEADERS);
+        float firstRowTop = table.position();
+        
+        document.newPage();
+        drawStaticFirstPage(writer.getDirectContent());
+        showText(writer.getDirectContent(), "No recent tasks to display.", NORMAL_FONT, Element.ALIGN_LEFT,
+            BODY_LEFT, TABLE_TOP - 12);
+        
+        document.newPage();
+        table = new DirectPdfTable(writer, document, RECENT_TASK_WIDTHS, 0f);
+        table.moveTo(document.top());
+        table.addHeader(RECENT_TASK_HEADERS);
+        float continuationRowTop = table.position();
+        
+        document.close();
+        logger.info("Built user summary skeleton ({} bytes)", outputStream.size());
+        return new Skeleton(outputStream.toByteArray(), firstRowTop, continuationRowTop);
+    }
+    
+    /**
+     * Title, labels, KPI frames, legend swatches and the recent tasks heading
+     */
+    private void drawStaticFirstPage(PdfContentByte canvas) {
+        showText(canvas, "User Productivity Summary", TITLE_FONT, Element.ALIGN_CENTER, CENTER_X, TITLE_BASELINE);
+        showText(canvas, "User:", HEADING_FONT, Element.ALIGN_RIGHT, CENTER_X - 3, USER_BASELINE);
+        showText(canvas, "Email:", HEADING_FONT, Element.ALIGN_RIGHT, CENTER_X - 3, EMAIL_BASELINE);
+        showText(canvas, "Generated:", SMALL_FONT, Element.ALIGN_RIGHT, CENTER_X - 2, GENERATED_BASELINE);
         
-        return outputStream.toByteArray();
+        float kpiWidth = BODY_WIDTH / KPI_LABELS.length;
+        for (int i = 0; i < KPI_LABELS.length; i++) {
+            float left = BODY_LEFT + kpiWidth * i;
+            canvas.setColorFill(kpiBackground(KPI_COLORS[i]));
+            canvas.rectangle(left, KPI_TOP - KPI_HEIGHT, kpiWidth, KPI_HEIGHT);
+            canvas.fill();
+            canvas.setColorStroke(Color.BLACK);
+            canvas.setLineWidth(0.5f);
+            canvas.rectangle(left, KPI_TOP - KPI_HEIGHT, kpiWidth, KPI_HEIGHT);
+            canvas.stroke();
+            showText(canvas, KPI_LABELS[i], NORMAL_FONT, Element.ALIGN_CENTER, left + kpiWidth / 2, KPI_TOP - 20);
+        }
+        
+        for (int i = 0; i < LEGEND_LABELS.length; i++) {
+            float baseline = legendBaseline(i);
+            canvas.setColorFill(LEGEND_COLORS[i]);
+            canvas.rectangle(LEGEND_LEFT, baseline - 1, legendEdge(0) - LEGEND_LEFT, 10);
+            canvas.fill();
+            showText(canvas, LEGEND_LABELS[i], NORMAL_FONT, Element.ALIGN_LEFT, legendEdge(0) + 2, baseline);
+        }
+        
+        showText(canvas, "Recent Tasks", HEADING_FONT, Element.ALIGN_LEFT, BODY_LEFT, RECENT_TASKS_BASELINE);
+    }
+    
+    /**
+     * Legend rows are centred on the pie chart
+     */
+    private static float legendBaseline(int row) {
+        float pieCenter = PIE_TOP - UserSummaryChartCache.PIE_SIZE / 2;
+        return pieCenter + LEGEND_ROW_HEIGHT * (1 - row) - 3;
+    }
+    
+    /**
+     * Right edge of a legend column
+     */
+    private static float legendEdge(int column) {
+        float total = 0;
+        float upTo = 0;
+        for (int i = 0; i < LEGEND_WIDTHS.length; i++) {
+            total += LEGEND_WIDTHS[i];
+            if (i <= column) {
+                upTo += LEGEND_WIDTHS[i];
+            }
+        }
+        return LEGEND_LEFT + (BODY_WIDTH * 2 / 3) * upTo / total;
+    }
+    
+    private static void showText(PdfContentByte canvas, String text, Font font, int alignment, float x, float y) {
+        ColumnText.showTextAligned(canvas, alignment, new Phrase(text, font), x, y, 0);
     }
     
     /**
@@ -89,7 +504,7 @@ public class UserSummaryPdfService {
     private void addUserInfo(Document document, UserDTO user) throws DocumentException {
         Paragraph userInfo = new Paragraph();
         userInfo.add(new Chunk("User: ", HEADING_FONT));
-        userInfo.add(new Chunk(user.getName(), NORMAL_FONT));
+        userInfo.add(fontRegistry.phrase(user.getName(), NORMAL_FONT));
         userInfo.add(Chunk.NEWLINE);
         userInfo.add(new Chunk("Email: ", HEADING_FONT));
         userInfo.add(new Chunk(user.getEmail(), NORMAL_FONT));
@@ -117,10 +532,10 @@ public class UserSummaryPdfService {
         kpiTable.setSpacingAfter(10f);
         
         // Add KPI cells
-        addKpiCell(kpiTable, "Total Assigned", stats.getAssigned().toString(), new Color(100, 149, 237)); // Cornflower blue
-        addKpiCell(kpiTable, "Completed", stats.getCompleted().toString(), new Color(60, 179, 113));      // Medium sea green
-        addKpiCell(kpiTable, "In Progress", stats.getInProgress().toString(), new Color(255, 165, 0));    // Orange
-        addKpiCell(kpiTable, "Pending", stats.getPending().toString(), new Color(220, 20, 60));          // Crimson
+        addKpiCell(kpiTable, KPI_LABELS[0], stats.getAssigned().toString(), KPI_COLORS[0]);
+        addKpiCell(kpiTable, KPI_LABELS[1], stats.getCompleted().toString(), KPI_COLORS[1]);
+        addKpiCell(kpiTable, KPI_LABELS[2], stats.getInProgress().toString(), KPI_COLORS[2]);
+        addKpiCell(kpiTable, KPI_LABELS[3], stats.getPending().toString(), KPI_COLORS[3]);
         
         document.add(kpiTable);
         
@@ -136,13 +551,88 @@ public class UserSummaryPdfService {
         }
     }
     
+    /**
+     * Degraded version of the KPI boxes: the same numbers on one plain line
+     */
+    private void addKpiLine(Document document, UserStatsDTO stats) throws DocumentException {
+        String text = String.format("Total Assigned: %d    Completed: %d    In Progress: %d    Pending: %d",
+            stats.getAssigned(), stats.getCompleted(), stats.getInProgress(), stats.getPending());
+        Paragraph kpis = new Paragraph(text, NORMAL_FONT);
+        kpis.setSpacingBefore(10f);
+        kpis.setSpacingAfter(10f);
+        document.add(kpis);
+        
+        if (stats.getAssigned() > 0) {
+            double completionRate = (stats.getCompleted() * 100.0) / stats.getAssigned();
+            document.add(new Paragraph(String.format("Completion Rate: %.1f%%", completionRate), NORMAL_FONT));
+        }
+    }
+    
+    /**
+     * Adds the status breakdown pie chart with legend and the stacked progress bar
+     * Chart drawings come from the cache; only the legend text is laid out per document
+     */
+    private void addCharts(Document document, PdfWriter writer, UserStatsDTO stats) throws DocumentException {
+        int total = stats.getCompleted() + stats.getInProgress() + stats.getPending();
+        
+        PdfPTable chartTable = new PdfPTable(2);
+        chartTable.setWidthPercentage(100);
+        chartTable.setWidths(new float[]{1f, 2f});
+        chartTable.setSpacingBefore(10f);
+        
+        PdfPCell pieCell = new PdfPCell(chartCache.pieChart(writer, stats), false);
+        pieCell.setBorder(Rectangle.NO_BORDER);
+        pieCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        pieCell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+        chartTable.addCell(pieCell);
+        
+        // Legend: color swatch, label, count and share of all tracked tasks
+        PdfPTable legend = new PdfPTable(LEGEND_WIDTHS);
+        addLegendRow(legend, UserSummaryChartCache.COMPLETED_COLOR, "Completed", stats.getCompleted(), total);
+        addLegendRow(legend, UserSummaryChartCache.IN_PROGRESS_COLOR, "In Progress", stats.getInProgress(), total);
+        addLegendRow(legend, UserSummaryChartCache.PENDING_COLOR, "Pending", stats.getPending(), total);
+        PdfPCell legendCell = new PdfPCell(legend);
+        legendCell.setBorder(Rectangle.NO_BORDER);
+        legendCell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+        chartTable.addCell(legendCell);
+        
+        document.add(chartTable);
+        
+        Paragraph barHeading = new Paragraph("Progress across " + stats.getAssigned() + " assigned tasks", SMALL_FONT);
+        barHeading.setSpacingBefore(6f);
+        document.add(barHeading);
+        Image progressBar = chartCache.progressBar(writer, stats);
+        progressBar.setAlignment(Image.ALIGN_LEFT);
+        document.add(progressBar);
+    }
+    
+    private void addLegendRow(PdfPTable legend, Color color, String label, int count, int total) {
+        PdfPCell swatch = new PdfPCell();
+        swatch.setBackgroundColor(color);
+        swatch.setBorder(Rectangle.NO_BORDER);
+        swatch.setFixedHeight(10f);
+        legend.addCell(swatch);
+        
+        legend.addCell(legendTextCell(label, Element.ALIGN_LEFT));
+        legend.addCell(legendTextCell(String.valueOf(count), Element.ALIGN_RIGHT));
+        legend.addCell(legendTextCell(total > 0 ? String.format("%.0f%%", count * 100.0 / total) : "-", Element.ALIGN_RIGHT));
+    }
+    
+    private PdfPCell legendTextCell(String text, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, NORMAL_FONT));
+        cell.setBorder(Rectangle.NO_BORDER);
+        cell.setHorizontalAlignment(alignment);
+        cell.setPaddingBottom(4f);
+        return cell;
+    }
+    
     /**
      * Adds a single KPI cell (styled box with label and value)
      */
     private void addKpiCell(PdfPTable table, String label, String value, Color color) {
         PdfPCell cell = new PdfPCell();
         cell.setPadding(12);
-        cell.setBackgroundColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), 50)); // Light version
+        cell.setBackgroundColor(kpiBackground(color));
         cell.setHorizontalAlignment(Element.ALIGN_CENTER);
         cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
         
@@ -155,10 +645,18 @@ public class UserSummaryPdfService {
         table.addCell(cell);
     }
     
+    /**
+     * Light version of a KPI colour (box background)
+     */
+    private static Color kpiBackground(Color color) {
+        return new Color(color.getRed(), color.getGreen(), color.getBlue(), 50);
+    }
+    
     /**
      * Adds recent tasks section with table
      */
-    private void addRecentTasksSection(Document document, java.util.List<TaskDTO> recentTasks) throws DocumentException {
+    private void addRecentTasksSection(Document document, java.util.List<TaskDTO> recentTasks,
+                                       RenderMode mode) throws DocumentException {
         // Section heading
         Paragraph heading = new Paragraph("Recent Tasks", HEADING_FONT);
         heading.setSpacingBefore(10f);
@@ -172,9 +670,9 @@ public class UserSummaryPdfService {
         }
         
         // Create table with 5 columns
-        PdfPTable table = new PdfPTable(5);
+        PdfPTable table = new PdfPTable(RECENT_TASK_HEADERS.length);
         table.setWidthPercentage(100);
-        table.setWidths(new float[]{3f, 1.5f, 1.5f, 1.5f, 1.5f});
+        table.setWidths(RECENT_TASK_WIDTHS);
         
         // Add header
         addRecentTasksHeader(table);
@@ -182,8 +680,11 @@ public class UserSummaryPdfService {
         // Add rows
         int rowNum = 0;
         for (TaskDTO task : recentTasks) {
-            addRecentTaskRow(table, task, rowNum % 2 == 0);
+            addRecentTaskRow(table, task, rowNum % 2 == 0, mode);
             rowNum++;
+            if (rowNum % ReportCancellation.CHECK_INTERVAL_ROWS == 0) {
+                ReportCancellation.check();
+            }
         }
         
         document.add(table);
@@ -193,9 +694,7 @@ public class UserSummaryPdfService {
      * Adds header for recent tasks table
      */
     private void addRecentTasksHeader(PdfPTable table) {
-        String[] headers = {"Task Title", "Priority", "Status", "Due Date", "Progress"};
-        
-        for (String header : headers) {
+        for (String header : RECENT_TASK_HEADERS) {
             PdfPCell cell = new PdfPCell(new Phrase(header, HEADING_FONT));
             cell.setBackgroundColor(new Color(70, 130, 180));
             cell.setHorizontalAlignment(Element.ALIGN_CENTER);
@@ -208,7 +707,8 @@ public class UserSummaryPdfService {
     /**
      * Adds a row for a recent task
      */
-    private void addRecentTaskRow(PdfPTable table, TaskDTO task, boolean isEvenRow) {
+    private void addRecentTaskRow(PdfPTable table, TaskDTO task, boolean isEvenRow, RenderMode mode) {
+        boolean plain = mode == RenderMode.DEGRADED;
         Color backgroundColor = isEvenRow ? Color.WHITE : new Color(245, 245, 245);
         
         // Task Title
@@ -216,12 +716,16 @@ public class UserSummaryPdfService {
         
         // Priority
         PdfPCell priorityCell = createCell(capitalizeFirst(task.getPriority()), backgroundColor);
-        priorityCell.setBackgroundColor(getPriorityColor(task.getPriority()));
+        if (!plain) {
+            priorityCell.setBackgroundColor(getPriorityColor(task.getPriority()));
+        }
         table.addCell(priorityCell);
         
         // Status
         PdfPCell statusCell = createCell(capitalizeFirst(task.getStatus()), backgroundColor);
-        statusCell.setBackgroundColor(getStatusColor(task.getStatus()));
+        if (!plain) {
+            statusCell.setBackgroundColor(getStatusColor(task.getStatus()));
+        }
         table.addCell(statusCell);
         
         // Due Date
@@ -236,7 +740,10 @@ public class UserSummaryPdfService {
      * Helper to create table cell
      */
     private PdfPCell createCell(String text, Color backgroundColor) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, SMALL_FONT));
+        PdfPCell cell = new PdfPCell(fontRegistry.phrase(text, SMALL_FONT));
+        if (fontRegistry.needsBidi(text)) {
+            cell.setRunDirection(PdfWriter.RUN_DIRECTION_LTR); // Enables bidi reordering and Arabic shaping
+        }
         cell.setBackgroundColor(backgroundColor);
         cell.setPadding(6);
         cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
@@ -318,13 +825,4 @@ public class UserSummaryPdfService {
         }
         return text.substring(0, 1).toUpperCase() + text.substring(1);
     }
-    
-    /**
-     * Adds footer
-     */
-    private void addFooter(Document document) throws DocumentException {
-        Paragraph footer = new Paragraph("\n\nTaskFlowPro - Task Management System", SMALL_FONT);
-        footer.setAlignment(Element.ALIGN_CENTER);
-        document.add(footer);
-    }
 }
@@ -0,0 +1,133 @@
+package com.taskflowpro.reportservice.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * gRPC client for ReportStreamGrpcService running in the same JVM (no sockets)
+ *
+ * Sends the header and then task batches only while the call is ready, and counts the file bytes
+ * it receives without keeping them, so a test can stream any number of tasks through the service
+ * and only the service itself uses memory.
+ */
+public class InProcessReportStreamClient implements AutoCloseable {
+
+    private final Server server;
+    private final ManagedChannel channel;
+
+    public InProcessReportStreamClient(ReportStreamGrpcService service) throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    /**
+     * What the server sent back
+     */
+    public record Result(FileInfo info, long size) {
+    }
+
+    public Result generateTaskPdf(ReportHeader header, long taskCount, int batchSize,
+                                  LongFunction<Task> tasks) throws Exception {
+        TaskUpload upload = new TaskUpload(header, taskCount, batchSize, tasks);
+        ReportStreamServiceGrpc.newStub(channel).generateTaskPdf(upload);
+        return upload.result.get();
+    }
+
+    public Result generateTaskExcel(ReportHeader header, long taskCount, int batchSize,
+                                    LongFunction<Task> tasks) throws Exception {
+        TaskUpload upload = new TaskUpload(header, taskCount, batchSize, tasks);
+        ReportStreamServiceGrpc.newStub(channel).generateTaskExcel(upload);
+        return upload.result.get();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        channel.shutdownNow();
+        server.shutdownNow();
+        server.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * One task report call: a flow-controlled upload and a counting download
+     */
+    private static class TaskUpload implements ClientResponseObserver<TaskReportChunk, FileChunk> {
+
+        private final ReportHeader header;
+        private final long taskCount;
+        private final int batchSize;
+        private final LongFunction<Task> tasks;
+        private final CompletableFuture<Result> result = new CompletableFuture<>();
+
+        private ClientCallStreamObserver<TaskReportChunk> requestStream;
+        private boolean headerSent = false;
+        private boolean completed = false;
+        private long sent = 0;
+
+        private FileInfo info;
+        private long size = 0;
+
+        TaskUpload(ReportHeader header, long taskCount, int batchSize, LongFunction<Task> tasks) {
+            this.header = header;
+            this.taskCount = taskCount;
+            this.batchSize = batchSize;
+            this.tasks = tasks;
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<TaskReportChunk> requestStream) {
+            this.requestStream = requestStream;
+            requestStream.setOnReadyHandler(this::sendWhileReady);
+        }
+
+        private synchronized void sendWhileReady() {
+            while (!completed && requestStream.isReady()) {
+                if (!headerSent) {
+                    // A null header leaves it out, which the service has to reject
+                    if (header != null) {
+                        requestStream.onNext(TaskReportChunk.newBuilder().setHeader(header).build());
+                    }
+                    headerSent = true;
+                } else if (sent < taskCount) {
+                    TaskBatch.Builder batch = TaskBatch.newBuilder();
+                    long end = Math.min(taskCount, sent + batchSize);
+                    for (; sent < end; sent++) {
+                        batch.addTasks(tasks.apply(sent));
+                    }
+                    requestStream.onNext(TaskReportChunk.newBuilder().setTasks(batch).build());
+                } else {
+                    requestStream.onCompleted();
+                    completed = true;
+                }
+            }
+        }
+
+        @Override
+        public void onNext(FileChunk chunk) {
+            if (chunk.hasInfo()) {
+                info = chunk.getInfo();
+            } else {
+                size += chunk.getData().size();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            result.completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            result.complete(new Result(info, size));
+        }
+    }
+}
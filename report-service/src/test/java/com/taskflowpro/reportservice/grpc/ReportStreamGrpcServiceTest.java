@@ -0,0 +1,89 @@
+package com.taskflowpro.reportservice.grpc;
+
+import com.taskflowpro.reportservice.config.ReportExecutorConfig;
+import com.taskflowpro.reportservice.service.*;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streams tasks through ReportStreamGrpcService with the in-process client
+ * (the memory ceiling for tens of millions of tasks is checked by GrpcStreamMemoryProbe)
+ */
+class ReportStreamGrpcServiceTest {
+
+    private static AnnotationConfigApplicationContext context;
+    private static InProcessReportStreamClient client;
+
+    private static final ReportHeader HEADER = ReportHeader.newBuilder()
+        .setTitle("Streamed Task Report")
+        .setGeneratedAt("2025-06-01T12:00:00Z")
+        .setGeneratedBy("Test")
+        .build();
+
+    @BeforeAll
+    static void startService() throws Exception {
+        context = new AnnotationConfigApplicationContext(
+            ReportFontRegistry.class, UserSummaryChartCache.class, ReportBufferPool.class,
+            SimpleMeterRegistry.class, ReportExecutorConfig.class, LocalValidatorFactoryBean.class,
+            TaskPdfService.class, TaskExcelService.class, UserSummaryPdfService.class,
+            ReportStreamGrpcService.class);
+        client = new InProcessReportStreamClient(context.getBean(ReportStreamGrpcService.class));
+    }
+
+    @AfterAll
+    static void stopService() throws Exception {
+        client.close();
+        context.close();
+    }
+
+    @Test
+    void streamsExcelReport() throws Exception {
+        InProcessReportStreamClient.Result result = client.generateTaskExcel(HEADER, 5000, 250, this::task);
+
+        assertTrue(result.info().getFilename().endsWith(".xlsx"));
+        assertTrue(result.size() > 0);
+    }
+
+    @Test
+    void streamsPdfReport() throws Exception {
+        InProcessReportStreamClient.Result result = client.generateTaskPdf(HEADER, 2000, 250, this::task);
+
+        assertEquals("application/pdf", result.info().getContentType());
+        assertTrue(result.size() > 0);
+    }
+
+    @Test
+    void rejectsTasksBeforeHeader() {
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> client.generateTaskExcel(null, 10, 10, this::task));
+
+        StatusRuntimeException status = assertInstanceOf(StatusRuntimeException.class, e.getCause());
+        assertEquals(Status.Code.INVALID_ARGUMENT, status.getStatus().getCode());
+    }
+
+    private Task task(long i) {
+        return Task.newBuilder()
+            .setTitle("Task " + i)
+            .setDescription("Streamed test task")
+            .setPriority("medium")
+            .setStatus(i % 2 == 0 ? "pending" : "completed")
+            .setCreatedAt("2025-05-01T09:30:00Z")
+            .setDueDate("2025-06-30")
+            .addAssignees(Assignee.newBuilder()
+                .setName("Assignee " + (i % 10))
+                .setEmail("assignee" + (i % 10) + "@example.com")
+                .setStatus("pending")
+                .setProgress(0))
+            .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import com.taskflowpro.reportservice.config.ReportExecutorConfig;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.dto.UserSummaryReportRequest;
+import com.taskflowpro.reportservice.service.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Latency vs. file size of every compression profile, run by the "compression-benchmark" Maven profile
+ *
+ * Usage: CompressionBenchmark &lt;taskCounts&gt; &lt;runs&gt;
+ *   taskCounts: comma separated reference dataset sizes, e.g. 1000,10000
+ *   runs:       timed renders per cell (the median is reported)
+ *
+ * Every generator renders the same deterministic reference dataset (SyntheticReports) with each
+ * profile. The result is printed as a Markdown table that can be pasted into the README.
+ */
+public final class CompressionBenchmark {
+
+    private static final String[] GENERATORS = {"tasks-pdf", "tasks-excel", "tasks-excel-sheets", "tasks-excel-stream",
+        "user-summary-pdf"};
+
+    // User summaries only list recent tasks, so they use a small fixed dataset
+    private static final int USER_SUMMARY_TASKS = 50;
+
+    private CompressionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: CompressionBenchmark <taskCounts> <runs>");
+            System.exit(1);
+        }
+        int[] taskCounts = Arrays.stream(args[0].split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int runs = Integer.parseInt(args[1]);
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                ReportFontRegistry.class, UserSummaryChartCache.class, ReportBufferPool.class,
+                SimpleMeterRegistry.class, ReportExecutorConfig.class,
+                TaskPdfService.class, TaskExcelService.class, UserSummaryPdfService.class)) {
+
+            System.out.println("| Generator | Tasks | Profile | Median time (ms) | Size (KB) | Size vs. standard |");
+            System.out.println("|---|---:|---|---:|---:|---:|");
+
+            for (String generator : GENERATORS) {
+                for (int taskCount : generator.equals("user-summary-pdf") ? new int[]{USER_SUMMARY_TASKS} : taskCounts) {
+                    long standardSize = 0;
+                    for (CompressionProfile profile : List.of(CompressionProfile.STANDARD,
+                            CompressionProfile.FAST, CompressionProfile.SMALL)) {
+                        // Warm-up render so class loading and JIT are not counted
+                        render(context, generator, taskCount, profile);
+
+                        List<Long> times = new ArrayList<>(runs);
+                        long size = 0;
+                        for (int run = 0; run < runs; run++) {
+                            long started = System.nanoTime();
+                            size = render(context, generator, taskCount, profile);
+                            times.add((System.nanoTime() - started) / 1_000_000);
+                        }
+                        Collections.sort(times);
+                        if (profile == CompressionProfile.STANDARD) {
+                            standardSize = size;
+                        }
+
+                        System.out.printf("| %s | %d | %s | %d | %d | %+.1f%% |%n",
+                            generator, taskCount, profile.name().toLowerCase(), times.get(times.size() / 2),
+                            size / 1024, 100.0 * (size - standardSize) / standardSize);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one generator with one profile and returns the size of the produced file
+     */
+    private static long render(AnnotationConfigApplicationContext context, String generator, int taskCount,
+                               CompressionProfile profile) throws Exception {
+        switch (generator) {
+            case "tasks-pdf":
+                return context.getBean(TaskPdfService.class).generateTaskReportPdf(
+                    SyntheticReports.reportRequest(taskCount), profile).length;
+            case "tasks-excel":
+                return context.getBean(TaskExcelService.class).generateTaskReportExcel(
+                    SyntheticReports.reportRequest(taskCount), profile).length;
+            case "tasks-excel-sheets":
+                // Summary plus one sheet per status, sheets written and compressed in parallel
+                try (ReportBuffer sheets = context.getBean(TaskExcelService.class).renderTaskReportExcel(
+                        SyntheticReports.reportRequest(taskCount), profile, TaskSheetGrouping.STATUS)) {
+                    return sheets.size();
+                }
+            case "tasks-excel-stream":
+                CountingOutputStream output = new CountingOutputStream();
+                ReportRequest header = SyntheticReports.reportRequest(0);
+                try (StreamingTaskReport report = context.getBean(TaskExcelService.class)
+                        .openTaskReportStream(header, output, profile)) {
+                    for (int i = 0; i < taskCount; i++) {
+                        report.addTask(SyntheticReports.task(i));
+                    }
+                    report.finish();
+                }
+                return output.getCount();
+            case "user-summary-pdf":
+                UserSummaryReportRequest request = SyntheticReports.userSummaryRequest(taskCount);
+                return context.getBean(UserSummaryPdfService.class).generateUserSummaryPdf(request, profile).length;
+            default:
+                throw new IllegalArgumentException("Unknown generator: " + generator);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import java.io.OutputStream;
+
+/**
+ * Discards the report bytes, only counting them (measuring tools only)
+ */
+final class CountingOutputStream extends OutputStream {
+
+    private long count = 0;
+
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        count += length;
+    }
+
+    long getCount() {
+        return count;
+    }
+}
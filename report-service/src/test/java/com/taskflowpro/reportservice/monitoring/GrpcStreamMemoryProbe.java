@@ -0,0 +1,124 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import com.taskflowpro.reportservice.config.ReportExecutorConfig;
+import com.taskflowpro.reportservice.dto.AssigneeDTO;
+import com.taskflowpro.reportservice.dto.TaskDTO;
+import com.taskflowpro.reportservice.grpc.*;
+import com.taskflowpro.reportservice.service.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory-ceiling check for the gRPC streaming API, run in its own JVM by the "memory-budget" Maven profile
+ *
+ * Usage: GrpcStreamMemoryProbe &lt;rpc&gt; &lt;taskCount&gt; &lt;batchSize&gt; &lt;maxLiveHeapMb&gt;
+ *   rpc: tasks-excel, tasks-pdf
+ *
+ * Streams taskCount synthetic tasks through ReportStreamGrpcService with an in-process client
+ * (header, batches of batchSize tasks, flow controlled both ways) and fails when the peak live heap
+ * exceeds its budget. The client builds each batch when the call is ready and only counts the bytes
+ * it gets back, so the live heap is what the service keeps while the tasks stream through - with
+ * tens of millions of tasks it has to stay flat.
+ */
+public final class GrpcStreamMemoryProbe {
+
+    private static final int EXIT_OVER_BUDGET = 1;
+    private static final int EXIT_OUT_OF_MEMORY = 2;
+
+    private GrpcStreamMemoryProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.err.println("Usage: GrpcStreamMemoryProbe <rpc> <taskCount> <batchSize> <maxLiveHeapMb>");
+            System.exit(EXIT_OVER_BUDGET);
+        }
+        String rpc = args[0];
+        long taskCount = Long.parseLong(args[1]);
+        int batchSize = Integer.parseInt(args[2]);
+        long maxLiveHeapMb = Long.parseLong(args[3]);
+
+        // The generators, the render/stream pools and a validator - no web server
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                ReportFontRegistry.class, UserSummaryChartCache.class, ReportBufferPool.class,
+                SimpleMeterRegistry.class, ReportExecutorConfig.class, LocalValidatorFactoryBean.class,
+                TaskPdfService.class, TaskExcelService.class, UserSummaryPdfService.class,
+                ReportStreamGrpcService.class);
+             InProcessReportStreamClient client =
+                new InProcessReportStreamClient(context.getBean(ReportStreamGrpcService.class))) {
+
+            // Warm up once so class loading and font parsing are not counted
+            stream(client, rpc, Math.min(taskCount, 100), batchSize);
+
+            AtomicLong peakLiveHeap = ReportMemoryProbe.trackLiveHeapAfterGc();
+            System.gc();
+
+            long started = System.nanoTime();
+            InProcessReportStreamClient.Result result;
+            try {
+                result = stream(client, rpc, taskCount, batchSize);
+            } catch (OutOfMemoryError e) {
+                System.err.printf("FAIL grpc %s: out of memory with %d tasks (-Xmx %d MB)%n",
+                    rpc, taskCount, Runtime.getRuntime().maxMemory() / (1024 * 1024));
+                System.exit(EXIT_OUT_OF_MEMORY);
+                return;
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+            System.gc();
+            Thread.sleep(200);
+
+            long liveHeapMb = peakLiveHeap.get() / (1024 * 1024);
+            System.out.printf("grpc %s: %d tasks in %d ms (%s), output %d MB, peak live heap %d MB (budget %d)%n",
+                rpc, taskCount, elapsedMs, result.info().getFilename(), result.size() / (1024 * 1024),
+                liveHeapMb, maxLiveHeapMb);
+
+            if (liveHeapMb > maxLiveHeapMb) {
+                System.err.printf("FAIL grpc %s: memory budget exceeded%n", rpc);
+                System.exit(EXIT_OVER_BUDGET);
+            }
+        }
+    }
+
+    private static InProcessReportStreamClient.Result stream(InProcessReportStreamClient client, String rpc,
+                                                            long taskCount, int batchSize) throws Exception {
+        ReportHeader header = ReportHeader.newBuilder()
+            .setTitle("Reference Task Report")
+            .setGeneratedAt("2025-06-01T12:00:00Z")
+            .setGeneratedBy("Report Benchmarks")
+            .build();
+        switch (rpc) {
+            case "tasks-excel":
+                return client.generateTaskExcel(header, taskCount, batchSize, GrpcStreamMemoryProbe::task);
+            case "tasks-pdf":
+                return client.generateTaskPdf(header, taskCount, batchSize, GrpcStreamMemoryProbe::task);
+            default:
+                throw new IllegalArgumentException("Unknown rpc: " + rpc);
+        }
+    }
+
+    /**
+     * The reference task as a gRPC message
+     */
+    private static Task task(long i) {
+        TaskDTO dto = SyntheticReports.task((int) (i % Integer.MAX_VALUE));
+        Task.Builder task = Task.newBuilder()
+            .setTitle(dto.getTitle())
+            .setDescription(dto.getDescription())
+            .setPriority(dto.getPriority())
+            .setStatus(dto.getStatus())
+            .setCreatedAt(dto.getCreatedAt())
+            .setDueDate(dto.getDueDate());
+        for (AssigneeDTO assignee : dto.getAssignees()) {
+            task.addAssignees(Assignee.newBuilder()
+                .setName(assignee.getName())
+                .setEmail(assignee.getEmail())
+                .setStatus(assignee.getStatus())
+                .setProgress(assignee.getProgress()));
+        }
+        return task.build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.service.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task PDF throughput of the PdfPTable layout vs. the direct content-stream table,
+ * run by the "pdf-table-benchmark" Maven profile
+ *
+ * Usage: PdfTableBenchmark &lt;taskCounts&gt; &lt;runs&gt; [unicodeFonts]
+ *   taskCounts:   comma separated reference dataset sizes, e.g. 1000,10000
+ *   runs:         timed renders per cell (the median is reported)
+ *   unicodeFonts: optional report.fonts.unicode value; when given, a second table compares the
+ *                 Latin-only reports with and without the Unicode fonts configured
+ *
+ * Both renderers produce the full task report (standard compression) from the same deterministic
+ * dataset (SyntheticReports), which is Latin-only. The result is printed as Markdown tables for the README.
+ */
+public final class PdfTableBenchmark {
+
+    private PdfTableBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: PdfTableBenchmark <taskCounts> <runs> [unicodeFonts]");
+            System.exit(1);
+        }
+        int[] taskCounts = Arrays.stream(args[0].split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int runs = Integer.parseInt(args[1]);
+        String unicodeFonts = args.length == 3 ? args[2].trim() : "";
+
+        long[][][] helveticaOnly = new long[taskCounts.length][][];
+        try (AnnotationConfigApplicationContext context = context("")) {
+            TaskPdfService service = context.getBean(TaskPdfService.class);
+
+            System.out.println("| Tasks | Renderer | Median time (ms) | Tasks/s | Size (KB) | Speed-up |");
+            System.out.println("|---:|---|---:|---:|---:|---:|");
+
+            for (int i = 0; i < taskCounts.length; i++) {
+                int taskCount = taskCounts[i];
+                helveticaOnly[i] = measure(service, SyntheticReports.reportRequest(taskCount), runs);
+                long tableMillis = helveticaOnly[i][0][0];
+                for (boolean fastTable : new boolean[]{false, true}) {
+                    long[] result = helveticaOnly[i][fastTable ? 1 : 0];
+                    System.out.printf("| %d | %s | %d | %d | %d | %.1fx |%n",
+                        taskCount, renderer(fastTable), result[0], taskCount * 1000L / result[0],
+                        result[1] / 1024, (double) tableMillis / result[0]);
+                }
+            }
+        }
+
+        if (unicodeFonts.isEmpty()) {
+            return;
+        }
+        if (!fontFilesExist(unicodeFonts)) {
+            System.out.println();
+            System.out.println("Unicode font comparison skipped: font files not found (" + unicodeFonts + ")");
+            return;
+        }
+
+        // Latin-only text takes ReportFontRegistry's fast path, so configuring fonts must not cost anything
+        try (AnnotationConfigApplicationContext context = context(unicodeFonts)) {
+            TaskPdfService service = context.getBean(TaskPdfService.class);
+
+            System.out.println();
+            System.out.println("| Tasks | Renderer | Helvetica only (ms) | Unicode fonts (ms) | Change | Helvetica only (KB) | Unicode fonts (KB) |");
+            System.out.println("|---:|---|---:|---:|---:|---:|---:|");
+
+            for (int i = 0; i < taskCounts.length; i++) {
+                int taskCount = taskCounts[i];
+                long[][] withFonts = measure(service, SyntheticReports.reportRequest(taskCount), runs);
+                for (boolean fastTable : new boolean[]{false, true}) {
+                    long[] baseline = helveticaOnly[i][fastTable ? 1 : 0];
+                    long[] result = withFonts[fastTable ? 1 : 0];
+                    System.out.printf("| %d | %s | %d | %d | %+.1f%% | %d | %d |%n",
+                        taskCount, renderer(fastTable), baseline[0], result[0],
+                        (result[0] - baseline[0]) * 100.0 / baseline[0], baseline[1] / 1024, result[1] / 1024);
+                }
+            }
+        }
+    }
+
+    /**
+     * Renderer context with the given report.fonts.unicode value (empty = built-in Helvetica only)
+     */
+    private static AnnotationConfigApplicationContext context(String unicodeFonts) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(
+            new MapPropertySource("benchmark", Map.of("report.fonts.unicode", unicodeFonts)));
+        context.register(ReportFontRegistry.class, ReportBufferPool.class, SimpleMeterRegistry.class, TaskPdfService.class);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * Median time (ms) and size (bytes) for the PdfPTable layout [0] and the direct table [1]
+     */
+    private static long[][] measure(TaskPdfService service, ReportRequest request, int runs) throws Exception {
+        long[][] results = new long[2][];
+        for (boolean fastTable : new boolean[]{false, true}) {
+            // Warm-up render so class loading and JIT are not counted
+            render(service, request, fastTable);
+
+            List<Long> times = new ArrayList<>(runs);
+            long size = 0;
+            for (int run = 0; run < runs; run++) {
+                long started = System.nanoTime();
+                size = render(service, request, fastTable);
+                times.add((System.nanoTime() - started) / 1_000_000);
+            }
+            Collections.sort(times);
+            results[fastTable ? 1 : 0] = new long[]{Math.max(1, times.get(times.size() / 2)), size};
+        }
+        return results;
+    }
+
+    private static boolean fontFilesExist(String unicodeFonts) {
+        for (String path : unicodeFonts.split(",")) {
+            path = path.trim();
+            // TrueType collections are given as "file.ttc,index"; the index is not a path
+            if (!path.isEmpty() && !path.chars().allMatch(Character::isDigit) && !Files.isRegularFile(Path.of(path))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String renderer(boolean fastTable) {
+        return fastTable ? "direct" : "PdfPTable";
+    }
+
+    private static long render(TaskPdfService service, ReportRequest request, boolean fastTable) throws Exception {
+        try (ReportBuffer pdf = service.renderTaskReportPdf(request, CompressionProfile.STANDARD, fastTable)) {
+            return pdf.size();
+        }
+    }
+}
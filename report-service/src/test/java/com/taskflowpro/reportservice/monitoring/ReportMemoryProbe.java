@@ -0,0 +1,188 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.taskflowpro.reportservice.config.ReportExecutorConfig;
+import com.taskflowpro.reportservice.dto.ReportRequest;
+import com.taskflowpro.reportservice.service.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Memory-ceiling check for one report generator, run in its own JVM by the "memory-budget" Maven profile
+ *
+ * Usage: ReportMemoryProbe &lt;generator&gt; &lt;taskCount&gt; &lt;maxLiveHeapMb&gt; &lt;maxAllocatedBytesPerTask&gt;
+ *   generator: tasks-excel-stream, tasks-pdf-stream, tasks-excel, tasks-pdf, user-summary-pdf
+ *
+ * The JVM is started with a fixed -Xmx, so running out of memory fails the check by itself.
+ * On top of that the probe measures:
+ *   - peak live heap: the largest heap usage seen right after a GC (what the generator really retains)
+ *   - allocated bytes per task: everything the render thread allocated, divided by the task count
+ * and exits with a non-zero status when either exceeds its budget.
+ *
+ * The streaming generators are fed synthetic tasks one at a time and write to a discarding stream,
+ * so only the generator itself is measured. The other generators get a full in-memory request,
+ * which is included in both figures, like in production.
+ */
+public final class ReportMemoryProbe {
+
+    private static final int EXIT_OVER_BUDGET = 1;
+    private static final int EXIT_OUT_OF_MEMORY = 2;
+
+    private ReportMemoryProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.err.println("Usage: ReportMemoryProbe <generator> <taskCount> <maxLiveHeapMb> <maxAllocatedBytesPerTask>");
+            System.exit(EXIT_OVER_BUDGET);
+        }
+        String generator = args[0];
+        int taskCount = Integer.parseInt(args[1]);
+        long maxLiveHeapMb = Long.parseLong(args[2]);
+        long maxBytesPerTask = Long.parseLong(args[3]);
+
+        // Only the beans the generators need - no web server, no job worker
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                ReportFontRegistry.class, UserSummaryChartCache.class, ReportBufferPool.class,
+                SimpleMeterRegistry.class, ReportExecutorConfig.class,
+                TaskPdfService.class, TaskExcelService.class, UserSummaryPdfService.class)) {
+
+            // Warm up once so class loading and font parsing are not counted
+            render(context, generator, Math.min(taskCount, 100));
+
+            AtomicLong peakLiveHeap = trackLiveHeapAfterGc();
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long threadId = Thread.currentThread().threadId();
+            System.gc();
+            resetPeakUsage();
+
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long started = System.nanoTime();
+            long outputSize;
+            try {
+                outputSize = render(context, generator, taskCount);
+            } catch (OutOfMemoryError e) {
+                System.err.printf("FAIL %s: out of memory with %d tasks (-Xmx %d MB)%n",
+                    generator, taskCount, Runtime.getRuntime().maxMemory() / (1024 * 1024));
+                System.exit(EXIT_OUT_OF_MEMORY);
+                return;
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            // One last collection so the live heap reading covers the end of the render
+            // (GC notifications arrive on another thread, give them a moment)
+            System.gc();
+            Thread.sleep(200);
+
+            long liveHeapMb = peakLiveHeap.get() / (1024 * 1024);
+            long peakHeapMb = peakHeapUsed() / (1024 * 1024);
+            long bytesPerTask = allocated / Math.max(1, taskCount);
+
+            System.out.printf("%s: %d tasks in %d ms, output %d KB, peak live heap %d MB (budget %d), "
+                    + "peak heap %d MB, allocated %d bytes/task (budget %d)%n",
+                generator, taskCount, elapsedMs, outputSize / 1024, liveHeapMb, maxLiveHeapMb,
+                peakHeapMb, bytesPerTask, maxBytesPerTask);
+
+            if (liveHeapMb > maxLiveHeapMb || bytesPerTask > maxBytesPerTask) {
+                System.err.printf("FAIL %s: memory budget exceeded%n", generator);
+                System.exit(EXIT_OVER_BUDGET);
+            }
+        }
+    }
+
+    /**
+     * Runs one generator and returns the size of the produced file
+     */
+    private static long render(AnnotationConfigApplicationContext context, String generator, int taskCount) throws Exception {
+        switch (generator) {
+            case "tasks-excel-stream":
+                return renderStream(context.getBean(TaskExcelService.class)::openTaskReportStream, taskCount);
+            case "tasks-pdf-stream":
+                return renderStream(context.getBean(TaskPdfService.class)::openTaskReportStream, taskCount);
+            case "tasks-excel":
+                return context.getBean(TaskExcelService.class).generateTaskReportExcel(
+                    SyntheticReports.reportRequest(taskCount)).length;
+            case "tasks-pdf":
+                return context.getBean(TaskPdfService.class).generateTaskReportPdf(
+                    SyntheticReports.reportRequest(taskCount)).length;
+            case "user-summary-pdf":
+                return context.getBean(UserSummaryPdfService.class).generateUserSummaryPdf(
+                    SyntheticReports.userSummaryRequest(taskCount)).length;
+            default:
+                throw new IllegalArgumentException("Unknown generator: " + generator);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StreamOpener {
+        StreamingTaskReport open(ReportRequest header, OutputStream outputStream) throws Exception;
+    }
+
+    private static long renderStream(StreamOpener opener, int taskCount) throws Exception {
+        CountingOutputStream output = new CountingOutputStream();
+        try (StreamingTaskReport report = opener.open(SyntheticReports.reportRequest(0), output)) {
+            for (int i = 0; i < taskCount; i++) {
+                report.addTask(SyntheticReports.task(i));
+            }
+            report.finish();
+        }
+        return output.getCount();
+    }
+
+    /**
+     * Records the largest heap usage right after any garbage collection
+     */
+    static AtomicLong trackLiveHeapAfterGc() {
+        Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .map(MemoryPoolMXBean::getName)
+            .collect(Collectors.toSet());
+        AtomicLong peak = new AtomicLong();
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                long used = 0;
+                for (var entry : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+                    if (heapPools.contains(entry.getKey())) {
+                        used += entry.getValue().getUsed();
+                    }
+                }
+                peak.accumulateAndGet(used, Math::max);
+            }, null, null);
+        }
+        return peak;
+    }
+
+    private static void resetPeakUsage() {
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static long peakHeapUsed() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage peak = pool.getPeakUsage();
+            if (pool.getType() == MemoryType.HEAP && peak != null) {
+                used += peak.getUsed();
+            }
+        }
+        return used;
+    }
+}
@@ -0,0 +1,187 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflowpro.reportservice.ReportServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fast-client latency next to many slow clients, Tomcat (servlet) vs. Netty (reactive profile),
+ * run by the "slow-client-benchmark" Maven profile
+ *
+ * Usage: SlowClientBenchmark &lt;slowClients&gt; &lt;slowTaskCount&gt; &lt;fastRequests&gt; &lt;fastTaskCount&gt;
+ *   slowClients:   connections that request a large task PDF and read it at 1 KB per 100 ms
+ *   slowTaskCount: tasks in the slow clients' report
+ *   fastRequests:  small task PDF requests timed while the slow clients are connected
+ *   fastTaskCount: tasks in the fast clients' report
+ *
+ * The application is started once per stack on a random port with the same synthetic datasets
+ * (SyntheticReports). Slow clients use raw sockets with a small receive buffer, so the server
+ * cannot finish writing to them. The result is printed as a Markdown table for the README.
+ */
+public final class SlowClientBenchmark {
+
+    private static final int FAST_CONCURRENCY = 8;
+    private static final int SLOW_READ_BYTES = 1024;
+    private static final long SLOW_READ_PAUSE_MS = 100;
+    private static final long SETTLE_MS = 3000;
+    private static final Duration FAST_TIMEOUT = Duration.ofSeconds(30);
+
+    private SlowClientBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.err.println("Usage: SlowClientBenchmark <slowClients> <slowTaskCount> <fastRequests> <fastTaskCount>");
+            System.exit(1);
+        }
+        int slowClients = Integer.parseInt(args[0]);
+        int slowTaskCount = Integer.parseInt(args[1]);
+        int fastRequests = Integer.parseInt(args[2]);
+        int fastTaskCount = Integer.parseInt(args[3]);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        byte[] slowBody = objectMapper.writeValueAsBytes(SyntheticReports.reportRequest(slowTaskCount));
+        byte[] fastBody = objectMapper.writeValueAsBytes(SyntheticReports.reportRequest(fastTaskCount));
+
+        List<String> rows = new ArrayList<>();
+        rows.add(run("Tomcat (servlet)", WebApplicationType.SERVLET, slowClients, slowBody, fastRequests, fastBody));
+        rows.add(run("Netty (reactive)", WebApplicationType.REACTIVE, slowClients, slowBody, fastRequests, fastBody));
+
+        System.out.println("| Stack | Slow clients | Fast requests | p50 (ms) | p99 (ms) | Max (ms) | Failed |");
+        System.out.println("|---|---:|---:|---:|---:|---:|---:|");
+        rows.forEach(System.out::println);
+    }
+
+    private static String run(String label, WebApplicationType type, int slowClients, byte[] slowBody,
+                              int fastRequests, byte[] fastBody) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ReportServiceApplication.class)
+            .web(type)
+            .properties("server.port=0", "report.jobs.enabled=false");
+        if (type == WebApplicationType.REACTIVE) {
+            builder.profiles("reactive");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<Socket> sockets = Collections.synchronizedList(new ArrayList<>());
+
+            try (ExecutorService slowReaders = Executors.newVirtualThreadPerTaskExecutor();
+                 ExecutorService fastClients = Executors.newFixedThreadPool(FAST_CONCURRENCY)) {
+                for (int i = 0; i < slowClients; i++) {
+                    slowReaders.submit(() -> slowClient(port, slowBody, sockets, running));
+                }
+                // Let the slow clients fill the server's send buffers before timing starts
+                Thread.sleep(SETTLE_MS);
+
+                HttpClient client = HttpClient.newBuilder().connectTimeout(FAST_TIMEOUT).build();
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/report/tasks/pdf"))
+                    .timeout(FAST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(fastBody))
+                    .build();
+                // Warm-up request so class loading and JIT are not counted
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+
+                List<Future<Long>> results = new ArrayList<>(fastRequests);
+                for (int i = 0; i < fastRequests; i++) {
+                    results.add(fastClients.submit(() -> {
+                        long started = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        long millis = (System.nanoTime() - started) / 1_000_000;
+                        return response.statusCode() == 200 ? millis : -1L;
+                    }));
+                }
+
+                List<Long> times = new ArrayList<>(fastRequests);
+                int failed = 0;
+                for (Future<Long> result : results) {
+                    try {
+                        long millis = result.get();
+                        if (millis < 0) {
+                            failed++;
+                        } else {
+                            times.add(millis);
+                        }
+                    } catch (Exception e) {
+                        failed++;
+                    }
+                }
+
+                running.set(false);
+                synchronized (sockets) {
+                    for (Socket socket : sockets) {
+                        socket.close();
+                    }
+                }
+
+                Collections.sort(times);
+                return String.format("| %s | %d | %d | %s | %s | %s | %d |",
+                    label, slowClients, fastRequests,
+                    percentile(times, 0.50), percentile(times, 0.99),
+                    times.isEmpty() ? "-" : String.valueOf(times.get(times.size() - 1)), failed);
+            }
+        }
+    }
+
+    /**
+     * Sends one large report request and reads the response slowly until the benchmark ends
+     */
+    private static Void slowClient(int port, byte[] body, List<Socket> sockets, AtomicBoolean running) throws Exception {
+        Socket socket = new Socket();
+        // A small receive window keeps the server's writes pending instead of buffering the whole report
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", port));
+        sockets.add(socket);
+        try {
+            OutputStream out = socket.getOutputStream();
+            String head = "POST /api/report/tasks/pdf HTTP/1.1\r\n"
+                + "Host: localhost:" + port + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + body.length + "\r\n"
+                + "Connection: close\r\n\r\n";
+            out.write(head.getBytes(StandardCharsets.US_ASCII));
+            out.write(body);
+            out.flush();
+
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[SLOW_READ_BYTES];
+            while (running.get() && in.read(buffer) >= 0) {
+                Thread.sleep(SLOW_READ_PAUSE_MS);
+            }
+        } catch (Exception e) {
+            // Closed at the end of the benchmark
+        } finally {
+            socket.close();
+        }
+        return null;
+    }
+
+    private static String percentile(List<Long> sorted, double fraction) {
+        if (sorted.isEmpty()) {
+            return "-";
+        }
+        int index = (int) Math.ceil(fraction * sorted.size()) - 1;
+        return String.valueOf(sorted.get(Math.max(0, Math.min(index, sorted.size() - 1))));
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskflowpro.reportservice.monitoring;
+
+import com.taskflowpro.reportservice.dto.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reference datasets for the measuring tools (ReportMemoryProbe, CompressionBenchmark)
+ * Deterministic, so runs on different machines or builds render exactly the same reports
+ */
+final class SyntheticReports {
+
+    private static final String[] PRIORITIES = {"low", "medium", "high", "urgent"};
+    private static final String[] STATUSES = {"pending", "in-progress", "completed"};
+
+    private SyntheticReports() {
+    }
+
+    static ReportRequest reportRequest(int taskCount) {
+        List<TaskDTO> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(task(i));
+        }
+        FilterDTO filters = new FilterDTO("2025-01-01", "2025-12-31", List.of("high", "urgent"), List.of("pending"));
+        return new ReportRequest("Reference Task Report", "2025-06-01T12:00:00Z", "Report Benchmarks", filters, tasks);
+    }
+
+    static UserSummaryReportRequest userSummaryRequest(int taskCount) {
+        List<TaskDTO> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(task(i));
+        }
+        return new UserSummaryReportRequest("2025-06-01T12:00:00Z",
+            new UserDTO("Reference User", "reference@example.com"),
+            new UserStatsDTO(taskCount, taskCount / 3, taskCount / 3, taskCount - 2 * (taskCount / 3)),
+            tasks);
+    }
+
+    /**
+     * Deterministic task with typical field lengths and two assignees
+     */
+    static TaskDTO task(int i) {
+        String status = STATUSES[i % STATUSES.length];
+        List<AssigneeDTO> assignees = List.of(
+            new AssigneeDTO("Assignee " + (i % 50), "assignee" + (i % 50) + "@example.com", status, (i * 7) % 101),
+            new AssigneeDTO("Reviewer " + (i % 20), "reviewer" + (i % 20) + "@example.com", "pending", 0));
+        String day = String.format("2025-%02d-%02d", 1 + i % 12, 1 + i % 28);
+        return new TaskDTO(
+            "Task " + i + " - prepare quarterly planning material",
+            "Collect input from the team, update the tracker and share a summary before the review meeting.",
+            PRIORITIES[i % PRIORITIES.length],
+            status,
+            day + "T09:30:00Z",
+            day,
+            assignees);
+    }
+}